@@ -0,0 +1,77 @@
+package com.example.account.controller;
+
+import com.example.account.AccountApplication;
+import com.example.account.dto.Transfer;
+import com.example.account.exception.AccountException;
+import com.example.account.service.AccountService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 두 hot 계좌 사이에서 반대 방향 이체를 동시에 실행한다 (A -> B, B -> A).
+ * 계좌 lock을 정해진 순서 없이 하나씩 잡으면 서로의 lock을 기다리다 ACCOUNT_TRANSACTION_LOCK으로 실패한다.
+ * lock 실패도 처리량에 포함되므로 실패 건수는 account.lock.wait{result=timeout} 메트릭으로 확인한다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Group)
+public class TransferConcurrencyBenchmark {
+    private static final long USER_ID = 1L;
+
+    private ConfigurableApplicationContext context;
+    private TransactionController transactionController;
+    private Transfer.Request aToB;
+    private Transfer.Request bToA;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(AccountApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.properties.hibernate.show_sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "account.rate-limit.enabled=false",
+                        "account.velocity.enabled=false")
+                .run();
+        transactionController = context.getBean(TransactionController.class);
+
+        AccountService accountService = context.getBean(AccountService.class);
+        String accountA = accountService.createAccount(USER_ID, Long.MAX_VALUE / 4).getAccountNumber();
+        String accountB = accountService.createAccount(USER_ID, Long.MAX_VALUE / 4).getAccountNumber();
+        aToB = new Transfer.Request(USER_ID, accountA, accountB, 10L);
+        bToA = new Transfer.Request(USER_ID, accountB, accountA, 10L);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Group("opposite")
+    @GroupThreads(2)
+    public Object transferAToB() {
+        return transfer(aToB);
+    }
+
+    @Benchmark
+    @Group("opposite")
+    @GroupThreads(2)
+    public Object transferBToA() {
+        return transfer(bToA);
+    }
+
+    private Object transfer(Transfer.Request request) {
+        try {
+            return transactionController.transfer(request);
+        } catch (AccountException e) {
+            return e.getErrorCode();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.account.dto;
+
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 응답 객체의 직렬화 비용. 애플리케이션과 같은 설정의 ObjectMapper를 기준으로
+ * Blackbird 모듈 + 미리 만든 ObjectWriter, Smile / CBOR 포맷을 비교한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+    @Param({"json", "json-blackbird", "smile", "cbor"})
+    private String format;
+
+    private ObjectWriter useBalanceWriter;
+    private ObjectWriter queryTransactionWriter;
+    private UseBalance.Response useBalanceResponse;
+    private QueryTransactionResponse queryTransactionResponse;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = createObjectMapper(format);
+        useBalanceWriter = objectMapper.writerFor(UseBalance.Response.class);
+        queryTransactionWriter = objectMapper.writerFor(QueryTransactionResponse.class);
+
+        useBalanceResponse = newUseBalanceResponse();
+        queryTransactionResponse = QueryTransactionResponse.builder()
+                .accountNumber("1000000000")
+                .transactionType(TransactionType.USE)
+                .transactionResult(TransactionResultType.S)
+                .transactionId("0123456789abcdef0123456789abcdef")
+                .amount(1_000L)
+                .transactedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static UseBalance.Response newUseBalanceResponse() {
+        return UseBalance.Response.builder()
+                .accountNumber("1000000000")
+                .transactionResult(TransactionResultType.S)
+                .transactionId("0123456789abcdef0123456789abcdef")
+                .amount(1_000L)
+                .transactedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static ObjectMapper createObjectMapper(String format) {
+        JsonFactory factory;
+        switch (format) {
+            case "smile":
+                factory = new SmileFactory();
+                break;
+            case "cbor":
+                factory = new CBORFactory();
+                break;
+            default:
+                factory = new JsonFactory();
+        }
+
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json().factory(factory);
+        if (!"json".equals(format)) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        return builder.build();
+    }
+
+    /**
+     * 기존 방식 : 호출마다 ObjectMapper.writeValueAsBytes (JSON, reflection 접근)
+     * format 과 상관없으므로 static 으로 두어 Baseline 만 쓰고, format 마다 반복해서 측정하지 않는다.
+     */
+    @Benchmark
+    public static byte[] useBalanceResponseBaseline(Baseline baseline) throws JsonProcessingException {
+        return baseline.objectMapper.writeValueAsBytes(baseline.useBalanceResponse);
+    }
+
+    @Benchmark
+    public byte[] useBalanceResponse() throws JsonProcessingException {
+        return useBalanceWriter.writeValueAsBytes(useBalanceResponse);
+    }
+
+    @Benchmark
+    public byte[] queryTransactionResponse() throws JsonProcessingException {
+        return queryTransactionWriter.writeValueAsBytes(queryTransactionResponse);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Baseline {
+        private ObjectMapper objectMapper;
+        private UseBalance.Response useBalanceResponse;
+
+        @Setup
+        public void setUp() {
+            objectMapper = Jackson2ObjectMapperBuilder.json().build();
+            useBalanceResponse = newUseBalanceResponse();
+        }
+    }
+}
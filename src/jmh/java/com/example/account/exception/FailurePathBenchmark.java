@@ -0,0 +1,71 @@
+package com.example.account.exception;
+
+import com.example.account.dto.ErrorResponse;
+import com.example.account.type.ErrorCode;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 거절된 거래 1건의 처리 비용 (예외 생성/전파 + 오류 응답 생성 + 로그 판단).
+ * before: stack trace 를 만드는 예외 + 매번 새 응답, after: stackless AccountException + 캐시된 응답 + 샘플링.
+ * 실제 요청은 Spring MVC/AOP 프레임 아래에서 예외가 발생하므로 depth 만큼 호출을 쌓은 뒤 던진다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FailurePathBenchmark {
+    private static final ErrorCode ERROR_CODE = ErrorCode.AMOUNT_EXCEED_BALANCE;
+
+    @Param({"20", "100"})
+    private int depth;
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final ErrorLogSampler sampler = new ErrorLogSampler(Duration.ofSeconds(1));
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> before() {
+        try {
+            return throwAt(depth, true);
+        } catch (StackfulException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(e.errorCode, e.errorCode.getDescription()));
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> after() {
+        try {
+            return throwAt(depth, false);
+        } catch (AccountException e) {
+            sampler.sample(e.getErrorCode());
+            return handler.toResponse(e);
+        }
+    }
+
+    private ResponseEntity<ErrorResponse> throwAt(int remaining, boolean stackful) {
+        if (remaining == 0) {
+            if (stackful) {
+                throw new StackfulException(ERROR_CODE);
+            }
+            throw new AccountException(ERROR_CODE);
+        }
+        return throwAt(remaining - 1, stackful);
+    }
+
+    // 변경 전 AccountException 과 같이 stack trace 를 채우는 예외
+    private static class StackfulException extends RuntimeException {
+        private final ErrorCode errorCode;
+
+        private StackfulException(ErrorCode errorCode) {
+            super(errorCode.getDescription());
+            this.errorCode = errorCode;
+        }
+    }
+}
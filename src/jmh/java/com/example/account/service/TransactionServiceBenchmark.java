@@ -0,0 +1,64 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.domain.Transaction;
+import com.example.account.type.AccountStatus;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TransactionService 의 검증 로직과 transactionId 생성 비용.
+ * 검증 메소드는 상태가 없는 static 메소드이므로 서비스를 만들지 않고 호출한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionServiceBenchmark {
+    private AccountUser accountUser;
+    private Account account;
+    private Transaction transaction;
+
+    @Setup
+    public void setUp() {
+        accountUser = AccountUser.builder().id(1L).name("Pororo").build();
+        account = Account.builder()
+                .id(1L)
+                .accountUser(accountUser)
+                .accountNumber("1000000000")
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(10_000L)
+                .build();
+        transaction = Transaction.builder()
+                .account(account)
+                .transactionType(TransactionType.USE)
+                .transactionResultType(TransactionResultType.S)
+                .transactionId("transactionId")
+                .amount(1_000L)
+                .balanceSnapshot(9_000L)
+                .transactedAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Benchmark
+    public void validateUseBalance() {
+        TransactionService.validateUseBalance(accountUser, account, 1_000L);
+    }
+
+    @Benchmark
+    public void validateCancelBalance() {
+        TransactionService.validateCancelBalance(transaction, account.getAccountNumber(), 1_000L);
+    }
+
+    @Benchmark
+    public String generateTransactionId() {
+        return TransactionService.generateTransactionId();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.account.service;
+
+import com.example.account.AccountApplication;
+import com.example.account.dto.AccountDto;
+import com.example.account.dto.TransactionDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 내장 H2 위에서 TransactionService 를 그대로 호출한다 (repository, JPA flush 포함).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionServiceEndToEndBenchmark {
+    private static final long USER_ID = 1L;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private String accountNumber;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(AccountApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.properties.hibernate.show_sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "account.velocity.enabled=false")
+                .run();
+        transactionService = context.getBean(TransactionService.class);
+
+        AccountDto account = context.getBean(AccountService.class)
+                .createAccount(USER_ID, Long.MAX_VALUE / 2);
+        accountNumber = account.getAccountNumber();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TransactionDto useBalance() {
+        return transactionService.useBalance(USER_ID, accountNumber, 10L);
+    }
+
+    @Benchmark
+    public TransactionDto useAndCancelBalance() {
+        TransactionDto used = transactionService.useBalance(USER_ID, accountNumber, 10L);
+        return transactionService.cancelBalance(used.getTransactionId(), accountNumber, 10L);
+    }
+
+    @Benchmark
+    public TransactionDto queryTransaction(QueryState state) {
+        return transactionService.queryTransaction(state.transactionId);
+    }
+
+    @State(Scope.Benchmark)
+    public static class QueryState {
+        private String transactionId;
+
+        @Setup
+        public void setUp(TransactionServiceEndToEndBenchmark benchmark) {
+            transactionId = benchmark.transactionService
+                    .useBalance(USER_ID, benchmark.accountNumber, 10L)
+                    .getTransactionId();
+        }
+    }
+}
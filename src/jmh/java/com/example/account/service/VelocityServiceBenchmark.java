@@ -0,0 +1,50 @@
+package com.example.account.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 출금 경로에 더해지는 velocity 검사와 기록 비용. 여러 스레드가 서로 다른 계좌와 같은 계좌에 몰리는 경우를 본다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class VelocityServiceBenchmark {
+    private static final int ACCOUNTS = 100_000;
+
+    private VelocityService velocityService;
+    private String[] accountNumbers;
+
+    @Setup
+    public void setUp() {
+        // 한도에 걸리지 않도록 충분히 크게 잡고 검사 비용만 잰다.
+        velocityService = new VelocityService(new SimpleMeterRegistry(), true, 60, 12, ACCOUNTS * 2L,
+                new VelocityService.Rule(Long.MAX_VALUE, Long.MAX_VALUE),
+                new VelocityService.Rule(Long.MAX_VALUE, Long.MAX_VALUE),
+                System::currentTimeMillis);
+        accountNumbers = new String[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountNumbers[i] = String.valueOf(1_000_000_000L + i);
+        }
+    }
+
+    @Benchmark
+    public void spreadAccounts() {
+        int index = ThreadLocalRandom.current().nextInt(ACCOUNTS);
+        velocityService.checkDebit((long) index / 3, accountNumbers[index], 1_000L);
+        velocityService.recordDebit((long) index / 3, accountNumbers[index], 1_000L);
+    }
+
+    @Benchmark
+    public void hotAccount() {
+        velocityService.checkDebit(1L, accountNumbers[0], 1_000L);
+        velocityService.recordDebit(1L, accountNumbers[0], 1_000L);
+    }
+}
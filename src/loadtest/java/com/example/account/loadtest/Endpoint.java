@@ -0,0 +1,14 @@
+package com.example.account.loadtest;
+
+public enum Endpoint {
+    CREATE("POST /account"),
+    USE("POST /transaction/use"),
+    CANCEL("POST /transaction/cancel"),
+    QUERY("GET /transaction/{id}");
+
+    final String description;
+
+    Endpoint(String description) {
+        this.description = description;
+    }
+}
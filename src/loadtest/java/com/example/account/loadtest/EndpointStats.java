@@ -0,0 +1,55 @@
+package com.example.account.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * endpoint 별 응답 시간 분포(us)와 결과 수.
+ * 응답 시간은 요청을 보내기로 예정된 시각부터 측정한다 (coordinated omission 보정).
+ */
+class EndpointStats {
+    private final Histogram histogram = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final LongAdder success = new LongAdder();
+    private final LongAdder failure = new LongAdder();
+    private final LongAdder error = new LongAdder();
+
+    void record(long latencyNanos, int status) {
+        histogram.recordValue(Math.min(histogram.getHighestTrackableValue(),
+                TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        if (status == 200) {
+            success.increment();
+        } else {
+            failure.increment();
+        }
+    }
+
+    void recordError() {
+        error.increment();
+    }
+
+    void reset() {
+        histogram.reset();
+        success.reset();
+        failure.reset();
+        error.reset();
+    }
+
+    String summary(String name, double seconds) {
+        long count = histogram.getTotalCount();
+        return String.format("%-26s %9d %9.1f %9d %7d %7d %9.2f %9.2f %9.2f %9.2f",
+                name, count, count / seconds, success.sum(), failure.sum(), error.sum(),
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    static String header() {
+        return String.format("%-26s %9s %9s %9s %7s %7s %9s %9s %9s %9s",
+                "endpoint", "requests", "req/s", "2xx", "non2xx", "errors",
+                "p50(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+    }
+}
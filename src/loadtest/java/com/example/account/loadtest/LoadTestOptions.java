@@ -0,0 +1,39 @@
+package com.example.account.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * -Dloadtest.* 시스템 프로퍼티로 받는 부하 테스트 설정.
+ */
+public class LoadTestOptions {
+    final int users = Integer.getInteger("loadtest.users", 100);
+    final int accountsPerUser = Math.min(10, Integer.getInteger("loadtest.accountsPerUser", 2));
+    final long initBalance = Long.getLong("loadtest.initBalance", 100_000_000L);
+    final int rate = Integer.getInteger("loadtest.rate", 500);
+    final int warmupSeconds = Integer.getInteger("loadtest.warmup", 5);
+    final int durationSeconds = Integer.getInteger("loadtest.duration", 30);
+    final int maxOutstanding = Integer.getInteger("loadtest.maxOutstanding", 10_000);
+    final long seed = Long.getLong("loadtest.seed", 42L);
+    final boolean rateLimitEnabled = Boolean.getBoolean("loadtest.rateLimitEnabled");
+    final boolean velocityEnabled = Boolean.getBoolean("loadtest.velocityEnabled");
+    // 요청을 보내기 전에 -Ddatagen.* 설정으로 합성 데이터를 채운다.
+    final boolean syntheticData = Boolean.getBoolean("loadtest.syntheticData");
+    final Map<Endpoint, Integer> mix = parseMix(System.getProperty("loadtest.mix", "use:60,cancel:10,query:25,create:5"));
+
+    private static Map<Endpoint, Integer> parseMix(String value) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (String entry : value.split(",")) {
+            String[] pair = entry.trim().split(":");
+            mix.put(Endpoint.valueOf(pair[0].trim().toUpperCase()), Integer.parseInt(pair[1].trim()));
+        }
+        return mix;
+    }
+
+    @Override
+    public String toString() {
+        return "users=" + users + ", accountsPerUser=" + accountsPerUser + ", rate=" + rate + "/s"
+                + ", warmup=" + warmupSeconds + "s, duration=" + durationSeconds + "s, mix=" + mix
+                + ", syntheticData=" + syntheticData;
+    }
+}
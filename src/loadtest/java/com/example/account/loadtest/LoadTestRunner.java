@@ -0,0 +1,269 @@
+package com.example.account.loadtest;
+
+import com.example.account.AccountApplication;
+import com.example.account.bloom.IdentifierBloomFilterListener;
+import com.example.account.service.AccountService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 애플리케이션을 내장 Redis/H2로 띄우고, 사용자와 계좌를 만든 뒤
+ * 설정한 비율의 create/use/cancel/query 요청을 일정한 속도로 보낸다 (open-loop).
+ * 응답이 늦어져도 요청 간격은 유지되므로, 서버가 밀리면 그만큼 지연 시간에 드러난다.
+ */
+public class LoadTestRunner {
+    private static final long SEED_USER_ID_START = 1_000_000L;
+
+    private final LoadTestOptions options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    private final List<SeedAccount> accounts = new ArrayList<>();
+    private final Queue<UsedTransaction> cancellable = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+    private final Random random;
+
+    private volatile String recentTransactionId = "unknown";
+    private String baseUrl;
+
+    public LoadTestRunner(LoadTestOptions options) {
+        this.options = options;
+        this.random = new Random(options.seed);
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = new LoadTestOptions();
+        System.out.println("Load test : " + options);
+
+        SyntheticDataOptions syntheticDataOptions = new SyntheticDataOptions();
+        List<String> properties = new ArrayList<>(Arrays.asList("server.port=0",
+                "spring.jpa.properties.hibernate.show_sql=false",
+                "spring.jpa.properties.hibernate.format_sql=false",
+                "account.rate-limit.enabled=" + options.rateLimitEnabled,
+                "account.velocity.enabled=" + options.velocityEnabled));
+        if (options.syntheticData) {
+            // 사용자당 평균 계좌는 약 3개이다. 여유를 두고 Bloom filter 크기를 늘린다.
+            long accounts = syntheticDataOptions.users * 4L;
+            properties.add("account.bloom-filter.account-number.expected-insertions=" + Math.max(1_000_000L, accounts));
+            properties.add("account.bloom-filter.transaction-id.expected-insertions="
+                    + Math.max(10_000_000L, (long) (accounts * syntheticDataOptions.transactionsPerAccount * 1.2)));
+        }
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(AccountApplication.class)
+                .properties(properties.toArray(new String[0]))
+                .run(args);
+        try {
+            LoadTestRunner runner = new LoadTestRunner(options);
+            runner.baseUrl = "http://localhost:"
+                    + ((WebServerApplicationContext) context).getWebServer().getPort();
+            runner.seed(context);
+            if (options.syntheticData) {
+                // seed 한 사용자/계좌 뒤의 id 범위에 만든다.
+                System.out.println("Synthetic data : " + syntheticDataOptions);
+                new SyntheticDataGenerator(context.getBean(DataSource.class), syntheticDataOptions).generate();
+                // JDBC 로 넣은 식별자는 JPA 콜백을 거치지 않으므로 Bloom filter 를 다시 채운다.
+                context.getBean(IdentifierBloomFilterListener.class).load();
+            }
+            runner.run();
+        } finally {
+            context.close();
+        }
+    }
+
+    private void seed(ConfigurableApplicationContext context) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        AccountService accountService = context.getBean(AccountService.class);
+
+        // data.sql 처럼 id를 직접 지정한다. hibernate_sequence 값과 겹치지 않도록 큰 값부터 사용한다.
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < options.users; i++) {
+            users.add(new Object[]{SEED_USER_ID_START + i, "loadtest-" + i});
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into account_user(id, name, created_at, updated_at) values (?, ?, now(), now())",
+                users);
+
+        for (Object[] user : users) {
+            Long userId = (Long) user[0];
+            for (int i = 0; i < options.accountsPerUser; i++) {
+                accounts.add(new SeedAccount(userId,
+                        accountService.createAccount(userId, options.initBalance).getAccountNumber()));
+            }
+        }
+        System.out.println("Seeded " + users.size() + " users, " + accounts.size() + " accounts");
+    }
+
+    private void run() throws InterruptedException {
+        drive(options.warmupSeconds);
+        awaitOutstanding();
+        stats.values().forEach(EndpointStats::reset);
+        dropped.reset();
+
+        long started = System.nanoTime();
+        drive(options.durationSeconds);
+        awaitOutstanding();
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        System.out.println();
+        System.out.println(EndpointStats.header());
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            System.out.println(entry.getValue().summary(entry.getKey().description, seconds));
+        }
+        System.out.println("dropped (client overloaded): " + dropped.sum());
+    }
+
+    private void drive(int seconds) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate;
+        long total = (long) options.rate * seconds;
+        long start = System.nanoTime();
+
+        for (long i = 0; i < total; i++) {
+            long intended = start + i * intervalNanos;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            if (outstanding.get() >= options.maxOutstanding) {
+                dropped.increment();
+                continue;
+            }
+            send(pickEndpoint(), intended);
+        }
+    }
+
+    private Endpoint pickEndpoint() {
+        int total = options.mix.values().stream().mapToInt(Integer::intValue).sum();
+        int pick = random.nextInt(total);
+        for (Map.Entry<Endpoint, Integer> entry : options.mix.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return entry.getKey();
+            }
+        }
+        return Endpoint.USE;
+    }
+
+    private void send(Endpoint endpoint, long intended) {
+        SeedAccount account = accounts.get(random.nextInt(accounts.size()));
+        long amount = 10 + random.nextInt(1_000);
+        UsedTransaction toCancel;
+        HttpRequest request;
+
+        switch (endpoint) {
+            case CREATE:
+                request = post("/account", Map.of("userId", account.userId, "initBalance", options.initBalance));
+                break;
+            case CANCEL:
+                toCancel = cancellable.poll();
+                if (toCancel == null) {
+                    endpoint = Endpoint.USE;
+                    request = post("/transaction/use", Map.of("userId", account.userId,
+                            "accountNumber", account.accountNumber, "amount", amount));
+                } else {
+                    request = post("/transaction/cancel", Map.of("transactionId", toCancel.transactionId,
+                            "accountNumber", toCancel.accountNumber, "amount", toCancel.amount));
+                }
+                break;
+            case QUERY:
+                request = HttpRequest.newBuilder(URI.create(baseUrl + "/transaction/" + recentTransactionId))
+                        .GET()
+                        .build();
+                break;
+            default:
+                request = post("/transaction/use", Map.of("userId", account.userId,
+                        "accountNumber", account.accountNumber, "amount", amount));
+        }
+
+        Endpoint sent = endpoint;
+        outstanding.incrementAndGet();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, e) -> {
+                    outstanding.decrementAndGet();
+                    if (e != null) {
+                        stats.get(sent).recordError();
+                        return;
+                    }
+                    stats.get(sent).record(System.nanoTime() - intended, response.statusCode());
+                    if (sent == Endpoint.USE && response.statusCode() == 200) {
+                        rememberForCancel(account.accountNumber, amount, response.body());
+                    }
+                });
+    }
+
+    private void rememberForCancel(String accountNumber, long amount, String body) {
+        try {
+            JsonNode node = objectMapper.readTree(body);
+            String transactionId = node.get("transactionId").asText();
+            recentTransactionId = transactionId;
+            cancellable.add(new UsedTransaction(transactionId, accountNumber, amount));
+        } catch (IOException ignored) {
+            // 응답 형식이 다르면 취소 대상으로 쓰지 않는다.
+        }
+    }
+
+    private HttpRequest post(String path, Map<String, Object> body) {
+        try {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void awaitOutstanding() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (outstanding.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    private static class SeedAccount {
+        private final Long userId;
+        private final String accountNumber;
+
+        private SeedAccount(Long userId, String accountNumber) {
+            this.userId = userId;
+            this.accountNumber = accountNumber;
+        }
+    }
+
+    private static class UsedTransaction {
+        private final String transactionId;
+        private final String accountNumber;
+        private final long amount;
+
+        private UsedTransaction(String transactionId, String accountNumber, long amount) {
+            this.transactionId = transactionId;
+            this.accountNumber = accountNumber;
+            this.amount = amount;
+        }
+    }
+}
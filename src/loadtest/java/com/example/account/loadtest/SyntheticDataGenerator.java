@@ -0,0 +1,367 @@
+package com.example.account.loadtest;
+
+import com.example.account.AccountApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 운영 규모의 사용자/계좌/거래를 JDBC batch insert 로 여러 스레드에서 나눠 만든다.
+ * - 사용자당 계좌는 1~10개이고 적은 쪽이 많다.
+ * - 일부 hot 계좌에 거래가 몰리고, 거래 시각은 years 년에 걸쳐 최근일수록 많다.
+ * - 잔액은 거래를 순서대로 적용한 값이고, 잔액보다 큰 출금은 실패(F) 거래로, 취소는 원거래에 연결해 남긴다.
+ * id 는 기존 row 보다 큰 범위를 잡아 직접 지정하고, 끝나면 hibernate_sequence 를 그 뒤로 옮긴다.
+ * 이후 애플리케이션이 만드는 계좌번호도 생성한 계좌번호 다음부터 이어진다.
+ *
+ * ./gradlew generateData -Ddatagen.users=1000000 으로 파일 DB(datagen.url)에 만들고,
+ * 애플리케이션은 spring.datasource.url 을 같은 파일로, spring.jpa.hibernate.ddl-auto=none 으로 띄운다.
+ */
+public class SyntheticDataGenerator {
+    private static final long ACCOUNT_NUMBER_START = 1_000_000_000L;
+    private static final int USERS_PER_CHUNK = 10_000;
+    // 사용자당 계좌 수 1~10개의 비중
+    private static final int[] ACCOUNTS_PER_USER_WEIGHTS = {30, 22, 15, 10, 8, 5, 4, 3, 2, 1};
+    private static final int ACCOUNTS_PER_USER_WEIGHT_SUM = 100;
+    private static final double CANCEL_RATIO = 0.1;
+
+    private static final String INSERT_USER =
+            "insert into account_user(id, name, created_at, updated_at) values (?, ?, ?, ?)";
+    private static final String INSERT_ACCOUNT =
+            "insert into account(id, account_user_id, account_number, account_status, balance, revision, " +
+                    "registered_at, created_at, updated_at) values (?, ?, ?, 'IN_USE', ?, ?, ?, ?, ?)";
+    private static final String INSERT_TRANSACTION =
+            "insert into transaction(id, transaction_type, transaction_result_type, account_id, amount, " +
+                    "balance_snapshot, transaction_id, transacted_at, original_transaction_id, cancelled_at, " +
+                    "created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final DataSource dataSource;
+    private final SyntheticDataOptions options;
+    private final LocalDateTime now = LocalDateTime.now();
+    private final LocalDateTime start;
+    private final long spanSeconds;
+    private final double hotMean;
+    private final double coldMean;
+
+    private final AtomicLong accounts = new AtomicLong();
+    private final AtomicLong transactions = new AtomicLong();
+    private long userIdStart;
+    private long accountIdStart;
+    private long transactionIdStart;
+    private long accountNumberStart;
+
+    public SyntheticDataGenerator(DataSource dataSource, SyntheticDataOptions options) {
+        this.dataSource = dataSource;
+        this.options = options;
+        this.start = now.minusYears(options.years);
+        this.spanSeconds = Duration.between(start, now).getSeconds();
+        this.hotMean = options.transactionsPerAccount * options.hotTransactionShare / options.hotAccountRatio;
+        this.coldMean = options.transactionsPerAccount * (1 - options.hotTransactionShare) / (1 - options.hotAccountRatio);
+    }
+
+    public static void main(String[] args) throws Exception {
+        SyntheticDataOptions options = new SyntheticDataOptions();
+        System.out.println("Synthetic data : " + options + " -> " + options.url);
+
+        // 스키마는 애플리케이션(Hibernate)이 entity 로 만든다.
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(AccountApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=" + options.url,
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.properties.hibernate.show_sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "account.scheduler.enabled=false",
+                        "account.outbox.relay.enabled=false",
+                        "account.bloom-filter.enabled=false")
+                .run(args);
+        try {
+            new SyntheticDataGenerator(context.getBean(DataSource.class), options).generate();
+        } finally {
+            context.close();
+        }
+    }
+
+    public void generate() throws Exception {
+        reserveIds();
+        long started = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(options.threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int from = 0; from < options.users; from += USERS_PER_CHUNK) {
+            int chunkFrom = from;
+            int chunkTo = Math.min(options.users, from + USERS_PER_CHUNK);
+            futures.add(executor.submit(() -> {
+                generateChunk(chunkFrom, chunkTo);
+                return null;
+            }));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        restartSequence();
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        long rows = options.users + accounts.get() + transactions.get();
+        System.out.printf("Generated %d users, %d accounts, %d transactions in %.1fs = %.0f rows/s%n",
+                options.users, accounts.get(), transactions.get(), seconds, rows / seconds);
+    }
+
+    // 기존 row 및 sequence 와 겹치지 않는 id 범위를 잡는다. 사용자당 계좌는 최대 10개이다.
+    private void reserveIds() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            long maxId = 0;
+            for (String table : new String[]{"account_user", "account", "transaction", "scheduled_transaction"}) {
+                maxId = Math.max(maxId, queryLong(statement, "select coalesce(max(id), 0) from " + table));
+            }
+            maxId = Math.max(maxId, queryLong(statement, "select next value for hibernate_sequence"));
+            long maxAccountNumber = queryLong(statement,
+                    "select coalesce(max(cast(account_number as bigint)), 0) from account");
+
+            userIdStart = maxId + 1;
+            accountIdStart = userIdStart + options.users;
+            transactionIdStart = accountIdStart + options.users * 10L;
+            accountNumberStart = Math.max(ACCOUNT_NUMBER_START, maxAccountNumber + 1);
+        }
+    }
+
+    private void restartSequence() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("alter sequence hibernate_sequence restart with "
+                    + (transactionIdStart + transactions.get()));
+        }
+    }
+
+    private static long queryLong(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private void generateChunk(int fromUser, int toUser) throws SQLException {
+        SplittableRandom random = new SplittableRandom(options.seed + fromUser);
+
+        try (Connection connection = dataSource.getConnection();
+             Batch batch = new Batch(connection)) {
+            for (int user = fromUser; user < toUser; user++) {
+                long userId = userIdStart + user;
+                LocalDateTime joinedAt = start.plusSeconds(random.nextLong(spanSeconds));
+                batch.addUser(userId, "user-" + user, joinedAt);
+
+                int accountCount = pickAccountCount(random);
+                for (int i = 0; i < accountCount; i++) {
+                    generateAccount(random, batch, userId, joinedAt);
+                }
+            }
+            batch.flush();
+        }
+    }
+
+    private void generateAccount(SplittableRandom random, Batch batch, long userId, LocalDateTime joinedAt) throws SQLException {
+        long index = accounts.getAndIncrement();
+        long accountId = accountIdStart + index;
+        LocalDateTime registeredAt = between(random, joinedAt, now, false);
+        long balance = logUniform(random, 10_000, 10_000_000);
+
+        double mean = random.nextDouble() < options.hotAccountRatio ? hotMean : coldMean;
+        int transactionCount = (int) (-Math.log(1 - random.nextDouble()) * mean);
+        LocalDateTime[] transactedAts = new LocalDateTime[transactionCount];
+        for (int i = 0; i < transactionCount; i++) {
+            transactedAts[i] = between(random, registeredAt, now, true);
+        }
+        Arrays.sort(transactedAts);
+
+        List<TransactionRow> rows = new ArrayList<>(transactionCount);
+        List<TransactionRow> cancellable = new ArrayList<>();
+        long revision = 0;
+        for (LocalDateTime transactedAt : transactedAts) {
+            TransactionRow row = new TransactionRow(transactionIdStart + transactions.getAndIncrement(),
+                    transactionId(random), transactedAt);
+
+            if (!cancellable.isEmpty() && random.nextDouble() < CANCEL_RATIO) {
+                TransactionRow original = cancellable.remove(cancellable.size() - 1);
+                balance += original.amount;
+                revision++;
+                row.set("CANCEL", "S", original.amount, balance);
+                row.originalId = original.id;
+                original.cancelledAt = transactedAt;
+            } else {
+                long amount = logUniform(random, 1_000, 1_000_000) / 10 * 10;
+                if (amount > balance) {
+                    row.set("USE", "F", amount, balance);
+                } else {
+                    balance -= amount;
+                    revision++;
+                    row.set("USE", "S", amount, balance);
+                    cancellable.add(row);
+                }
+            }
+            rows.add(row);
+        }
+
+        LocalDateTime updatedAt = transactionCount == 0 ? registeredAt : transactedAts[transactionCount - 1];
+        batch.addAccount(accountId, userId, String.valueOf(accountNumberStart + index),
+                balance, revision, registeredAt, updatedAt);
+        for (TransactionRow row : rows) {
+            batch.addTransaction(row, accountId);
+        }
+    }
+
+    private static int pickAccountCount(SplittableRandom random) {
+        int pick = random.nextInt(ACCOUNTS_PER_USER_WEIGHT_SUM);
+        for (int i = 0; i < ACCOUNTS_PER_USER_WEIGHTS.length; i++) {
+            pick -= ACCOUNTS_PER_USER_WEIGHTS[i];
+            if (pick < 0) {
+                return i + 1;
+            }
+        }
+        return 1;
+    }
+
+    // recentSkewed 면 끝쪽(최근)일수록 많이 뽑힌다.
+    private static LocalDateTime between(SplittableRandom random, LocalDateTime from, LocalDateTime to, boolean recentSkewed) {
+        long seconds = Math.max(1, Duration.between(from, to).getSeconds());
+        double position = recentSkewed ? Math.sqrt(random.nextDouble()) : random.nextDouble();
+        return from.plusSeconds((long) (seconds * position));
+    }
+
+    private static long logUniform(SplittableRandom random, long min, long max) {
+        return (long) Math.exp(Math.log(min) + random.nextDouble() * (Math.log(max) - Math.log(min)));
+    }
+
+    private static String transactionId(SplittableRandom random) {
+        return String.format("%016x%016x", random.nextLong(), random.nextLong());
+    }
+
+    private static final class TransactionRow {
+        private final long id;
+        private final String transactionId;
+        private final LocalDateTime transactedAt;
+        private String transactionType;
+        private String transactionResultType;
+        private long amount;
+        private long balanceSnapshot;
+        private Long originalId;
+        private LocalDateTime cancelledAt;
+
+        private TransactionRow(long id, String transactionId, LocalDateTime transactedAt) {
+            this.id = id;
+            this.transactionId = transactionId;
+            this.transactedAt = transactedAt;
+        }
+
+        private void set(String transactionType, String transactionResultType, long amount, long balanceSnapshot) {
+            this.transactionType = transactionType;
+            this.transactionResultType = transactionResultType;
+            this.amount = amount;
+            this.balanceSnapshot = balanceSnapshot;
+        }
+    }
+
+    /**
+     * 한 스레드의 insert batch. 외래 키 순서대로 사용자 → 계좌 → 거래를 실행하고 batch 마다 commit 한다.
+     */
+    private final class Batch implements AutoCloseable {
+        private final Connection connection;
+        private final PreparedStatement users;
+        private final PreparedStatement accountRows;
+        private final PreparedStatement transactionRows;
+        private int pending;
+
+        private Batch(Connection connection) throws SQLException {
+            this.connection = connection;
+            connection.setAutoCommit(false);
+            this.users = connection.prepareStatement(INSERT_USER);
+            this.accountRows = connection.prepareStatement(INSERT_ACCOUNT);
+            this.transactionRows = connection.prepareStatement(INSERT_TRANSACTION);
+        }
+
+        private void addUser(long userId, String name, LocalDateTime joinedAt) throws SQLException {
+            Timestamp timestamp = Timestamp.valueOf(joinedAt);
+            users.setLong(1, userId);
+            users.setString(2, name);
+            users.setTimestamp(3, timestamp);
+            users.setTimestamp(4, timestamp);
+            users.addBatch();
+            added();
+        }
+
+        private void addAccount(long accountId, long userId, String accountNumber, long balance, long revision,
+                                LocalDateTime registeredAt, LocalDateTime updatedAt) throws SQLException {
+            Timestamp registered = Timestamp.valueOf(registeredAt);
+            accountRows.setLong(1, accountId);
+            accountRows.setLong(2, userId);
+            accountRows.setString(3, accountNumber);
+            accountRows.setLong(4, balance);
+            accountRows.setLong(5, revision);
+            accountRows.setTimestamp(6, registered);
+            accountRows.setTimestamp(7, registered);
+            accountRows.setTimestamp(8, Timestamp.valueOf(updatedAt));
+            accountRows.addBatch();
+            added();
+        }
+
+        private void addTransaction(TransactionRow row, long accountId) throws SQLException {
+            Timestamp transactedAt = Timestamp.valueOf(row.transactedAt);
+            transactionRows.setLong(1, row.id);
+            transactionRows.setString(2, row.transactionType);
+            transactionRows.setString(3, row.transactionResultType);
+            transactionRows.setLong(4, accountId);
+            transactionRows.setLong(5, row.amount);
+            transactionRows.setLong(6, row.balanceSnapshot);
+            transactionRows.setString(7, row.transactionId);
+            transactionRows.setTimestamp(8, transactedAt);
+            if (row.originalId == null) {
+                transactionRows.setNull(9, Types.BIGINT);
+            } else {
+                transactionRows.setLong(9, row.originalId);
+            }
+            transactionRows.setTimestamp(10, row.cancelledAt == null ? null : Timestamp.valueOf(row.cancelledAt));
+            transactionRows.setTimestamp(11, transactedAt);
+            transactionRows.setTimestamp(12, row.cancelledAt == null ? transactedAt : Timestamp.valueOf(row.cancelledAt));
+            transactionRows.addBatch();
+            added();
+        }
+
+        private void added() throws SQLException {
+            if (++pending >= options.batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            users.executeBatch();
+            accountRows.executeBatch();
+            transactionRows.executeBatch();
+            connection.commit();
+            pending = 0;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            users.close();
+            accountRows.close();
+            transactionRows.close();
+            connection.setAutoCommit(true);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.account.loadtest;
+
+/**
+ * -Ddatagen.* 시스템 프로퍼티로 받는 합성 데이터 설정.
+ */
+public class SyntheticDataOptions {
+    final String url = System.getProperty("datagen.url", "jdbc:h2:file:./build/datagen/account");
+    final int users = Integer.getInteger("datagen.users", 1_000_000);
+    // 계좌당 평균 거래 수
+    final double transactionsPerAccount = Double.parseDouble(System.getProperty("datagen.transactionsPerAccount", "10"));
+    // hotAccountRatio 비율의 계좌에 전체 거래의 hotTransactionShare 가 몰린다.
+    final double hotAccountRatio = Double.parseDouble(System.getProperty("datagen.hotAccountRatio", "0.01"));
+    final double hotTransactionShare = Double.parseDouble(System.getProperty("datagen.hotTransactionShare", "0.5"));
+    final int years = Integer.getInteger("datagen.years", 2);
+    final int threads = Integer.getInteger("datagen.threads", Runtime.getRuntime().availableProcessors());
+    final int batchSize = Integer.getInteger("datagen.batchSize", 1_000);
+    final long seed = Long.getLong("datagen.seed", 42L);
+
+    @Override
+    public String toString() {
+        return "users=" + users + ", transactionsPerAccount=" + transactionsPerAccount
+                + ", hotAccounts=" + hotAccountRatio + " (" + hotTransactionShare + " of transactions)"
+                + ", years=" + years + ", threads=" + threads + ", batchSize=" + batchSize + ", seed=" + seed;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.account.aop;
+
+import java.lang.annotation.*;
+
+/**
+ * 요청의 계좌번호로 계좌 lock을 잡고 메서드를 실행한다. 대기 시간과 lease는 LockService가 정한다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+public @interface AccountLock {
+}
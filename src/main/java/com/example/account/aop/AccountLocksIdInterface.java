@@ -0,0 +1,7 @@
+package com.example.account.aop;
+
+import java.util.List;
+
+public interface AccountLocksIdInterface {
+    List<String> getAccountNumbers();
+}
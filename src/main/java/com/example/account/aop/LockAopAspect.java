@@ -0,0 +1,45 @@
+package com.example.account.aop;
+
+import com.example.account.service.LockService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Aspect
+@Component
+@Order(2)
+@RequiredArgsConstructor
+public class LockAopAspect {
+    private final LockService lockService;
+
+    @Around("@annotation(com.example.account.aop.AccountLock) && args(request)")
+    public Object aroundMethod(
+            ProceedingJoinPoint pjp,
+            AccountLockIdInterface request
+    ) throws Throwable {
+        // lock 취득 시도
+        lockService.lock(request.getAccountNumber());
+        try {
+            return pjp.proceed();
+        } finally {
+            // lock 해제
+            lockService.unlock(request.getAccountNumber());
+        }
+    }
+
+    @Around("@annotation(com.example.account.aop.AccountLock) && args(request)")
+    public Object aroundMethod(
+            ProceedingJoinPoint pjp,
+            AccountLocksIdInterface request
+    ) throws Throwable {
+        // 여러 계좌 lock은 계좌번호 순서로 한 번에 취득
+        try (LockService.AccountLocks ignored = lockService.lockAll(request.getAccountNumbers())) {
+            return pjp.proceed();
+        }
+    }
+}
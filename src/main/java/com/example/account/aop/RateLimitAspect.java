@@ -0,0 +1,32 @@
+package com.example.account.aop;
+
+import com.example.account.service.RateLimitService;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * lock을 잡기 전에 먼저 한도를 확인해서, 거절될 요청이 lock을 기다리지 않도록 한다.
+ */
+@Aspect
+@Component
+@Order(1)
+@RequiredArgsConstructor
+public class RateLimitAspect {
+    private final RateLimitService rateLimitService;
+
+    @Around("@annotation(rateLimited) && args(request)")
+    public Object aroundMethod(
+            ProceedingJoinPoint pjp,
+            RateLimited rateLimited,
+            RateLimitKeyInterface request
+    ) throws Throwable {
+        rateLimitService.checkLimit(rateLimited.value(),
+                request.getUserId(), request.getAccountNumber());
+
+        return pjp.proceed();
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.account.aop;
+
+public interface RateLimitKeyInterface {
+    Long getUserId();
+
+    default String getAccountNumber() {
+        return null;
+    }
+}
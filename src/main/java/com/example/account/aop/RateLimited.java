@@ -0,0 +1,14 @@
+package com.example.account.aop;
+
+import java.lang.annotation.*;
+
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+public @interface RateLimited {
+    /**
+     * 한도 설정을 찾을 endpoint 이름 (account.rate-limit.{value}.*)
+     */
+    String value();
+}
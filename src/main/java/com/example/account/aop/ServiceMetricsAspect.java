@@ -0,0 +1,75 @@
+package com.example.account.aop;
+
+import com.example.account.exception.AccountException;
+import com.example.account.sql.StatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * TransactionService / AccountService 메소드별 처리 시간과 실행한 SQL 문 수.
+ * 결과(SUCCESS, FAILURE, ERROR)와 ErrorCode를 태그로 남겨서 실패 유형별 지연을 볼 수 있게 한다.
+ * commit 시점의 flush 까지 포함하도록 트랜잭션 바깥에서 동작한다.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect {
+    private final MeterRegistry meterRegistry;
+    private final long statementBudget;
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry,
+                                @Value("${account.sql.method-budget:8}") long statementBudget) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+    }
+
+    @Around("execution(public * com.example.account.service.TransactionService.*(..))"
+            + " || execution(public * com.example.account.service.AccountService.*(..))")
+    public Object aroundServiceMethod(ProceedingJoinPoint pjp) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long statementsBefore = StatementCounter.current();
+        String outcome = "SUCCESS";
+        String errorCode = "NONE";
+
+        try {
+            return pjp.proceed();
+        } catch (AccountException e) {
+            outcome = "FAILURE";
+            errorCode = String.valueOf(e.getErrorCode());
+            throw e;
+        } catch (Throwable e) {
+            outcome = "ERROR";
+            throw e;
+        } finally {
+            String className = pjp.getSignature().getDeclaringType().getSimpleName();
+            String methodName = pjp.getSignature().getName();
+            sample.stop(Timer.builder("account.service")
+                    .tag("class", className)
+                    .tag("method", methodName)
+                    .tag("outcome", outcome)
+                    .tag("error_code", errorCode)
+                    .register(meterRegistry));
+
+            long statements = StatementCounter.current() - statementsBefore;
+            DistributionSummary.builder("account.service.sql.statements")
+                    .tag("class", className)
+                    .tag("method", methodName)
+                    .register(meterRegistry)
+                    .record(statements);
+            if (statements > statementBudget) {
+                log.warn("{}.{} executed {} SQL statements (budget : {})",
+                        className, methodName, statements, statementBudget);
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.account.bloom;
+
+/**
+ * BloomFilter 의 bit 배열 저장소.
+ * 인스턴스 메모리(MemoryBitStore)나 모든 인스턴스가 함께 보는 Redis(RedisBitStore)에 둔다.
+ */
+public interface BitStore {
+    void set(long[] indexes);
+
+    /**
+     * 모든 bit 가 켜져 있으면 true. 아직 채워지지 않은 저장소는 어떤 key 도 없다고 단정할 수 없으므로 true 를 돌려준다.
+     */
+    boolean allSet(long[] indexes);
+
+    /**
+     * 켜진 bit 수
+     */
+    long cardinality();
+
+    /**
+     * 다른 인스턴스가 이미 기존 식별자를 모두 채웠는지
+     */
+    boolean isPopulated();
+
+    void markPopulated();
+
+    @FunctionalInterface
+    interface Factory {
+        BitStore create(long bitSize, int hashFunctions);
+    }
+}
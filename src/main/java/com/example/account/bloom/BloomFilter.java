@@ -0,0 +1,110 @@
+package com.example.account.bloom;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * 문자열 key 의 Bloom filter. bit 배열은 BitStore 에 둔다.
+ * mightContain 이 false 면 추가된 적이 없는 key 이고, true 면 expectedFalsePositiveProbability 의 확률로 틀릴 수 있다.
+ */
+public class BloomFilter {
+    private final BitStore bits;
+    private final long bitSize;
+    private final int hashFunctions;
+
+    private BloomFilter(long bitSize, int hashFunctions, BitStore bits) {
+        this.bits = bits;
+        this.bitSize = bitSize;
+        this.hashFunctions = hashFunctions;
+    }
+
+    /**
+     * bit 배열을 인스턴스 메모리에 둔다.
+     */
+    public static BloomFilter create(long expectedInsertions, double falsePositiveProbability) {
+        return create(expectedInsertions, falsePositiveProbability, (bitSize, hashFunctions) -> new MemoryBitStore(bitSize));
+    }
+
+    public static BloomFilter create(long expectedInsertions, double falsePositiveProbability, BitStore.Factory bitStoreFactory) {
+        if (expectedInsertions <= 0 || falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("expectedInsertions must be positive and falsePositiveProbability in (0, 1)");
+        }
+
+        double ln2 = Math.log(2);
+        long bitSize = Math.max(64, (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (ln2 * ln2)));
+        int hashFunctions = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * ln2));
+
+        return new BloomFilter(bitSize, hashFunctions, bitStoreFactory.create(bitSize, hashFunctions));
+    }
+
+    public void put(String key) {
+        bits.set(indexes(key));
+    }
+
+    /**
+     * 여러 key 의 bit 를 한 번에 켠다. 저장소가 Redis 면 한 번의 호출로 처리한다.
+     */
+    public void putAll(Collection<String> keys) {
+        long[] indexes = new long[keys.size() * hashFunctions];
+        int offset = 0;
+        for (String key : keys) {
+            long[] keyIndexes = indexes(key);
+            System.arraycopy(keyIndexes, 0, indexes, offset, hashFunctions);
+            offset += hashFunctions;
+        }
+        bits.set(indexes);
+    }
+
+    public boolean mightContain(String key) {
+        return bits.allSet(indexes(key));
+    }
+
+    /**
+     * 지금까지 켜진 bit 비율로 추정한, 추가된 적 없는 key 를 있다고 답할 확률.
+     */
+    public double expectedFalsePositiveProbability() {
+        return Math.pow((double) bits.cardinality() / bitSize, hashFunctions);
+    }
+
+    public boolean isPopulated() {
+        return bits.isPopulated();
+    }
+
+    public void markPopulated() {
+        bits.markPopulated();
+    }
+
+    public long getBitSize() {
+        return bitSize;
+    }
+
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+
+    private long[] indexes(String key) {
+        long hash1 = hash(key);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        long[] indexes = new long[hashFunctions];
+        for (int i = 1; i <= hashFunctions; i++) {
+            indexes[i - 1] = Math.floorMod(hash1 + i * hash2, bitSize);
+        }
+        return indexes;
+    }
+
+    // FNV-1a 64 에 splitmix64 finalizer 를 더해 하위 bit 까지 고르게 섞는다.
+    private static long hash(String key) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
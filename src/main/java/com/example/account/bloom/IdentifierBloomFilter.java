@@ -0,0 +1,190 @@
+package com.example.account.bloom;
+
+import com.example.account.exception.AccountException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import static com.example.account.type.ErrorCode.TRANSACTION_NOT_FOUND;
+import static com.example.account.type.ErrorCode.USER_ACCOUNT_NOT_FOUND;
+
+/**
+ * 계좌번호와 거래 id 앞에 두는 Bloom filter. 한 번도 저장된 적 없는 식별자는 DB 를 조회하지 않고 없다고 답한다.
+ * bit 배열은 Redis 에 두어 모든 인스턴스가 같은 filter 를 보고, 새 식별자는 저장하는 트랜잭션이 커밋되기 전에 추가한다.
+ * 그래서 커밋된 식별자는 어느 인스턴스에서 조회하더라도 filter 에 있다.
+ * 기존 식별자는 IdentifierBloomFilterListener 가 시작 후 background 에서 채우고, 그 전까지는 형식만 확인하고 DB 로 보낸다.
+ */
+@Component
+public class IdentifierBloomFilter {
+    private static final String KEY_PREFIX = "ACCOUNT_BLOOM_FILTER:";
+    // ShardRouter 가 발급하는 10자리 계좌번호
+    private static final Pattern ACCOUNT_NUMBER = Pattern.compile("\\d{10}");
+    // TransactionService.generateTransactionId 가 만드는 '-' 없는 UUID
+    private static final Pattern TRANSACTION_ID = Pattern.compile("[0-9a-f]{32}");
+
+    private final boolean enabled;
+    private final Filter accountNumbers;
+    private final Filter transactionIds;
+
+    @Autowired
+    public IdentifierBloomFilter(MeterRegistry meterRegistry,
+                                 ObjectProvider<RedissonClient> redissonClient,
+                                 @Value("${account.bloom-filter.enabled:true}") boolean enabled,
+                                 @Value("${account.bloom-filter.account-number.expected-insertions:1000000}") long accountNumberInsertions,
+                                 @Value("${account.bloom-filter.transaction-id.expected-insertions:10000000}") long transactionIdInsertions,
+                                 @Value("${account.bloom-filter.false-positive-probability:0.01}") double falsePositiveProbability) {
+        // 크기가 바뀌면 bit 위치가 달라지므로 크기별로 다른 key 를 쓴다.
+        this(meterRegistry, enabled, accountNumberInsertions, transactionIdInsertions, falsePositiveProbability,
+                name -> (bitSize, hashFunctions) -> new RedisBitStore(redissonClient::getObject,
+                        KEY_PREFIX + name + ":" + bitSize + ":" + hashFunctions));
+    }
+
+    /**
+     * bit 배열을 인스턴스 메모리에 둔다. 한 인스턴스만 있는 테스트에서 사용한다.
+     */
+    public IdentifierBloomFilter(MeterRegistry meterRegistry, boolean enabled,
+                                 long accountNumberInsertions, long transactionIdInsertions,
+                                 double falsePositiveProbability) {
+        this(meterRegistry, enabled, accountNumberInsertions, transactionIdInsertions, falsePositiveProbability,
+                name -> (bitSize, hashFunctions) -> new MemoryBitStore(bitSize));
+    }
+
+    private IdentifierBloomFilter(MeterRegistry meterRegistry, boolean enabled,
+                                  long accountNumberInsertions, long transactionIdInsertions,
+                                  double falsePositiveProbability,
+                                  Function<String, BitStore.Factory> bitStores) {
+        this.enabled = enabled;
+        // 꺼져 있으면 bit 배열을 크게 잡지 않고 Redis 도 사용하지 않는다.
+        if (!enabled) {
+            accountNumberInsertions = 1;
+            transactionIdInsertions = 1;
+            bitStores = name -> (bitSize, hashFunctions) -> new MemoryBitStore(bitSize);
+        }
+        this.accountNumbers = new Filter(meterRegistry, "account_number", ACCOUNT_NUMBER,
+                BloomFilter.create(accountNumberInsertions, falsePositiveProbability, bitStores.apply("account_number")));
+        this.transactionIds = new Filter(meterRegistry, "transaction_id", TRANSACTION_ID,
+                BloomFilter.create(transactionIdInsertions, falsePositiveProbability, bitStores.apply("transaction_id")));
+    }
+
+    /**
+     * 형식이 맞지 않거나 한 번도 저장된 적 없는 계좌번호면 DB 를 조회하지 않고 거절한다.
+     */
+    public void checkAccountNumber(String accountNumber) {
+        if (!accountNumbers.mightContain(accountNumber)) {
+            throw new AccountException(USER_ACCOUNT_NOT_FOUND);
+        }
+    }
+
+    public void checkTransactionId(String transactionId) {
+        if (!transactionIds.mightContain(transactionId)) {
+            throw new AccountException(TRANSACTION_NOT_FOUND);
+        }
+    }
+
+    /**
+     * check 를 통과한 계좌번호가 DB 에 없었을 때 orElseThrow 에 넘긴다.
+     */
+    public AccountException accountNumberNotFound() {
+        accountNumbers.recordFalsePositive();
+        return new AccountException(USER_ACCOUNT_NOT_FOUND);
+    }
+
+    public AccountException transactionIdNotFound() {
+        transactionIds.recordFalsePositive();
+        return new AccountException(TRANSACTION_NOT_FOUND);
+    }
+
+    public void addAccountNumber(String accountNumber) {
+        accountNumbers.filter.put(accountNumber);
+    }
+
+    public void addTransactionId(String transactionId) {
+        transactionIds.filter.put(transactionId);
+    }
+
+    public void addAccountNumbers(Collection<String> accountNumbers) {
+        this.accountNumbers.filter.putAll(accountNumbers);
+    }
+
+    public void addTransactionIds(Collection<String> transactionIds) {
+        this.transactionIds.filter.putAll(transactionIds);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 다른 인스턴스가 이미 DB 의 식별자를 모두 채웠으면 true
+     */
+    public boolean isPopulated() {
+        return accountNumbers.filter.isPopulated() && transactionIds.filter.isPopulated();
+    }
+
+    /**
+     * DB 의 식별자를 모두 추가한 뒤 (또는 이미 채워진 것을 확인한 뒤) 호출한다. 이후부터 없는 식별자를 거절한다.
+     */
+    public void markLoaded() {
+        accountNumbers.filter.markPopulated();
+        transactionIds.filter.markPopulated();
+        accountNumbers.loaded = true;
+        transactionIds.loaded = true;
+    }
+
+    private final class Filter {
+        private final BloomFilter filter;
+        private final Pattern format;
+        private final Counter rejected;
+        private final Counter passed;
+        private final Counter falsePositive;
+        private volatile boolean loaded;
+
+        private Filter(MeterRegistry meterRegistry, String name, Pattern format, BloomFilter filter) {
+            this.filter = filter;
+            this.format = format;
+            this.rejected = meterRegistry.counter("account.bloom_filter.lookup", "filter", name, "result", "rejected");
+            this.passed = meterRegistry.counter("account.bloom_filter.lookup", "filter", name, "result", "passed");
+            // 통과시켰는데 DB 에 없었던 조회. passed 에 대한 비율이 실제 false positive 비율이다.
+            this.falsePositive = meterRegistry.counter("account.bloom_filter.false_positive", "filter", name);
+            Gauge.builder("account.bloom_filter.expected_fpp", filter, BloomFilter::expectedFalsePositiveProbability)
+                    .tag("filter", name)
+                    .register(meterRegistry);
+        }
+
+        private boolean mightContain(String key) {
+            if (!enabled) {
+                return true;
+            }
+
+            if (key == null || !format.matcher(key).matches()) {
+                rejected.increment();
+                return false;
+            }
+            if (!loaded) {
+                return true;
+            }
+
+            if (!filter.mightContain(key)) {
+                rejected.increment();
+                return false;
+            }
+            passed.increment();
+            return true;
+        }
+
+        private void recordFalsePositive() {
+            if (enabled && loaded) {
+                falsePositive.increment();
+            }
+        }
+    }
+}
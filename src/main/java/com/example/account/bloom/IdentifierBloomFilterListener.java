@@ -0,0 +1,143 @@
+package com.example.account.bloom;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.Transaction;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.shard.ShardContext;
+import com.example.account.shard.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.PostPersist;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * IdentifierBloomFilter 를 DB 와 맞춘다.
+ * 저장되는 계좌/거래는 JPA 콜백에서 트랜잭션이 커밋되기 전에 추가하고, Redis 에 추가하지 못하면 커밋하지 않는다.
+ * 기존 식별자는 시작이 끝난 뒤 background 스레드에서 모든 shard 를 stream 으로 읽어 채운다.
+ * 다른 인스턴스가 이미 채웠으면 다시 읽지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdentifierBloomFilterListener {
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final IdentifierBloomFilter identifierBloomFilter;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ShardRouter shardRouter;
+
+    /**
+     * 전체 scan 이 시작 시간에 들어가지 않도록 background 스레드에서 채운다. 끝나기 전까지는 모든 조회를 DB 로 보낸다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        if (!identifierBloomFilter.isEnabled()) {
+            return;
+        }
+
+        Thread loader = new Thread(this::loadIfNotPopulated, "bloom-filter-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    private void loadIfNotPopulated() {
+        try {
+            if (identifierBloomFilter.isPopulated()) {
+                identifierBloomFilter.markLoaded();
+                log.info("Identifier bloom filter is already populated.");
+                return;
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to check identifier bloom filter", e);
+            return;
+        }
+        load();
+    }
+
+    /**
+     * 모든 shard 의 식별자를 읽어 채운다. JDBC 로 직접 넣은 식별자처럼 JPA 콜백을 거치지 않은 데이터가 있으면 다시 호출한다.
+     */
+    public void load() {
+        long started = System.nanoTime();
+        try {
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            for (int shard : shardRouter.shards()) {
+                ShardContext.run(shard, () -> readOnly.executeWithoutResult(status -> {
+                    try (Stream<String> accountNumbers = accountRepository.streamAllAccountNumbers()) {
+                        addInBatches(accountNumbers, identifierBloomFilter::addAccountNumbers);
+                    }
+                    try (Stream<String> transactionIds = transactionRepository.streamAllTransactionIds()) {
+                        addInBatches(transactionIds, identifierBloomFilter::addTransactionIds);
+                    }
+                }));
+            }
+            identifierBloomFilter.markLoaded();
+
+            log.info("Identifier bloom filter loaded in {} ms", (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            // 채우지 못하면 filter 를 쓰지 않고 모든 조회를 DB 로 보낸다.
+            log.error("Failed to load identifier bloom filter", e);
+        }
+    }
+
+    private static void addInBatches(Stream<String> keys, Consumer<List<String>> add) {
+        List<String> batch = new ArrayList<>(LOAD_BATCH_SIZE);
+        keys.forEach(key -> {
+            batch.add(key);
+            if (batch.size() == LOAD_BATCH_SIZE) {
+                add.accept(batch);
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) {
+            add.accept(batch);
+        }
+    }
+
+    @PostPersist
+    public void persisted(Object entity) {
+        if (!identifierBloomFilter.isEnabled()) {
+            return;
+        }
+
+        if (entity instanceof Account) {
+            String accountNumber = ((Account) entity).getAccountNumber();
+            addBeforeCommit(() -> identifierBloomFilter.addAccountNumber(accountNumber));
+        } else if (entity instanceof Transaction) {
+            String transactionId = ((Transaction) entity).getTransactionId();
+            addBeforeCommit(() -> identifierBloomFilter.addTransactionId(transactionId));
+        }
+    }
+
+    /**
+     * 커밋된 식별자가 filter 에 없는 일이 없도록 커밋 전에 추가한다. 되돌려진 식별자가 남는 것은 false positive 일 뿐이다.
+     */
+    private void addBeforeCommit(Runnable add) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                add.run();
+            }
+        });
+    }
+}
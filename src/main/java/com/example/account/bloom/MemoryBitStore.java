@@ -0,0 +1,61 @@
+package com.example.account.bloom;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 인스턴스 메모리의 bit 배열. 여러 스레드가 lock 없이 동시에 추가/조회할 수 있다.
+ */
+class MemoryBitStore implements BitStore {
+    private final AtomicLongArray words;
+    private final LongAdder setBits = new LongAdder();
+
+    MemoryBitStore(long bitSize) {
+        this.words = new AtomicLongArray(Math.toIntExact((bitSize + 63) >>> 6));
+    }
+
+    @Override
+    public void set(long[] indexes) {
+        for (long index : indexes) {
+            setBit(index);
+        }
+    }
+
+    @Override
+    public boolean allSet(long[] indexes) {
+        for (long index : indexes) {
+            if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public long cardinality() {
+        return setBits.sum();
+    }
+
+    // 메모리의 bit 배열은 이 인스턴스만 채운다.
+    @Override
+    public boolean isPopulated() {
+        return false;
+    }
+
+    @Override
+    public void markPopulated() {
+    }
+
+    private void setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = words.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!words.compareAndSet(word, current, current | mask));
+        setBits.increment();
+    }
+}
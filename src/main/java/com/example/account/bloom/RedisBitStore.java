@@ -0,0 +1,85 @@
+package com.example.account.bloom;
+
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 모든 인스턴스가 함께 보는 Redis bit 배열. 한 key 의 bit 는 Lua 스크립트 한 번으로 켜고 확인한다.
+ * bit 배열이나 채움 표시가 없으면 (아직 채우는 중이거나 Redis 가 비워진 경우) 모든 key 가 있을 수 있다고 답한다.
+ * Redis 를 호출하지 못하면 확인은 있을 수 있다고 답하고, 추가는 예외를 던져 저장하는 트랜잭션을 되돌린다.
+ */
+@Slf4j
+class RedisBitStore implements BitStore {
+    private static final String SET_SCRIPT =
+            "for i = 1, #ARGV do redis.call('SETBIT', KEYS[1], ARGV[i], 1) end "
+            + "return 0";
+
+    // return: 1 이면 모두 켜져 있거나 아직 채워지지 않음, 0 이면 하나라도 꺼져 있음
+    private static final String ALL_SET_SCRIPT =
+            "if redis.call('EXISTS', KEYS[2]) == 0 or redis.call('EXISTS', KEYS[1]) == 0 then return 1 end "
+            + "for i = 1, #ARGV do "
+            + "if redis.call('GETBIT', KEYS[1], ARGV[i]) == 0 then return 0 end "
+            + "end "
+            + "return 1";
+
+    // 처음 사용할 때 RedissonClient 를 만들어 fast-start 에서 내장 Redis 를 늦게 띄운다.
+    private final Supplier<RedissonClient> redissonClient;
+    private final String key;
+    private final String populatedKey;
+
+    RedisBitStore(Supplier<RedissonClient> redissonClient, String key) {
+        this.redissonClient = redissonClient;
+        this.key = key;
+        this.populatedKey = key + ":POPULATED";
+    }
+
+    @Override
+    public void set(long[] indexes) {
+        if (indexes.length == 0) {
+            return;
+        }
+        eval(RScript.Mode.READ_WRITE, SET_SCRIPT, Arrays.<Object>asList(key), indexes);
+    }
+
+    @Override
+    public boolean allSet(long[] indexes) {
+        try {
+            Long result = eval(RScript.Mode.READ_ONLY, ALL_SET_SCRIPT, Arrays.<Object>asList(key, populatedKey), indexes);
+            return result == null || result != 0;
+        } catch (RuntimeException e) {
+            // Redis 장애로 있는 식별자를 거절하지 않도록 DB 에서 확인하게 한다.
+            log.error("Bloom filter lookup failed. key : {}", key, e);
+            return true;
+        }
+    }
+
+    @Override
+    public long cardinality() {
+        return redissonClient.get().getBitSet(key).cardinality();
+    }
+
+    @Override
+    public boolean isPopulated() {
+        return redissonClient.get().getBucket(populatedKey, StringCodec.INSTANCE).isExists();
+    }
+
+    @Override
+    public void markPopulated() {
+        redissonClient.get().getBucket(populatedKey, StringCodec.INSTANCE).set("1");
+    }
+
+    private Long eval(RScript.Mode mode, String script, List<Object> keys, long[] indexes) {
+        Object[] values = new Object[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            values[i] = String.valueOf(indexes[i]);
+        }
+        return redissonClient.get().getScript(StringCodec.INSTANCE).eval(
+                mode, script, RScript.ReturnType.INTEGER, keys, values);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.account.cache;
+
+import com.example.account.service.AccountLookupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+
+/**
+ * 사용자/계좌가 바뀌면 커밋된 뒤 Redis pub/sub 으로 모든 인스턴스의 AccountLookupService 캐시에서 지운다.
+ * 구독은 AccountLookupService 가 처음 캐시에 넣을 때 시작한다. 비어 있는 캐시는 알림을 받을 필요가 없으므로,
+ * 기동할 때 RedissonClient 를 만들지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NearCacheInvalidator {
+    private static final String TOPIC = "ACCOUNT_NEAR_CACHE_INVALIDATION";
+    private static final String ACCOUNT_PREFIX = "A:";
+    private static final String ACCOUNT_USER_PREFIX = "U:";
+
+    private final ObjectProvider<RedissonClient> redissonClient;
+    private final AccountLookupService accountLookupService;
+
+    private volatile Integer listenerId;
+
+    /**
+     * 아직 구독하지 않았으면 구독하고, 구독 중인지 돌려준다. 실패하면 다음 호출에서 다시 시도한다.
+     */
+    public boolean subscribe() {
+        if (listenerId != null) {
+            return true;
+        }
+
+        synchronized (this) {
+            if (listenerId == null) {
+                try {
+                    listenerId = topic().addListener(String.class, (channel, message) -> evict(message));
+                } catch (RuntimeException e) {
+                    log.warn("Failed to subscribe near cache invalidation.", e);
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (listenerId != null) {
+            topic().removeListener(listenerId);
+        }
+    }
+
+    public void invalidateAccount(String accountNumber) {
+        publishAfterCommit(ACCOUNT_PREFIX + accountNumber);
+    }
+
+    public void invalidateAccountUser(Long userId) {
+        publishAfterCommit(ACCOUNT_USER_PREFIX + userId);
+    }
+
+    private void publishAfterCommit(String message) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(message);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(message);
+            }
+        });
+    }
+
+    private void publish(String message) {
+        // 이 인스턴스는 알림을 기다리지 않고 바로 지운다.
+        evict(message);
+        topic().publishAsync(message).whenComplete((receivers, e) -> {
+            if (e != null) {
+                log.warn("Failed to publish near cache invalidation. message : {}", message, e);
+            }
+        });
+    }
+
+    private void evict(String message) {
+        if (message.startsWith(ACCOUNT_PREFIX)) {
+            accountLookupService.evictAccount(message.substring(ACCOUNT_PREFIX.length()));
+        } else if (message.startsWith(ACCOUNT_USER_PREFIX)) {
+            accountLookupService.evictAccountUser(Long.valueOf(message.substring(ACCOUNT_USER_PREFIX.length())));
+        }
+    }
+
+    private RTopic topic() {
+        return redissonClient.getObject().getTopic(TOPIC, StringCodec.INSTANCE);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.account.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * async 프로필: 요청 스레드(Tomcat)는 lock 대기 동안 반환되고,
+ * JPA 작업만 크기가 제한된 전용 풀에서 실행된다.
+ */
+@Configuration
+@Profile("async")
+public class AsyncConfig {
+    @Value("${account.async.pool-size:32}")
+    private int poolSize;
+
+    @Value("${account.async.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Bean
+    public ThreadPoolTaskExecutor transactionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("transaction-");
+        executor.initialize();
+
+        return executor;
+    }
+}
@@ -1,14 +1,23 @@
 package com.example.account.config;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Configuration;
 import redis.embedded.RedisServer;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
 
+/**
+ * 내장 Redis. account.redis.embedded=false 이면 띄우지 않고 spring.redis 로 지정한 Redis 를 사용한다.
+ */
+@Slf4j
 @Configuration
+@ConditionalOnProperty(name = "account.redis.embedded", havingValue = "true", matchIfMissing = true)
 public class LocalRedisConfig {
     @Value("${spring.redis.port}")
     private int redisPort;
@@ -17,6 +26,11 @@ public class LocalRedisConfig {
 
     @PostConstruct
     public void startRedis() throws IOException {
+        // 같은 JVM의 다른 context(설정이 다른 테스트 등)가 이미 띄운 Redis가 있으면 그대로 사용한다.
+        if (isRedisRunning()) {
+            log.info("Redis is already running on port {}. Skip embedded Redis.", redisPort);
+            return;
+        }
         redisServer = new RedisServer(redisPort);
         redisServer.start();
     }
@@ -27,4 +41,13 @@ public class LocalRedisConfig {
             redisServer.stop();
         }
     }
+
+    private boolean isRedisRunning() {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress("127.0.0.1", redisPort), 200);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
 }
@@ -0,0 +1,65 @@
+package com.example.account.config;
+
+import com.example.account.exception.GlobalExceptionHandler;
+import com.example.account.limiter.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.aop.CountedAspect;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public CountedAspect countedAspect(MeterRegistry meterRegistry) {
+        return new CountedAspect(meterRegistry);
+    }
+
+    /**
+     * http.server.requests 에 응답한 ErrorCode를 태그로 추가한다.
+     */
+    @Bean
+    public WebMvcTagsContributor errorCodeTagsContributor() {
+        return new WebMvcTagsContributor() {
+            @Override
+            public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response,
+                                         Object handler, Throwable exception) {
+                Object errorCode = request.getAttribute(GlobalExceptionHandler.ERROR_CODE_ATTRIBUTE);
+                return Tags.of("error_code", errorCode == null ? "NONE" : errorCode.toString());
+            }
+
+            @Override
+            public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+                return Tags.empty();
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder concurrencyLimiterMetrics(
+            @Qualifier("readConcurrencyLimiter") AdaptiveConcurrencyLimiter readLimiter,
+            @Qualifier("writeConcurrencyLimiter") AdaptiveConcurrencyLimiter writeLimiter) {
+        return registry -> {
+            bindLimiter(registry, "read", readLimiter);
+            bindLimiter(registry, "write", writeLimiter);
+        };
+    }
+
+    private void bindLimiter(MeterRegistry registry, String type, AdaptiveConcurrencyLimiter limiter) {
+        Gauge.builder("account.limiter.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("type", type)
+                .register(registry);
+        Gauge.builder("account.limiter.in_flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("type", type)
+                .register(registry);
+    }
+}
@@ -1,12 +1,15 @@
 package com.example.account.config;
 
+import lombok.extern.slf4j.Slf4j;
 import org.redisson.Redisson;
 import org.redisson.api.RedissonClient;
 import org.redisson.config.Config;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+@Slf4j
 @Configuration
 public class RedisRepositoryConfig {
     @Value("${spring.redis.host}")
@@ -16,7 +19,10 @@ public class RedisRepositoryConfig {
     private int redisPort;
 
     @Bean
-    public RedissonClient redissonClient() {
+    public RedissonClient redissonClient(ObjectProvider<LocalRedisConfig> localRedisConfig) {
+        // lazy-initialization 에서는 아무도 LocalRedisConfig 를 참조하지 않으므로, 내장 Redis 를 먼저 띄운다.
+        localRedisConfig.ifAvailable(config -> log.debug("Embedded Redis is ready."));
+
         Config config = new Config();
         config.useSingleServer().setAddress("redis://" + redisHost + ":" + redisPort);
 
@@ -0,0 +1,39 @@
+package com.example.account.config;
+
+import com.example.account.limiter.AdaptiveConcurrencyLimiter;
+import com.example.account.rpc.TransactionRpcHandler;
+import com.example.account.rpc.TransactionRpcServer;
+import com.example.account.service.LockService;
+import com.example.account.service.RateLimitService;
+import com.example.account.service.TransactionService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.validation.Validator;
+
+@Configuration
+@ConditionalOnProperty(name = "account.rpc.enabled", havingValue = "true")
+public class RpcConfig {
+    @Value("${account.rpc.port:9090}")
+    private int port;
+
+    @Value("${account.rpc.max-connections:64}")
+    private int maxConnections;
+
+    @Bean
+    public TransactionRpcServer transactionRpcServer(
+            TransactionService transactionService,
+            LockService lockService,
+            RateLimitService rateLimitService,
+            @Qualifier("readConcurrencyLimiter") AdaptiveConcurrencyLimiter readConcurrencyLimiter,
+            @Qualifier("writeConcurrencyLimiter") AdaptiveConcurrencyLimiter writeConcurrencyLimiter,
+            Validator validator) {
+        return new TransactionRpcServer(
+                new TransactionRpcHandler(transactionService, lockService, rateLimitService,
+                        readConcurrencyLimiter, writeConcurrencyLimiter, validator),
+                port, maxConnections);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.account.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 예약 출금 poller 와 outbox relay 의 @Scheduled 실행.
+ * 예약 출금 실행 풀의 queue 는 한 batch 크기로 제한하고, poller 는 batch 단위로 실행이 끝나기를 기다린다.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    @Value("${account.scheduler.pool-size:8}")
+    private int poolSize;
+
+    @Value("${account.scheduler.batch-size:100}")
+    private int batchSize;
+
+    @Bean
+    @ConditionalOnProperty(name = "account.scheduler.enabled", havingValue = "true")
+    public ThreadPoolTaskExecutor scheduledTransactionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(batchSize);
+        executor.setThreadNamePrefix("scheduled-transaction-");
+        executor.initialize();
+
+        return executor;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.account.config;
+
+import com.example.account.shard.ShardRouter;
+import com.example.account.shard.ShardRoutingDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.*;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * shard 마다 DataSource 를 만들고, ShardContext 로 고르는 routing DataSource 를 기본 DataSource 로 사용한다.
+ * 스키마 생성과 data.sql 은 기본 shard(0)에서만 실행되므로, 시작이 끝나면 shard 0 의 스키마와 데이터(사용자)를
+ * 나머지 shard 에 복사한다. 사용자는 모든 shard 에 있고, 계좌/거래는 사용자의 shard 에만 있다.
+ * id 는 shard 마다 sequence 를 shard 수만큼 건너뛰며 발급해, 예약 거래 id 같은 값으로 모든 shard 를 조회해도 겹치지 않는다.
+ */
+@Slf4j
+@Configuration
+@Profile("sharding")
+public class ShardingConfig {
+
+    @Bean
+    @Primary
+    public ShardRoutingDataSource dataSource(DataSourceProperties properties, ShardRouter shardRouter,
+                                             @Value("${account.sharding.url-pattern}") String urlPattern) {
+        Map<Object, Object> shards = new HashMap<>();
+        for (int shard : shardRouter.shards()) {
+            shards.put(shard, properties.initializeDataSourceBuilder()
+                    .url(String.format(urlPattern, shard))
+                    .build());
+        }
+
+        ShardRoutingDataSource dataSource = new ShardRoutingDataSource();
+        dataSource.setTargetDataSources(shards);
+        dataSource.setDefaultTargetDataSource(shards.get(0));
+        return dataSource;
+    }
+
+    @Bean
+    @Lazy(false)
+    public SmartInitializingSingleton shardSchemaInitializer(ShardRoutingDataSource dataSource) {
+        return () -> {
+            Map<Object, DataSource> shards = dataSource.getResolvedDataSources();
+            try {
+                List<String> script = exportScript(shards.get(0));
+                Map<String, Long> sequences = nextSequenceValues(shards.get(0));
+                for (Map.Entry<Object, DataSource> shard : shards.entrySet()) {
+                    if (!Integer.valueOf(0).equals(shard.getKey())) {
+                        runScript(shard.getValue(), script);
+                    }
+                    interleaveSequences(shard.getValue(), sequences, (Integer) shard.getKey(), shards.size());
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException("Failed to initialize shards.", e);
+            }
+            log.info("Initialized {} shards.", shards.size());
+        };
+    }
+
+    private static List<String> exportScript(DataSource dataSource) throws SQLException {
+        List<String> script = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SCRIPT NOPASSWORDS NOSETTINGS")) {
+            while (resultSet.next()) {
+                String sql = resultSet.getString(1);
+                if (!sql.startsWith("--")) {
+                    script.add(sql);
+                }
+            }
+        }
+        return script;
+    }
+
+    private static Map<String, Long> nextSequenceValues(DataSource dataSource) throws SQLException {
+        Map<String, Long> sequences = new HashMap<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            try (ResultSet resultSet = statement.executeQuery("SELECT SEQUENCE_NAME FROM INFORMATION_SCHEMA.SEQUENCES "
+                    + "WHERE SEQUENCE_SCHEMA = 'PUBLIC'")) {
+                while (resultSet.next()) {
+                    sequences.put(resultSet.getString(1), null);
+                }
+            }
+            for (String sequence : sequences.keySet()) {
+                try (ResultSet resultSet = statement.executeQuery("SELECT NEXT VALUE FOR " + sequence)) {
+                    resultSet.next();
+                    sequences.put(sequence, resultSet.getLong(1));
+                }
+            }
+        }
+        return sequences;
+    }
+
+    private static void interleaveSequences(DataSource dataSource, Map<String, Long> sequences,
+                                            int shard, int shardCount) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (Map.Entry<String, Long> sequence : sequences.entrySet()) {
+                long base = (sequence.getValue() / shardCount + 1) * shardCount;
+                statement.execute("ALTER SEQUENCE " + sequence.getKey()
+                        + " RESTART WITH " + (base + shard) + " INCREMENT BY " + shardCount);
+            }
+        }
+    }
+
+    private static void runScript(DataSource dataSource, List<String> script) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String sql : script) {
+                statement.execute(sql);
+            }
+        }
+    }
+}
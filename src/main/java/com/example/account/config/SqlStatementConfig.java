@@ -0,0 +1,23 @@
+package com.example.account.config;
+
+import com.example.account.sql.StatementCountFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SqlStatementConfig {
+    @Value("${account.sql.request-budget:10}")
+    private long requestBudget;
+
+    @Bean
+    public FilterRegistrationBean<StatementCountFilter> statementCountFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<StatementCountFilter> registration =
+                new FilterRegistrationBean<>(new StatementCountFilter(meterRegistry, requestBudget));
+        registration.addUrlPatterns("/account", "/transaction/*");
+
+        return registration;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.account.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * AppCDS archive 생성용 training run. 기동이 끝나면 바로 종료해 JVM 이 로드한 클래스를 archive 로 남긴다.
+ * (./gradlew appCdsArchive)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "account.startup.training-run", havingValue = "true")
+public class StartupTrainingRunListener implements ApplicationListener<ApplicationReadyEvent> {
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        log.info("Training run finished. Exiting to dump the class archive.");
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
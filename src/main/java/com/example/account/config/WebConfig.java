@@ -0,0 +1,52 @@
+package com.example.account.config;
+
+import com.example.account.limiter.AdaptiveConcurrencyLimiter;
+import com.example.account.limiter.ConcurrencyLimitInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+    private static final double LIMITER_TOLERANCE = 2.0;
+    private static final double LIMITER_SMOOTHING = 0.2;
+
+    @Value("${account.limiter.read.initial-limit:200}")
+    private int readInitialLimit;
+
+    @Value("${account.limiter.read.min-limit:20}")
+    private int readMinLimit;
+
+    @Value("${account.limiter.read.max-limit:1000}")
+    private int readMaxLimit;
+
+    @Value("${account.limiter.write.initial-limit:50}")
+    private int writeInitialLimit;
+
+    @Value("${account.limiter.write.min-limit:5}")
+    private int writeMinLimit;
+
+    @Value("${account.limiter.write.max-limit:400}")
+    private int writeMaxLimit;
+
+    @Bean
+    public AdaptiveConcurrencyLimiter readConcurrencyLimiter() {
+        return new AdaptiveConcurrencyLimiter(readInitialLimit, readMinLimit, readMaxLimit,
+                LIMITER_TOLERANCE, LIMITER_SMOOTHING);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter writeConcurrencyLimiter() {
+        return new AdaptiveConcurrencyLimiter(writeInitialLimit, writeMinLimit, writeMaxLimit,
+                LIMITER_TOLERANCE, LIMITER_SMOOTHING);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConcurrencyLimitInterceptor(
+                        readConcurrencyLimiter(), writeConcurrencyLimiter()))
+                .addPathPatterns("/transaction/**", "/account");
+    }
+}
@@ -1,12 +1,16 @@
 package com.example.account.controller;
 
+import com.example.account.aop.AccountLock;
+import com.example.account.aop.RateLimited;
 import com.example.account.dto.AccountDto;
 import com.example.account.dto.AccountInfo;
 import com.example.account.dto.CreateAccount;
 import com.example.account.dto.DeleteAccount;
+import com.example.account.service.AccountReadModelService;
 import com.example.account.service.AccountService;
 import com.example.account.service.RedisTestService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
@@ -15,11 +19,14 @@ import java.util.stream.Collectors;
 
 @RestController
 @RequiredArgsConstructor
+@Profile("!async")
 public class AccountController {
     private final AccountService accountService;
     private final RedisTestService redisTestService;
+    private final AccountReadModelService accountReadModelService;
 
     @PostMapping("/account")
+    @RateLimited("account-create")
     public CreateAccount.Response createAccount(@RequestBody @Valid CreateAccount.Request request) {
         AccountDto accountDto =
                 accountService.createAccount(request.getUserId(),
@@ -29,22 +36,23 @@ public class AccountController {
     }
 
     @DeleteMapping("/account")
+    @AccountLock
     public DeleteAccount.Response deleteAccount(@RequestBody @Valid DeleteAccount.Request request) {
         AccountDto accountDto = accountService.deleteAccount(request.getUserId(),request.getAccountNumber());
 
         return DeleteAccount.Response.from(accountDto);
     }
 
+    // read model 에서 읽고, 답할 수 없으면 DB 에서 읽는다.
     @GetMapping("/account")
-    public List<AccountInfo> getAccountByUserId(@RequestParam("user_id") Long userId) {
-
-        List<AccountDto> accountDtos = accountService.getAccountsByUserId(userId);
-
-        return accountDtos.stream().map(accountDto ->
-                AccountInfo.builder()
-                        .accountNumber(accountDto.getAccountNumber())
-                        .balance(accountDto.getBalance())
-                        .build())
-                .collect(Collectors.toList());
+    public List<AccountInfo> getAccountByUserId(
+            @RequestParam("user_id") Long userId,
+            @RequestParam(value = "consistency_token", required = false) String consistencyToken) {
+
+        return accountReadModelService.getAccountsByUserId(userId, consistencyToken)
+                .map(accounts -> accounts.stream().map(AccountInfo::from).collect(Collectors.toList()))
+                .orElseGet(() -> accountService.getAccountsByUserId(userId).stream()
+                        .map(AccountInfo::from)
+                        .collect(Collectors.toList()));
     }
 }
@@ -0,0 +1,65 @@
+package com.example.account.controller;
+
+import com.example.account.aop.RateLimited;
+import com.example.account.dto.AccountInfo;
+import com.example.account.dto.CreateAccount;
+import com.example.account.dto.DeleteAccount;
+import com.example.account.service.AccountReadModelService;
+import com.example.account.service.AccountService;
+import com.example.account.service.LockService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+@RestController
+@RequiredArgsConstructor
+@Profile("async")
+public class AsyncAccountController {
+    private final AccountService accountService;
+    private final AccountReadModelService accountReadModelService;
+    private final LockService lockService;
+    private final ThreadPoolTaskExecutor transactionExecutor;
+
+    @PostMapping("/account")
+    @RateLimited("account-create")
+    public CompletableFuture<CreateAccount.Response> createAccount(@RequestBody @Valid CreateAccount.Request request) {
+        return CompletableFuture.supplyAsync(() -> CreateAccount.Response.from(
+                accountService.createAccount(request.getUserId(),
+                        request.getInitBalance())
+        ), transactionExecutor);
+    }
+
+    /**
+     * 해지는 자주 일어나지 않으므로 작업 스레드에서 계좌 lock을 잡는다. lock이 fencing token을 이 스레드에 보관한다.
+     */
+    @DeleteMapping("/account")
+    public CompletableFuture<DeleteAccount.Response> deleteAccount(@RequestBody @Valid DeleteAccount.Request request) {
+        return CompletableFuture.supplyAsync(() -> {
+            lockService.lock(request.getAccountNumber());
+            try {
+                return DeleteAccount.Response.from(
+                        accountService.deleteAccount(request.getUserId(), request.getAccountNumber()));
+            } finally {
+                lockService.unlock(request.getAccountNumber());
+            }
+        }, transactionExecutor);
+    }
+
+    @GetMapping("/account")
+    public CompletableFuture<List<AccountInfo>> getAccountByUserId(
+            @RequestParam("user_id") Long userId,
+            @RequestParam(value = "consistency_token", required = false) String consistencyToken) {
+        return CompletableFuture.supplyAsync(() -> accountReadModelService
+                .getAccountsByUserId(userId, consistencyToken)
+                .map(accounts -> accounts.stream().map(AccountInfo::from).collect(Collectors.toList()))
+                .orElseGet(() -> accountService.getAccountsByUserId(userId).stream()
+                        .map(AccountInfo::from)
+                        .collect(Collectors.toList())), transactionExecutor);
+    }
+}
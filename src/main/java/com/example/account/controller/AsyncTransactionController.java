@@ -0,0 +1,146 @@
+package com.example.account.controller;
+
+import com.example.account.aop.RateLimited;
+import com.example.account.dto.CancelBalance;
+import com.example.account.dto.QueryTransactionResponse;
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.Transfer;
+import com.example.account.dto.UseBalance;
+import com.example.account.exception.AccountException;
+import com.example.account.exception.ErrorLogSampler;
+import com.example.account.lock.FencingTokenHolder;
+import com.example.account.service.LockService;
+import com.example.account.service.TransactionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * TransactionController와 같은 API를 servlet async로 제공한다.
+ * lock은 LockProvider 비동기 API로 기다리므로 대기 중인 요청이 스레드를 점유하지 않는다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+@Profile("async")
+public class AsyncTransactionController {
+    private static final ErrorLogSampler FAILURE_LOG_SAMPLER = new ErrorLogSampler(Duration.ofSeconds(1));
+    // lock은 스레드 id로 소유자를 구분한다. 실제 스레드 id(양수)와 겹치지 않도록 음수를 사용한다.
+    private static final AtomicLong LOCK_OWNER_SEQUENCE = new AtomicLong();
+
+    private final TransactionService transactionService;
+    private final LockService lockService;
+    private final ThreadPoolTaskExecutor transactionExecutor;
+
+    @PostMapping("/transaction/use")
+    @RateLimited("transaction-use")
+    public CompletableFuture<UseBalance.Response> useBalance(@RequestBody @Valid UseBalance.Request request) {
+        return withAccountLock(request.getAccountNumber(), () -> {
+            try {
+                return UseBalance.Response.from(
+                        transactionService.useBalance(request.getUserId(),
+                                request.getAccountNumber(), request.getAmount())
+                );
+            } catch (AccountException e) {
+                FAILURE_LOG_SAMPLER.warn(log, "Failed to use balance.", e.getErrorCode());
+
+                transactionService.saveFailedUseTransaction(
+                        request.getAccountNumber(),
+                        request.getAmount()
+                );
+
+                throw e;
+            }
+        });
+    }
+
+    @PostMapping("/transaction/cancel")
+    public CompletableFuture<CancelBalance.Response> cancelBalance(@RequestBody @Valid CancelBalance.Request request) {
+        return withAccountLock(request.getAccountNumber(), () -> {
+            try {
+                return CancelBalance.Response.from(
+                        transactionService.cancelBalance(request.getTransactionId(),
+                                request.getAccountNumber(), request.getAmount())
+                );
+            } catch (AccountException e) {
+                FAILURE_LOG_SAMPLER.warn(log, "Failed to cancel balance.", e.getErrorCode());
+
+                transactionService.saveFailedCancelTransaction(
+                        request.getAccountNumber(),
+                        request.getAmount()
+                );
+
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * 여러 계좌 lock은 비동기 API가 없으므로 작업 스레드에서 잡는다.
+     * 실패 거래도 동기 컨트롤러와 같이 lock(fencing token)을 쥔 채로 저장한다.
+     */
+    @PostMapping("/transaction/transfer")
+    @RateLimited("transaction-transfer")
+    public CompletableFuture<Transfer.Response> transfer(@RequestBody @Valid Transfer.Request request) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (LockService.AccountLocks ignored = lockService.lockAll(request.getAccountNumbers())) {
+                try {
+                    List<TransactionDto> transactions = transactionService.transfer(request.getUserId(),
+                            request.getFromAccountNumber(), request.getToAccountNumber(), request.getAmount());
+
+                    return Transfer.Response.from(transactions.get(0), transactions.get(1));
+                } catch (AccountException e) {
+                    FAILURE_LOG_SAMPLER.warn(log, "Failed to transfer.", e.getErrorCode());
+
+                    transactionService.saveFailedTransferTransaction(
+                            request.getFromAccountNumber(),
+                            request.getAmount()
+                    );
+
+                    throw e;
+                }
+            }
+        }, transactionExecutor);
+    }
+
+    @GetMapping("/transaction/{transactionId}")
+    public CompletableFuture<QueryTransactionResponse> queryTransaction(@PathVariable String transactionId) {
+        return CompletableFuture.supplyAsync(() -> QueryTransactionResponse.from(
+                transactionService.queryTransaction(transactionId)
+        ), transactionExecutor);
+    }
+
+    private <T> CompletableFuture<T> withAccountLock(String accountNumber, Supplier<T> action) {
+        long ownerId = -LOCK_OWNER_SEQUENCE.incrementAndGet();
+
+        return lockService.lockAsync(accountNumber, ownerId)
+                .thenCompose(fencingToken -> {
+                    CompletableFuture<T> future;
+                    try {
+                        future = CompletableFuture.supplyAsync(() -> {
+                            FencingTokenHolder.push(accountNumber, fencingToken);
+                            try {
+                                return action.get();
+                            } finally {
+                                FencingTokenHolder.pop(accountNumber);
+                            }
+                        }, transactionExecutor);
+                    } catch (RuntimeException e) {
+                        // 풀이 가득 차서 거절된 경우에도 lock은 바로 해제한다.
+                        lockService.unlockAsync(accountNumber, ownerId);
+                        throw e;
+                    }
+
+                    return future.whenComplete((result, e) -> lockService.unlockAsync(accountNumber, ownerId));
+                });
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.account.controller;
+
+import com.example.account.dto.ScheduleTransaction;
+import com.example.account.service.ScheduledTransactionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+
+@RestController
+@RequiredArgsConstructor
+public class ScheduledTransactionController {
+    private final ScheduledTransactionService scheduledTransactionService;
+
+    @PostMapping("/transaction/scheduled")
+    public ScheduleTransaction.Response scheduleTransaction(@RequestBody @Valid ScheduleTransaction.Request request) {
+        return ScheduleTransaction.Response.from(
+                scheduledTransactionService.scheduleTransaction(request.getUserId(),
+                        request.getAccountNumber(), request.getAmount(),
+                        request.getExecuteAt(), request.getRecurrenceType())
+        );
+    }
+
+    @DeleteMapping("/transaction/scheduled/{scheduledTransactionId}")
+    public ScheduleTransaction.Response cancelScheduledTransaction(@PathVariable Long scheduledTransactionId,
+                                                                   @RequestParam("user_id") Long userId) {
+        return ScheduleTransaction.Response.from(
+                scheduledTransactionService.cancelScheduledTransaction(userId, scheduledTransactionId)
+        );
+    }
+
+    @GetMapping("/transaction/scheduled/{scheduledTransactionId}")
+    public ScheduleTransaction.Response getScheduledTransaction(@PathVariable Long scheduledTransactionId) {
+        return ScheduleTransaction.Response.from(
+                scheduledTransactionService.getScheduledTransaction(scheduledTransactionId)
+        );
+    }
+}
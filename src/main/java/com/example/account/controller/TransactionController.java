@@ -1,23 +1,36 @@
 package com.example.account.controller;
 
+import com.example.account.aop.AccountLock;
+import com.example.account.aop.RateLimited;
 import com.example.account.dto.CancelBalance;
 import com.example.account.dto.QueryTransactionResponse;
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.Transfer;
 import com.example.account.dto.UseBalance;
 import com.example.account.exception.AccountException;
+import com.example.account.exception.ErrorLogSampler;
 import com.example.account.service.TransactionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.time.Duration;
+import java.util.List;
 
 @Slf4j
 @RequiredArgsConstructor
 @RestController
+@Profile("!async")
 public class TransactionController {
+    private static final ErrorLogSampler FAILURE_LOG_SAMPLER = new ErrorLogSampler(Duration.ofSeconds(1));
+
     private final TransactionService transactionService;
 
     @PostMapping("/transaction/use")
+    @RateLimited("transaction-use")
+    @AccountLock
     public UseBalance.Response useBalance(@RequestBody @Valid UseBalance.Request request) {
         try {
             return UseBalance.Response.from(
@@ -25,7 +38,7 @@ public class TransactionController {
                             request.getAccountNumber(), request.getAmount())
             );
         } catch (AccountException e) {
-            log.error("Failed to use balance. ");
+            FAILURE_LOG_SAMPLER.warn(log, "Failed to use balance.", e.getErrorCode());
 
             transactionService.saveFailedUseTransaction(
                     request.getAccountNumber(),
@@ -37,6 +50,7 @@ public class TransactionController {
     }
 
     @PostMapping("/transaction/cancel")
+    @AccountLock
     public CancelBalance.Response cancelBalance(@RequestBody @Valid CancelBalance.Request request) {
         try {
             return CancelBalance.Response.from(
@@ -44,7 +58,7 @@ public class TransactionController {
                             request.getAccountNumber(), request.getAmount())
             );
         } catch (AccountException e) {
-            log.error("Failed to cancel balance. ");
+            FAILURE_LOG_SAMPLER.warn(log, "Failed to cancel balance.", e.getErrorCode());
 
             transactionService.saveFailedCancelTransaction(
                     request.getAccountNumber(),
@@ -55,6 +69,27 @@ public class TransactionController {
         }
     }
 
+    @PostMapping("/transaction/transfer")
+    @RateLimited("transaction-transfer")
+    @AccountLock
+    public Transfer.Response transfer(@RequestBody @Valid Transfer.Request request) {
+        try {
+            List<TransactionDto> transactions = transactionService.transfer(request.getUserId(),
+                    request.getFromAccountNumber(), request.getToAccountNumber(), request.getAmount());
+
+            return Transfer.Response.from(transactions.get(0), transactions.get(1));
+        } catch (AccountException e) {
+            FAILURE_LOG_SAMPLER.warn(log, "Failed to transfer.", e.getErrorCode());
+
+            transactionService.saveFailedTransferTransaction(
+                    request.getFromAccountNumber(),
+                    request.getAmount()
+            );
+
+            throw e;
+        }
+    }
+
     @GetMapping("/transaction/{transactionId}")
     public QueryTransactionResponse queryTransaction(@PathVariable String transactionId) {
         return QueryTransactionResponse.from(
@@ -1,6 +1,8 @@
 package com.example.account.domain;
 
+import com.example.account.bloom.IdentifierBloomFilterListener;
 import com.example.account.exception.AccountException;
+import com.example.account.readmodel.AccountProjectionListener;
 import com.example.account.type.AccountStatus;
 import com.example.account.type.ErrorCode;
 import lombok.*;
@@ -17,13 +19,14 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Entity
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, AccountProjectionListener.class, IdentifierBloomFilterListener.class})
 public class Account {
     @Id
     @GeneratedValue
     private Long id;
 
-    @ManyToOne
+    // 소유자 확인은 id 만 비교하고 사용자는 near cache 에서 읽으므로, 계좌를 읽을 때 함께 조회하지 않는다.
+    @ManyToOne(fetch = FetchType.LAZY)
     private AccountUser accountUser;
     private String accountNumber;
 
@@ -31,6 +34,12 @@ public class Account {
     private AccountStatus accountStatus;
     private Long balance;
 
+    // 마지막으로 이 계좌를 변경한 lock 소유자의 fencing token
+    private Long fencingToken;
+
+    // 잔액/상태가 바뀔 때마다 1씩 증가. read model 갱신 순서와 consistency token 에 사용한다.
+    private long revision;
+
     private LocalDateTime registeredAt;
     private LocalDateTime unRegisteredAt;
 
@@ -40,10 +49,14 @@ public class Account {
     private LocalDateTime updatedAt;
 
     public void useBalance(Long amount) {
+        if (amount <= 0) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
         if (amount > balance) {
             throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
         }
         balance -= amount;
+        revision++;
     }
 
     public void cancelBalance(Long amount) {
@@ -51,5 +64,20 @@ public class Account {
             throw new AccountException(ErrorCode.INVALID_REQUEST);
         }
         balance += amount;
+        revision++;
+    }
+
+    public void depositBalance(Long amount) {
+        if (amount < 0) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+        balance += amount;
+        revision++;
+    }
+
+    public void unregister() {
+        accountStatus = AccountStatus.UNREGISTERED;
+        unRegisteredAt = LocalDateTime.now();
+        revision++;
     }
 }
@@ -0,0 +1,71 @@
+package com.example.account.domain;
+
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 거래와 같은 DB 트랜잭션에서 저장하는 발행 대기 이벤트. OutboxRelay 가 id 순서로 발행하고 publishedAt 을 채운다.
+ * id 는 거래의 id 를 그대로 사용하므로 같은 계좌의 이벤트는 거래 순서대로 정렬되고, 저장할 때 id 발급 쿼리가 없다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+@Table(indexes = @Index(name = "idx_outbox_event_unpublished", columnList = "publishedAt, id"))
+public class OutboxEvent implements Persistable<Long> {
+    @Id
+    private Long id;
+
+    private String accountNumber;
+    private String transactionId;
+    @Enumerated(EnumType.STRING)
+    private TransactionType transactionType;
+    @Enumerated(EnumType.STRING)
+    private TransactionResultType transactionResultType;
+    private Long amount;
+    private Long balanceSnapshot;
+    private LocalDateTime transactedAt;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+    private LocalDateTime publishedAt;
+
+    // id 를 직접 정하므로, save 가 merge(select) 대신 persist 를 하도록 새 entity 임을 표시한다.
+    @Transient
+    @Builder.Default
+    private boolean newEvent = true;
+
+    public static OutboxEvent from(Transaction transaction) {
+        return OutboxEvent.builder()
+                .id(transaction.getId())
+                .accountNumber(transaction.getAccount().getAccountNumber())
+                .transactionId(transaction.getTransactionId())
+                .transactionType(transaction.getTransactionType())
+                .transactionResultType(transaction.getTransactionResultType())
+                .amount(transaction.getAmount())
+                .balanceSnapshot(transaction.getBalanceSnapshot())
+                .transactedAt(transaction.getTransactedAt())
+                .build();
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEvent;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markNotNew() {
+        newEvent = false;
+    }
+}
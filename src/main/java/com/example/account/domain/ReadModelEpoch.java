@@ -0,0 +1,23 @@
+package com.example.account.domain;
+
+import lombok.*;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+/**
+ * DB 가 새로 만들어질 때마다 바뀌는 값. Redis read model 은 이 값이 같은 projection 끼리만 revision 을 비교한다.
+ * 한 행(id = 1)만 있다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class ReadModelEpoch {
+    public static final long ID = 1L;
+
+    @Id
+    private Long id;
+
+    private String epoch;
+}
@@ -0,0 +1,93 @@
+package com.example.account.domain;
+
+import com.example.account.type.RecurrenceType;
+import com.example.account.type.ScheduledTransactionStatus;
+import com.example.account.type.TransactionResultType;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * 예약/정기 출금. nextExecuteAt 이 지나면 ScheduledTransactionPoller 가 가져가서(claim) 실행한다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+@Table(indexes = @Index(name = "idx_scheduled_transaction_due", columnList = "status, nextExecuteAt"))
+public class ScheduledTransaction {
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    @ManyToOne
+    private AccountUser accountUser;
+    @ManyToOne
+    private Account account;
+    private Long amount;
+
+    @Enumerated(EnumType.STRING)
+    private RecurrenceType recurrenceType;
+    @Enumerated(EnumType.STRING)
+    private ScheduledTransactionStatus status;
+
+    private LocalDateTime firstExecuteAt;
+    private LocalDateTime nextExecuteAt;
+    private Integer executionCount;
+
+    // 실행 중인 인스턴스와 그 기한. 기한이 지나면 다른 인스턴스가 다시 가져갈 수 있다.
+    private String claimedBy;
+    private LocalDateTime claimedUntil;
+
+    @Enumerated(EnumType.STRING)
+    private TransactionResultType lastResultType;
+    private String lastTransactionId;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+
+    public void claim(String owner, LocalDateTime until) {
+        claimedBy = owner;
+        claimedUntil = until;
+    }
+
+    public boolean isClaimedBy(String owner) {
+        return status == ScheduledTransactionStatus.ACTIVE && Objects.equals(claimedBy, owner);
+    }
+
+    /**
+     * 이번 회차 실행 결과를 기록하고 다음 회차로 넘긴다.
+     * 정기 출금은 실패해도 다음 회차는 그대로 실행하고, 1회 출금은 실패하면 FAILED 로 끝난다.
+     */
+    public void complete(TransactionResultType resultType, String transactionId) {
+        executionCount++;
+        lastResultType = resultType;
+        lastTransactionId = transactionId;
+        claimedBy = null;
+        claimedUntil = null;
+
+        if (recurrenceType == RecurrenceType.ONCE) {
+            status = resultType == TransactionResultType.S
+                    ? ScheduledTransactionStatus.COMPLETED
+                    : ScheduledTransactionStatus.FAILED;
+            return;
+        }
+        nextExecuteAt = recurrenceType.nth(firstExecuteAt, executionCount);
+    }
+
+    public void cancel() {
+        status = ScheduledTransactionStatus.CANCELLED;
+        claimedBy = null;
+        claimedUntil = null;
+    }
+}
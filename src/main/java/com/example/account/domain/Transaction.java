@@ -1,5 +1,7 @@
 package com.example.account.domain;
 
+import com.example.account.bloom.IdentifierBloomFilterListener;
+import com.example.account.readmodel.AccountProjectionListener;
 import com.example.account.type.AccountStatus;
 import com.example.account.type.TransactionResultType;
 import com.example.account.type.TransactionType;
@@ -17,7 +19,12 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Builder
 @Entity
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, AccountProjectionListener.class, IdentifierBloomFilterListener.class})
+@Table(
+        indexes = @Index(name = "idx_transaction_transaction_id", columnList = "transactionId"),
+        // 한 거래에는 취소 거래가 하나만 연결된다.
+        uniqueConstraints = @UniqueConstraint(name = "uk_transaction_original_transaction",
+                columnNames = "original_transaction_id"))
 public class Transaction {
     @Id
     @GeneratedValue
@@ -36,8 +43,24 @@ public class Transaction {
     private String transactionId;
     private LocalDateTime transactedAt;
 
+    // 취소 거래가 취소한 원거래
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "original_transaction_id")
+    private Transaction originalTransaction;
+    // 원거래가 취소된 시각. null 이면 아직 취소되지 않았다.
+    private LocalDateTime cancelledAt;
+
     @CreatedDate
     private LocalDateTime createdAt;
     @LastModifiedDate
     private LocalDateTime updatedAt;
+
+    public boolean isCancelled() {
+        return cancelledAt != null;
+    }
+
+    public void cancel(Transaction cancelTransaction) {
+        cancelTransaction.originalTransaction = this;
+        cancelledAt = cancelTransaction.getTransactedAt();
+    }
 }
@@ -1,6 +1,7 @@
 package com.example.account.dto;
 
 import com.example.account.domain.Account;
+import com.example.account.readmodel.ConsistencyToken;
 import lombok.*;
 
 import java.time.LocalDateTime;
@@ -18,6 +19,7 @@ public class AccountDto {
 
     private LocalDateTime registeredAt;
     private LocalDateTime unRegisteredAt;
+    private String consistencyToken;
 
     public static AccountDto fromEntity(Account account) {
         return AccountDto.builder()
@@ -26,6 +28,7 @@ public class AccountDto {
                 .balance(account.getBalance())
                 .registeredAt(account.getRegisteredAt())
                 .unRegisteredAt(account.getUnRegisteredAt())
+                .consistencyToken(ConsistencyToken.of(account))
                 .build();
     }
 }
@@ -1,5 +1,6 @@
 package com.example.account.dto;
 
+import com.example.account.readmodel.AccountProjection;
 import lombok.*;
 
 @Getter
@@ -10,5 +11,19 @@ import lombok.*;
 public class AccountInfo {
     private String accountNumber;
     private Long balance;
+
+    public static AccountInfo from(AccountDto accountDto) {
+        return AccountInfo.builder()
+                .accountNumber(accountDto.getAccountNumber())
+                .balance(accountDto.getBalance())
+                .build();
+    }
+
+    public static AccountInfo from(AccountProjection accountProjection) {
+        return AccountInfo.builder()
+                .accountNumber(accountProjection.getAccountNumber())
+                .balance(accountProjection.getBalance())
+                .build();
+    }
 }
 
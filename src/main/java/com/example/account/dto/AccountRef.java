@@ -0,0 +1,28 @@
+package com.example.account.dto;
+
+import com.example.account.domain.Account;
+import com.example.account.type.AccountStatus;
+import lombok.*;
+
+/**
+ * 계좌번호로 찾은 계좌의 id, 소유자, 상태. 소유자 확인을 위해 near cache 에 둔다.
+ */
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AccountRef {
+    private Long accountId;
+    private Long ownerId;
+    private AccountStatus accountStatus;
+
+    public static AccountRef from(Account account) {
+        return AccountRef.builder()
+                .accountId(account.getId())
+                .ownerId(account.getAccountUser().getId())
+                .accountStatus(account.getAccountStatus())
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.account.dto;
 
+import com.example.account.aop.AccountLockIdInterface;
 import com.example.account.type.TransactionResultType;
 import lombok.*;
 
@@ -12,7 +13,7 @@ public class CancelBalance {
     @Setter
     @AllArgsConstructor
     @Builder
-    public static class Request {
+    public static class Request implements AccountLockIdInterface {
         @NotBlank
         private String transactionId;
 
@@ -37,6 +38,7 @@ public class CancelBalance {
         private String transactionId;
         private Long amount;
         private LocalDateTime transactedAt;
+        private String consistencyToken;
 
         public static Response from(TransactionDto transactionDto) {
             return Response.builder()
@@ -45,6 +47,7 @@ public class CancelBalance {
                     .transactionId(transactionDto.getTransactionId())
                     .amount(transactionDto.getAmount())
                     .transactedAt(transactionDto.getTransactedAt())
+                    .consistencyToken(transactionDto.getConsistencyToken())
                     .build();
         }
     }
@@ -1,5 +1,6 @@
 package com.example.account.dto;
 
+import com.example.account.aop.RateLimitKeyInterface;
 import lombok.*;
 
 import javax.validation.constraints.Min;
@@ -13,7 +14,7 @@ public class CreateAccount {
     @NoArgsConstructor
     @AllArgsConstructor
     @Builder
-    public static class Request {
+    public static class Request implements RateLimitKeyInterface {
         @NotNull
         @Min(1)
         private Long userId;
@@ -32,12 +33,14 @@ public class CreateAccount {
         private Long userId;
         private String accountNumber;
         private LocalDateTime registeredAt;
+        private String consistencyToken;
 
         public static Response from(AccountDto accountDto) {
             return Response.builder()
                     .userId(accountDto.getUserId())
                     .accountNumber(accountDto.getAccountNumber())
                     .registeredAt(accountDto.getRegisteredAt())
+                    .consistencyToken(accountDto.getConsistencyToken())
                     .build();
         }
     }
@@ -1,5 +1,6 @@
 package com.example.account.dto;
 
+import com.example.account.aop.AccountLockIdInterface;
 import lombok.*;
 
 import javax.validation.constraints.*;
@@ -12,7 +13,7 @@ public class DeleteAccount {
     @NoArgsConstructor
     @AllArgsConstructor
     @Builder
-    public static class Request {
+    public static class Request implements AccountLockIdInterface {
         @NotNull
         @Min(1)
         private Long userId;
@@ -32,12 +33,14 @@ public class DeleteAccount {
         private Long userId;
         private String accountNumber;
         private LocalDateTime unregisteredAt;
+        private String consistencyToken;
 
         public static Response from(AccountDto accountDto) {
             return Response.builder()
                     .userId(accountDto.getUserId())
                     .accountNumber(accountDto.getAccountNumber())
                     .unregisteredAt(accountDto.getUnRegisteredAt())
+                    .consistencyToken(accountDto.getConsistencyToken())
                     .build();
         }
     }
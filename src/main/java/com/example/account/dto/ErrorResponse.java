@@ -0,0 +1,15 @@
+package com.example.account.dto;
+
+import com.example.account.type.ErrorCode;
+import lombok.*;
+
+/**
+ * GlobalExceptionHandler 가 ErrorCode 별로 캐시해 여러 요청에서 공유하므로 값을 바꿀 수 없다.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class ErrorResponse {
+    private final ErrorCode errorCode;
+    private final String errorMessage;
+}
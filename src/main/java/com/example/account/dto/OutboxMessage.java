@@ -0,0 +1,41 @@
+package com.example.account.dto;
+
+import com.example.account.domain.OutboxEvent;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 외부로 발행하는 거래 이벤트. 최소 한 번 전달되므로, 받는 쪽은 eventId 로 중복을 거른다.
+ */
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OutboxMessage {
+    private Long eventId;
+    private String accountNumber;
+    private String transactionId;
+    private TransactionType transactionType;
+    private TransactionResultType transactionResultType;
+    private Long amount;
+    private Long balanceSnapshot;
+    private LocalDateTime transactedAt;
+
+    public static OutboxMessage fromEntity(OutboxEvent outboxEvent) {
+        return OutboxMessage.builder()
+                .eventId(outboxEvent.getId())
+                .accountNumber(outboxEvent.getAccountNumber())
+                .transactionId(outboxEvent.getTransactionId())
+                .transactionType(outboxEvent.getTransactionType())
+                .transactionResultType(outboxEvent.getTransactionResultType())
+                .amount(outboxEvent.getAmount())
+                .balanceSnapshot(outboxEvent.getBalanceSnapshot())
+                .transactedAt(outboxEvent.getTransactedAt())
+                .build();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.account.dto;
+
+import com.example.account.type.RecurrenceType;
+import com.example.account.type.ScheduledTransactionStatus;
+import com.example.account.type.TransactionResultType;
+import lombok.*;
+
+import javax.validation.constraints.*;
+import java.time.LocalDateTime;
+
+public class ScheduleTransaction {
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Request {
+        @NotNull
+        @Min(1)
+        private Long userId;
+
+        @NotBlank
+        @Size(min = 10, max = 10)
+        private String accountNumber;
+
+        @NotNull
+        @Min(10)
+        @Max(1000_000_000)
+        private Long amount;
+
+        @NotNull
+        private LocalDateTime executeAt;
+
+        @NotNull
+        private RecurrenceType recurrenceType;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+        private Long scheduledTransactionId;
+        private String accountNumber;
+        private Long amount;
+        private RecurrenceType recurrenceType;
+        private ScheduledTransactionStatus status;
+        private LocalDateTime nextExecuteAt;
+        private Integer executionCount;
+        private TransactionResultType lastResult;
+        private String lastTransactionId;
+
+        public static Response from(ScheduledTransactionDto scheduledTransactionDto) {
+            return Response.builder()
+                    .scheduledTransactionId(scheduledTransactionDto.getId())
+                    .accountNumber(scheduledTransactionDto.getAccountNumber())
+                    .amount(scheduledTransactionDto.getAmount())
+                    .recurrenceType(scheduledTransactionDto.getRecurrenceType())
+                    .status(scheduledTransactionDto.getStatus())
+                    .nextExecuteAt(scheduledTransactionDto.getNextExecuteAt())
+                    .executionCount(scheduledTransactionDto.getExecutionCount())
+                    .lastResult(scheduledTransactionDto.getLastResultType())
+                    .lastTransactionId(scheduledTransactionDto.getLastTransactionId())
+                    .build();
+        }
+    }
+}
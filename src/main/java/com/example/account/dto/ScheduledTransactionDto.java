@@ -0,0 +1,42 @@
+package com.example.account.dto;
+
+import com.example.account.domain.ScheduledTransaction;
+import com.example.account.type.RecurrenceType;
+import com.example.account.type.ScheduledTransactionStatus;
+import com.example.account.type.TransactionResultType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ScheduledTransactionDto {
+    private Long id;
+    private Long userId;
+    private String accountNumber;
+    private Long amount;
+    private RecurrenceType recurrenceType;
+    private ScheduledTransactionStatus status;
+    private LocalDateTime nextExecuteAt;
+    private Integer executionCount;
+    private TransactionResultType lastResultType;
+    private String lastTransactionId;
+
+    public static ScheduledTransactionDto fromEntity(ScheduledTransaction scheduledTransaction) {
+        return ScheduledTransactionDto.builder()
+                .id(scheduledTransaction.getId())
+                .userId(scheduledTransaction.getAccountUser().getId())
+                .accountNumber(scheduledTransaction.getAccount().getAccountNumber())
+                .amount(scheduledTransaction.getAmount())
+                .recurrenceType(scheduledTransaction.getRecurrenceType())
+                .status(scheduledTransaction.getStatus())
+                .nextExecuteAt(scheduledTransaction.getNextExecuteAt())
+                .executionCount(scheduledTransaction.getExecutionCount())
+                .lastResultType(scheduledTransaction.getLastResultType())
+                .lastTransactionId(scheduledTransaction.getLastTransactionId())
+                .build();
+    }
+}
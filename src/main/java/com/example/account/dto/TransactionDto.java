@@ -1,6 +1,7 @@
 package com.example.account.dto;
 
 import com.example.account.domain.Transaction;
+import com.example.account.readmodel.ConsistencyToken;
 import com.example.account.type.TransactionResultType;
 import com.example.account.type.TransactionType;
 import lombok.*;
@@ -20,6 +21,7 @@ public class TransactionDto {
     private Long balanceSnapshot;
     private String transactionId;
     private LocalDateTime transactedAt;
+    private String consistencyToken;
 
     public static TransactionDto fromEntity(Transaction transaction) {
         return TransactionDto.builder()
@@ -30,6 +32,7 @@ public class TransactionDto {
                 .balanceSnapshot(transaction.getBalanceSnapshot())
                 .transactionId(transaction.getTransactionId())
                 .transactedAt(transaction.getTransactedAt())
+                .consistencyToken(ConsistencyToken.of(transaction.getAccount()))
                 .build();
     }
 }
@@ -0,0 +1,82 @@
+package com.example.account.dto;
+
+import com.example.account.aop.AccountLocksIdInterface;
+import com.example.account.aop.RateLimitKeyInterface;
+import com.example.account.type.TransactionResultType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+import javax.validation.constraints.*;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+public class Transfer {
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Request implements AccountLocksIdInterface, RateLimitKeyInterface {
+        @NotNull
+        @Min(1)
+        private Long userId;
+
+        @NotBlank
+        @Size(min = 10, max = 10)
+        private String fromAccountNumber;
+
+        @NotBlank
+        @Size(min = 10, max = 10)
+        private String toAccountNumber;
+
+        @NotNull
+        @Min(10)
+        @Max(1000_000_000)
+        private Long amount;
+
+        @JsonIgnore
+        @Override
+        public List<String> getAccountNumbers() {
+            return Arrays.asList(fromAccountNumber, toAccountNumber);
+        }
+
+        // 출금 계좌 기준으로 한도 적용
+        @JsonIgnore
+        @Override
+        public String getAccountNumber() {
+            return fromAccountNumber;
+        }
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+        private String fromAccountNumber;
+        private String toAccountNumber;
+        private TransactionResultType transactionResult;
+        private String withdrawTransactionId;
+        private String depositTransactionId;
+        private Long amount;
+        private LocalDateTime transactedAt;
+        // 출금 계좌 기준
+        private String consistencyToken;
+
+        public static Response from(TransactionDto withdraw, TransactionDto deposit) {
+            return Response.builder()
+                    .fromAccountNumber(withdraw.getAccountNumber())
+                    .toAccountNumber(deposit.getAccountNumber())
+                    .transactionResult(withdraw.getTransactionResultType())
+                    .withdrawTransactionId(withdraw.getTransactionId())
+                    .depositTransactionId(deposit.getTransactionId())
+                    .amount(withdraw.getAmount())
+                    .transactedAt(withdraw.getTransactedAt())
+                    .consistencyToken(withdraw.getConsistencyToken())
+                    .build();
+        }
+    }
+}
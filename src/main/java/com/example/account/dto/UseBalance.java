@@ -1,5 +1,7 @@
 package com.example.account.dto;
 
+import com.example.account.aop.AccountLockIdInterface;
+import com.example.account.aop.RateLimitKeyInterface;
 import com.example.account.type.TransactionResultType;
 import lombok.*;
 
@@ -13,7 +15,7 @@ public class UseBalance {
     @NoArgsConstructor
     @AllArgsConstructor
     @Builder
-    public static class Request {
+    public static class Request implements AccountLockIdInterface, RateLimitKeyInterface {
         @NotNull
         @Min(1)
         private Long userId;
@@ -39,6 +41,7 @@ public class UseBalance {
         private String transactionId;
         private Long amount;
         private LocalDateTime transactedAt;
+        private String consistencyToken;
 
         public static Response from(TransactionDto transactionDto) {
             return Response.builder()
@@ -47,6 +50,7 @@ public class UseBalance {
                     .transactionId(transactionDto.getTransactionId())
                     .amount(transactionDto.getAmount())
                     .transactedAt(transactionDto.getTransactedAt())
+                    .consistencyToken(transactionDto.getConsistencyToken())
                     .build();
         }
     }
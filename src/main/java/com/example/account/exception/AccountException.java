@@ -3,6 +3,9 @@ package com.example.account.exception;
 import com.example.account.type.ErrorCode;
 import lombok.*;
 
+/**
+ * 잔액 부족 등 ErrorCode 로 구분되는 업무상 실패. 정상적인 응답의 일부이므로 stack trace 를 만들지 않는다.
+ */
 @Getter
 @Setter
 @AllArgsConstructor
@@ -17,4 +20,9 @@ public class AccountException extends RuntimeException {
         this.errorCode = errorCode;
         this.errorMessage = errorCode.getDescription();
     }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
 }
\ No newline at end of file
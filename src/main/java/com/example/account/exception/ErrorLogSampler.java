@@ -0,0 +1,57 @@
+package com.example.account.exception;
+
+import com.example.account.type.ErrorCode;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ErrorCode 별로 interval 동안 한 번만 로그를 남기도록 거른다.
+ * 거절된 거래처럼 자주 발생하는 실패가 로그 I/O 를 차지하지 않도록, 로그를 남기는 곳마다 하나씩 둔다.
+ */
+public class ErrorLogSampler {
+    private final long intervalNanos;
+    // 생성 후 변경하지 않으므로 여러 스레드에서 읽어도 된다.
+    private final Map<ErrorCode, Window> windows = new EnumMap<>(ErrorCode.class);
+
+    public ErrorLogSampler(Duration interval) {
+        this.intervalNanos = interval.toNanos();
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            windows.put(errorCode, new Window());
+        }
+    }
+
+    /**
+     * 로그를 남겨도 되면 지난 로그 이후 생략된 횟수(0 이상)를, 생략해야 하면 -1 을 돌려준다.
+     */
+    public long sample(ErrorCode errorCode) {
+        Window window = windows.get(errorCode);
+        long now = System.nanoTime();
+        long nextAllowedAt = window.nextAllowedAt.get();
+
+        if (now - nextAllowedAt >= 0 && window.nextAllowedAt.compareAndSet(nextAllowedAt, now + intervalNanos)) {
+            return window.suppressed.sumThenReset();
+        }
+        window.suppressed.increment();
+        return -1;
+    }
+
+    /**
+     * 로그를 남겨도 되면 "message ErrorCode (suppressed : 생략된 횟수)" 를 warn 으로 남긴다.
+     */
+    public void warn(Logger log, String message, ErrorCode errorCode) {
+        long suppressed = sample(errorCode);
+        if (suppressed >= 0) {
+            log.warn("{} {} (suppressed : {})", message, errorCode, suppressed);
+        }
+    }
+
+    private static final class Window {
+        private final AtomicLong nextAllowedAt = new AtomicLong(System.nanoTime());
+        private final LongAdder suppressed = new LongAdder();
+    }
+}
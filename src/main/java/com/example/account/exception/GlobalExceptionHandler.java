@@ -0,0 +1,65 @@
+package com.example.account.exception;
+
+import com.example.account.dto.ErrorResponse;
+import com.example.account.type.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import javax.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.example.account.type.ErrorCode.SERVER_OVERLOADED;
+import static com.example.account.type.ErrorCode.TOO_MANY_REQUESTS;
+import static com.example.account.type.ErrorCode.VELOCITY_LIMIT_EXCEEDED;
+
+@Slf4j
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+    public static final String ERROR_CODE_ATTRIBUTE = GlobalExceptionHandler.class.getName() + ".errorCode";
+
+    private static final ErrorLogSampler ERROR_LOG_SAMPLER = new ErrorLogSampler(Duration.ofSeconds(1));
+
+    // ErrorCode 기본 메시지 응답은 요청마다 새로 만들지 않는다. 여러 요청이 공유하므로 ErrorResponse 는 불변이다.
+    private final Map<ErrorCode, ResponseEntity<ErrorResponse>> responses = new EnumMap<>(ErrorCode.class);
+
+    public GlobalExceptionHandler() {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            responses.put(errorCode, ResponseEntity.status(getStatus(errorCode))
+                    .body(new ErrorResponse(errorCode, errorCode.getDescription())));
+        }
+    }
+
+    @ExceptionHandler(AccountException.class)
+    public ResponseEntity<ErrorResponse> handleAccountException(AccountException e, HttpServletRequest request) {
+        ERROR_LOG_SAMPLER.warn(log, "AccountException is occurred.", e.getErrorCode());
+        // http.server.requests 메트릭 태그로 사용
+        request.setAttribute(ERROR_CODE_ATTRIBUTE, e.getErrorCode());
+
+        return toResponse(e);
+    }
+
+    public ResponseEntity<ErrorResponse> toResponse(AccountException e) {
+        if (Objects.equals(e.getErrorMessage(), e.getErrorCode().getDescription())) {
+            return responses.get(e.getErrorCode());
+        }
+
+        return ResponseEntity.status(getStatus(e.getErrorCode()))
+                .body(new ErrorResponse(e.getErrorCode(), e.getErrorMessage()));
+    }
+
+    // 과부하/한도 초과로 거절된 요청은 재시도 가능하다는 것을 상태 코드로 구분한다.
+    private static HttpStatus getStatus(ErrorCode errorCode) {
+        if (errorCode == SERVER_OVERLOADED) {
+            return HttpStatus.SERVICE_UNAVAILABLE;
+        } else if (errorCode == TOO_MANY_REQUESTS || errorCode == VELOCITY_LIMIT_EXCEEDED) {
+            return HttpStatus.TOO_MANY_REQUESTS;
+        }
+        return HttpStatus.BAD_REQUEST;
+    }
+}
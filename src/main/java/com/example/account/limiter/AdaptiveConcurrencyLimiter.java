@@ -0,0 +1,86 @@
+package com.example.account.limiter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 측정된 응답 시간으로 동시 처리 한도를 조절하는 limiter (gradient 방식).
+ * 장기 평균 응답 시간보다 현재 응답 시간이 길어지면 한도를 줄이고,
+ * 한도를 충분히 쓰고 있는데 응답 시간이 유지되면 조금씩 늘린다.
+ * 한도를 넘는 요청은 대기시키지 않고 바로 거절한다.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private static final double LONG_WINDOW_ALPHA = 2.0 / (100 + 1);
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // onSample 에서만 변경된다 (synchronized)
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double tolerance, double smoothing) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long rttNanos) {
+        int inFlightAtSample = inFlight.getAndDecrement();
+        onSample(Math.max(1, rttNanos), inFlightAtSample);
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtSample) {
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos = longRttNanos * (1 - LONG_WINDOW_ALPHA) + rttNanos * LONG_WINDOW_ALPHA;
+        }
+
+        // 부하가 빠진 뒤에는 장기 평균이 너무 높게 남아있지 않도록 빠르게 따라 내려간다.
+        if (longRttNanos / rttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / rttNanos));
+        double queueSize = Math.sqrt(estimatedLimit);
+        double newLimit = estimatedLimit * gradient + queueSize;
+
+        // 한도의 절반도 쓰지 않는 상태에서는 한도를 늘릴 근거가 없다.
+        if (newLimit > estimatedLimit && inFlightAtSample < estimatedLimit / 2) {
+            return;
+        }
+
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.account.limiter;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * window 를 bucketCount 개의 시간 구간으로 나눠 돌려 쓰는 건수/금액 합계. 크기가 고정되어 있고 lock 없이 더하고 읽는다.
+ * 합계는 bucket 단위로 움직이므로 window 의 처음 한 bucket 만큼은 오차가 있다.
+ * bucket 을 새 구간으로 넘기는 순간에 동시에 더해진 값은 빠질 수 있으므로 한도 검사용 근사치로 쓴다.
+ */
+public class SlidingWindowCounter {
+    private final long bucketMillis;
+    private final int bucketCount;
+    // bucket 별 [구간 번호, 건수, 금액]
+    private final AtomicLongArray epochs;
+    private final AtomicLongArray counts;
+    private final AtomicLongArray amounts;
+
+    public SlidingWindowCounter(long windowMillis, int bucketCount) {
+        this.bucketMillis = Math.max(1, windowMillis / bucketCount);
+        this.bucketCount = bucketCount;
+        this.epochs = new AtomicLongArray(bucketCount);
+        this.counts = new AtomicLongArray(bucketCount);
+        this.amounts = new AtomicLongArray(bucketCount);
+    }
+
+    public void add(long nowMillis, long amount) {
+        long epoch = nowMillis / bucketMillis;
+        int index = (int) (epoch % bucketCount);
+
+        long current = epochs.get(index);
+        // 지난 구간의 bucket 이면 먼저 바꾼 스레드 하나만 비운다.
+        if (current < epoch && epochs.compareAndSet(index, current, epoch)) {
+            counts.set(index, 0);
+            amounts.set(index, 0);
+        }
+        counts.incrementAndGet(index);
+        amounts.addAndGet(index, amount);
+    }
+
+    public long count(long nowMillis) {
+        return sum(counts, nowMillis);
+    }
+
+    public long amount(long nowMillis) {
+        return sum(amounts, nowMillis);
+    }
+
+    private long sum(AtomicLongArray values, long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        long sum = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            long bucketEpoch = epochs.get(i);
+            if (bucketEpoch > epoch - bucketCount && bucketEpoch <= epoch) {
+                sum += values.get(i);
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.account.lock;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 현재 스레드가 가진 계좌 lock 의 fencing token.
+ * lock 을 잡은 스레드에서 DB 쓰기 시 꺼내 쓰며, 같은 계좌 lock 을 다시 잡을 수 있으므로 계좌별로 stack 으로 보관한다.
+ */
+public final class FencingTokenHolder {
+    private static final ThreadLocal<Map<String, Deque<Long>>> TOKENS = ThreadLocal.withInitial(HashMap::new);
+
+    private FencingTokenHolder() {
+    }
+
+    public static void push(String accountNumber, long fencingToken) {
+        TOKENS.get().computeIfAbsent(accountNumber, key -> new ArrayDeque<>()).push(fencingToken);
+    }
+
+    public static void pop(String accountNumber) {
+        Map<String, Deque<Long>> tokens = TOKENS.get();
+        Deque<Long> stack = tokens.get(accountNumber);
+        if (stack == null) {
+            return;
+        }
+        stack.pop();
+        if (stack.isEmpty()) {
+            tokens.remove(accountNumber);
+        }
+        if (tokens.isEmpty()) {
+            TOKENS.remove();
+        }
+    }
+
+    /**
+     * 현재 스레드가 계좌 lock 을 가지고 있지 않으면 null.
+     */
+    public static Long get(String accountNumber) {
+        Deque<Long> stack = TOKENS.get().get(accountNumber);
+        return stack == null ? null : stack.peek();
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.account.lock;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 단일 인스턴스용 JVM 내부 lock. Redis 왕복 없이 RedissonLockProvider 와 같은 의미를 제공한다.
+ * 상태 변경은 모두 ConcurrentHashMap.compute 안에서 일어나므로 key 별로(bin 단위) 잠기고,
+ * 아무도 잡거나 기다리지 않는 key 는 바로 제거되어 메모리는 사용 중인 lock 수만큼만 쓴다.
+ */
+@Slf4j
+@Component
+@Profile("local-lock")
+public class LocalLockProvider implements LockProvider {
+    private final Map<String, LockEntry> entries = new ConcurrentHashMap<>();
+    // 모든 key 가 하나의 값을 공유해도 key 별 단조 증가는 보장된다.
+    private final AtomicLong fencingToken = new AtomicLong();
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    public LocalLockProvider() {
+        scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "local-lock-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    @Override
+    public boolean tryLock(String key, long waitTime, long leaseTime, TimeUnit unit) throws InterruptedException {
+        long ownerId = Thread.currentThread().getId();
+        CompletableFuture<Boolean> future = tryLockAsync(key, ownerId, waitTime, leaseTime, unit);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            // 기다리는 사이에 lock 을 넘겨받았다면 다시 돌려준다.
+            if (!future.complete(false) && future.join()) {
+                unlockAsync(key, ownerId);
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void unlock(String key) {
+        unlockAsync(key, Thread.currentThread().getId());
+    }
+
+    @Override
+    public CompletableFuture<Boolean> tryLockAsync(String key, long ownerId, long waitTime, long leaseTime, TimeUnit unit) {
+        long waitNanos = unit.toNanos(waitTime);
+        Waiter waiter = new Waiter(ownerId, leaseTime > 0 ? unit.toNanos(leaseTime) : 0);
+        List<Completion> completions = new ArrayList<>(1);
+
+        entries.compute(key, (k, entry) -> {
+            LockEntry lock = entry != null ? entry : new LockEntry();
+            if (lock.holdCount == 0 || lock.ownerId == ownerId) {
+                acquire(k, lock, waiter.ownerId, waiter.leaseNanos);
+                completions.add(new Completion(waiter, true));
+            } else if (waitNanos <= 0) {
+                completions.add(new Completion(waiter, false));
+            } else {
+                lock.waiters.addLast(waiter);
+                waiter.timeout = scheduler.schedule(() -> expireWaiter(k, waiter), waitNanos, TimeUnit.NANOSECONDS);
+            }
+            return lock.isIdle() ? null : lock;
+        });
+        complete(key, completions);
+
+        return waiter.future;
+    }
+
+    @Override
+    public CompletableFuture<Void> unlockAsync(String key, long ownerId) {
+        List<Completion> completions = new ArrayList<>(1);
+
+        entries.computeIfPresent(key, (k, lock) -> {
+            if (lock.holdCount > 0 && lock.ownerId == ownerId) {
+                lock.holdCount--;
+                if (lock.holdCount == 0) {
+                    release(k, lock, completions);
+                }
+            }
+            return lock.isIdle() ? null : lock;
+        });
+        complete(key, completions);
+
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Long> nextFencingTokenAsync(String key) {
+        long minimum = LockProvider.minimumFencingToken();
+        return CompletableFuture.completedFuture(
+                fencingToken.updateAndGet(current -> Math.max(current + 1, minimum)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 현재 lock 이 있는(잡혀 있거나 기다리는 요청이 있는) key 수.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private void acquire(String key, LockEntry lock, long ownerId, long leaseNanos) {
+        lock.ownerId = ownerId;
+        lock.holdCount++;
+        lock.generation++;
+        cancelLeaseExpiry(lock);
+        if (leaseNanos > 0) {
+            long generation = lock.generation;
+            lock.leaseExpiry = scheduler.schedule(() -> expireLease(key, generation), leaseNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * lock 을 풀고, 기다리는 요청이 있으면 먼저 온 순서대로 넘겨준다.
+     */
+    private void release(String key, LockEntry lock, List<Completion> completions) {
+        lock.holdCount = 0;
+        cancelLeaseExpiry(lock);
+
+        Waiter next;
+        while ((next = lock.waiters.pollFirst()) != null) {
+            next.timeout.cancel(false);
+            if (!next.future.isDone()) {
+                acquire(key, lock, next.ownerId, next.leaseNanos);
+                completions.add(new Completion(next, true));
+                return;
+            }
+        }
+    }
+
+    private void expireWaiter(String key, Waiter waiter) {
+        List<Completion> completions = new ArrayList<>(1);
+
+        entries.computeIfPresent(key, (k, lock) -> {
+            if (lock.waiters.remove(waiter)) {
+                completions.add(new Completion(waiter, false));
+            }
+            return lock.isIdle() ? null : lock;
+        });
+        complete(key, completions);
+    }
+
+    private void expireLease(String key, long generation) {
+        List<Completion> completions = new ArrayList<>(1);
+
+        entries.computeIfPresent(key, (k, lock) -> {
+            if (lock.generation == generation && lock.holdCount > 0) {
+                log.warn("Lock lease expired. key : {}, owner : {}", k, lock.ownerId);
+                release(k, lock, completions);
+            }
+            return lock.isIdle() ? null : lock;
+        });
+        complete(key, completions);
+    }
+
+    /**
+     * future 완료 시 실행되는 콜백이 다시 lock 을 호출할 수 있으므로, compute 밖에서 완료시킨다.
+     * 넘겨준 lock 을 받을 요청이 이미 끝났다면(interrupt 등) 바로 돌려준다.
+     */
+    private void complete(String key, List<Completion> completions) {
+        for (Completion completion : completions) {
+            Waiter waiter = completion.waiter;
+            if (!waiter.future.complete(completion.acquired) && completion.acquired) {
+                unlockAsync(key, waiter.ownerId);
+            }
+        }
+    }
+
+    private void cancelLeaseExpiry(LockEntry lock) {
+        if (lock.leaseExpiry != null) {
+            lock.leaseExpiry.cancel(false);
+            lock.leaseExpiry = null;
+        }
+    }
+
+    // 아래 필드는 모두 entries.compute 안에서만 접근한다.
+    private static final class LockEntry {
+        private long ownerId;
+        private int holdCount;
+        private long generation;
+        private ScheduledFuture<?> leaseExpiry;
+        private final Deque<Waiter> waiters = new ArrayDeque<>();
+
+        private boolean isIdle() {
+            return holdCount == 0 && waiters.isEmpty();
+        }
+    }
+
+    private static final class Waiter {
+        private final long ownerId;
+        private final long leaseNanos;
+        private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        private ScheduledFuture<?> timeout;
+
+        private Waiter(long ownerId, long leaseNanos) {
+            this.ownerId = ownerId;
+            this.leaseNanos = leaseNanos;
+        }
+    }
+
+    private static final class Completion {
+        private final Waiter waiter;
+        private final boolean acquired;
+
+        private Completion(Waiter waiter, boolean acquired) {
+            this.waiter = waiter;
+            this.acquired = acquired;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.account.lock;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 계좌 lock 구현체. Redisson 과 같은 의미를 따른다.
+ * - 같은 소유자는 다시 lock 을 잡을 수 있고(reentrant), 잡은 횟수만큼 unlock 해야 풀린다.
+ * - leaseTime 이 지나면 unlock 하지 않아도 lock 이 풀린다.
+ * - 동기 메서드는 현재 스레드, 비동기 메서드는 호출자가 넘긴 ownerId 를 소유자로 사용한다.
+ * lock 을 잡을 때마다 fencing token 을 새로 발급받아, lease 가 만료된 소유자의 DB 쓰기를 막는 데 사용한다.
+ */
+public interface LockProvider {
+
+    boolean tryLock(String key, long waitTime, long leaseTime, TimeUnit unit) throws InterruptedException;
+
+    /**
+     * 현재 스레드가 lock 을 가지고 있을 때만 해제한다.
+     */
+    void unlock(String key);
+
+    CompletableFuture<Boolean> tryLockAsync(String key, long ownerId, long waitTime, long leaseTime, TimeUnit unit);
+
+    CompletableFuture<Void> unlockAsync(String key, long ownerId);
+
+    /**
+     * key 마다 단조 증가하는 fencing token 을 발급한다.
+     * 저장소가 초기화되어도 이전 값보다 작아지지 않도록 현재 시각(ms * 1000)보다 작은 값은 발급하지 않는다.
+     */
+    CompletableFuture<Long> nextFencingTokenAsync(String key);
+
+    static long minimumFencingToken() {
+        return System.currentTimeMillis() * 1000;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.account.lock;
+
+import lombok.RequiredArgsConstructor;
+import org.redisson.api.RLock;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis(Redisson RLock) 기반 lock. 여러 인스턴스가 같은 계좌를 다룰 때 사용한다.
+ */
+@Component
+@Profile("!local-lock")
+@RequiredArgsConstructor
+public class RedissonLockProvider implements LockProvider {
+    // INCR 결과가 최솟값보다 작으면 최솟값으로 올린다 (Redis 데이터가 유실된 경우).
+    private static final String NEXT_FENCING_TOKEN_SCRIPT =
+            "local token = redis.call('incr', KEYS[1]) " +
+            "local minimum = tonumber(ARGV[1]) " +
+            "if token < minimum then " +
+            "  redis.call('set', KEYS[1], ARGV[1]) " +
+            "  token = minimum " +
+            "end " +
+            "return token";
+
+    private final RedissonClient redissonClient;
+
+    @Override
+    public boolean tryLock(String key, long waitTime, long leaseTime, TimeUnit unit) throws InterruptedException {
+        return redissonClient.getLock(key).tryLock(waitTime, leaseTime, unit);
+    }
+
+    @Override
+    public void unlock(String key) {
+        RLock lock = redissonClient.getLock(key);
+        if (lock.isHeldByCurrentThread()) {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Boolean> tryLockAsync(String key, long ownerId, long waitTime, long leaseTime, TimeUnit unit) {
+        return redissonClient.getLock(key)
+                .tryLockAsync(waitTime, leaseTime, unit, ownerId)
+                .toCompletableFuture();
+    }
+
+    @Override
+    public CompletableFuture<Void> unlockAsync(String key, long ownerId) {
+        return redissonClient.getLock(key)
+                .unlockAsync(ownerId)
+                .toCompletableFuture();
+    }
+
+    @Override
+    public CompletableFuture<Long> nextFencingTokenAsync(String key) {
+        return redissonClient.getScript(StringCodec.INSTANCE)
+                .<Long>evalAsync(RScript.Mode.READ_WRITE, NEXT_FENCING_TOKEN_SCRIPT, RScript.ReturnType.INTEGER,
+                        Collections.<Object>singletonList(key + ":fencing"),
+                        String.valueOf(LockProvider.minimumFencingToken()))
+                .toCompletableFuture();
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.account.outbox;
+
+import com.example.account.dto.OutboxMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 브로커 없이 같은 프로세스의 ApplicationEvent 로 발행한다 (로컬 실행, 테스트용).
+ * 외부로 보내려면 OutboxPublisher 를 구현한 bean 으로 바꾼다.
+ */
+@Component
+@RequiredArgsConstructor
+public class LocalOutboxPublisher implements OutboxPublisher {
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    public void publish(String accountNumber, List<OutboxMessage> messages) {
+        messages.forEach(applicationEventPublisher::publishEvent);
+    }
+}
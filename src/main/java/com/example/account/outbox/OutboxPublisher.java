@@ -0,0 +1,15 @@
+package com.example.account.outbox;
+
+import com.example.account.dto.OutboxMessage;
+
+import java.util.List;
+
+/**
+ * outbox 이벤트를 외부(메시지 브로커 등)로 보낸다.
+ */
+public interface OutboxPublisher {
+    /**
+     * 한 계좌의 이벤트를 발생 순서대로 보낸다. 예외를 던지면 이 이벤트들은 다음 relay 에서 처음부터 다시 보낸다.
+     */
+    void publish(String accountNumber, List<OutboxMessage> messages);
+}
@@ -0,0 +1,33 @@
+package com.example.account.readmodel;
+
+import com.example.account.domain.Account;
+import com.example.account.type.AccountStatus;
+import lombok.*;
+
+/**
+ * Redis hash 에 저장하는 계좌 조회용 모델.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AccountProjection {
+    private String accountNumber;
+    private Long userId;
+    private AccountStatus accountStatus;
+    private Long balance;
+    private String lastTransactionId;
+    private long revision;
+
+    public static AccountProjection from(Account account, String lastTransactionId) {
+        return AccountProjection.builder()
+                .accountNumber(account.getAccountNumber())
+                .userId(account.getAccountUser().getId())
+                .accountStatus(account.getAccountStatus())
+                .balance(account.getBalance())
+                .lastTransactionId(lastTransactionId)
+                .revision(account.getRevision())
+                .build();
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.account.readmodel;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.Transaction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostUpdate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.example.account.type.TransactionResultType.S;
+
+/**
+ * Account/Transaction 의 JPA 콜백으로 트랜잭션이 바꾼 계좌를 모아 두었다가, 커밋된 뒤에만 read model 에 반영한다.
+ * 롤백된 변경은 반영하지 않는다. 커밋 시점의 entity 값을 읽으므로 한 트랜잭션에서 여러 번 바뀌어도 한 번만 보낸다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountProjectionListener {
+    private static final Object PENDING_KEY = AccountProjectionListener.class;
+
+    private final AccountProjector accountProjector;
+
+    @Value("${account.read-model.enabled:true}")
+    private boolean enabled;
+
+    // 거래 내역은 insert 될 때만 반영한다. 원거래에 취소를 표시하는 update 는 계좌의 마지막 거래가 아니다.
+    @PostUpdate
+    public void updated(Object entity) {
+        if (entity instanceof Account) {
+            changed(entity);
+        }
+    }
+
+    @PostPersist
+    public void changed(Object entity) {
+        if (!enabled) {
+            return;
+        }
+
+        if (entity instanceof Account) {
+            record((Account) entity, null);
+        } else if (entity instanceof Transaction) {
+            Transaction transaction = (Transaction) entity;
+            if (transaction.getTransactionResultType() == S) {
+                record(transaction.getAccount(), transaction.getTransactionId());
+            }
+        }
+    }
+
+    private void record(Account account, String transactionId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accountProjector.project(AccountProjection.from(account, transactionId));
+            return;
+        }
+
+        PendingProjection pending = pendings().computeIfAbsent(account.getAccountNumber(),
+                accountNumber -> new PendingProjection(account));
+        if (transactionId != null) {
+            pending.transactionId = transactionId;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, PendingProjection> pendings() {
+        Map<String, PendingProjection> pendings =
+                (Map<String, PendingProjection>) TransactionSynchronizationManager.getResource(PENDING_KEY);
+        if (pendings != null) {
+            return pendings;
+        }
+
+        Map<String, PendingProjection> created = new LinkedHashMap<>();
+        TransactionSynchronizationManager.bindResource(PENDING_KEY, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                created.values().forEach(pending -> accountProjector.project(
+                        AccountProjection.from(pending.account, pending.transactionId)));
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_KEY);
+            }
+        });
+        return created;
+    }
+
+    private static final class PendingProjection {
+        private final Account account;
+        private String transactionId;
+
+        private PendingProjection(Account account) {
+            this.account = account;
+        }
+    }
+}
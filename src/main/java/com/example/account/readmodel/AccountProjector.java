@@ -0,0 +1,164 @@
+package com.example.account.readmodel;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 커밋된 계좌 변경을 Redis hash(ACRM:계좌번호)와 사용자별 계좌 set(ACRM:USER:userId)에 반영한다.
+ * 커밋 스레드는 Redis 응답을 기다리지 않는다. 같은 계좌의 변경이 늦게 도착하면 revision 을 비교해 버린다.
+ * revision 은 DB 가 새로 만들어지면 다시 0 부터 시작하므로, epoch(ReadModelEpochHolder)가 다른 hash 는 revision 과 상관없이 덮어쓴다.
+ * 사용자별 set 은 DB 에서 읽은 계좌로 다시 채운 뒤에만 완전하다고 표시(ACRM:USERMARK:userId = epoch)한다.
+ */
+@Slf4j
+@Component
+public class AccountProjector {
+    public static final String ACCOUNT_KEY_PREFIX = "ACRM:";
+    public static final String USER_KEY_PREFIX = "ACRM:USER:";
+    public static final String USER_MARKER_KEY_PREFIX = "ACRM:USERMARK:";
+
+    // 같은 epoch 에서 저장된 revision 보다 새로운 변경만 반영한다. 마지막 거래 id 는 거래가 있었던 변경에서만 바꾼다.
+    private static final String PROJECT_FUNCTION =
+            "local function project(key, userKey, epoch, revision, accountNumber, userId, status, balance, lastTransactionId) " +
+            "  local current = redis.call('hmget', key, 'epoch', 'revision') " +
+            "  if current[1] == epoch and current[2] and tonumber(current[2]) >= tonumber(revision) then " +
+            "    return 0 " +
+            "  end " +
+            "  if current[1] ~= epoch then " +
+            "    redis.call('del', key) " +
+            "  end " +
+            "  redis.call('hset', key, 'epoch', epoch, 'revision', revision, 'accountNumber', accountNumber, " +
+            "    'userId', userId, 'accountStatus', status, 'balance', balance) " +
+            "  if lastTransactionId ~= '' then " +
+            "    redis.call('hset', key, 'lastTransactionId', lastTransactionId) " +
+            "  end " +
+            "  redis.call('sadd', userKey, accountNumber) " +
+            "  return 1 " +
+            "end ";
+
+    private static final String PROJECT_SCRIPT = PROJECT_FUNCTION +
+            "return project(KEYS[1], KEYS[2], ARGV[1], ARGV[2], ARGV[3], ARGV[4], ARGV[5], ARGV[6], ARGV[7])";
+
+    // 다른 epoch 의 계좌를 set 에서 빼고, DB 에서 읽은 계좌를 모두 반영한 뒤 완전 표시를 남긴다.
+    // 그 사이 반영된 새 계좌는 set 에 남겨둔다(sadd 만 하므로).
+    private static final String REBUILD_USER_SCRIPT = PROJECT_FUNCTION +
+            "local epoch = ARGV[1] " +
+            "for _, accountNumber in ipairs(redis.call('smembers', KEYS[1])) do " +
+            "  if redis.call('hget', '" + ACCOUNT_KEY_PREFIX + "' .. accountNumber, 'epoch') ~= epoch then " +
+            "    redis.call('srem', KEYS[1], accountNumber) " +
+            "  end " +
+            "end " +
+            "for i = 3, #KEYS do " +
+            "  local offset = 3 + (i - 3) * 5 " +
+            "  project(KEYS[i], KEYS[1], epoch, ARGV[offset], ARGV[offset + 1], ARGV[offset + 2], " +
+            "    ARGV[offset + 3], ARGV[offset + 4], '') " +
+            "end " +
+            "redis.call('set', KEYS[2], epoch, 'EX', tonumber(ARGV[2])) " +
+            "return 1";
+
+    private final RedissonClient redissonClient;
+    private final ReadModelEpochHolder readModelEpochHolder;
+    private final boolean enabled;
+    private final long userMarkerTtlSeconds;
+    private final Counter projected;
+    private final Counter stale;
+    private final Counter failed;
+    private final Counter rebuilt;
+
+    public AccountProjector(RedissonClient redissonClient,
+                            ReadModelEpochHolder readModelEpochHolder,
+                            MeterRegistry meterRegistry,
+                            @Value("${account.read-model.enabled:true}") boolean enabled,
+                            @Value("${account.read-model.user-marker-ttl-seconds:600}") long userMarkerTtlSeconds) {
+        this.redissonClient = redissonClient;
+        this.readModelEpochHolder = readModelEpochHolder;
+        this.enabled = enabled;
+        this.userMarkerTtlSeconds = userMarkerTtlSeconds;
+        this.projected = meterRegistry.counter("account.read_model.projected", "result", "applied");
+        this.stale = meterRegistry.counter("account.read_model.projected", "result", "stale");
+        this.failed = meterRegistry.counter("account.read_model.projected", "result", "failed");
+        this.rebuilt = meterRegistry.counter("account.read_model.projected", "result", "rebuilt");
+    }
+
+    public void project(AccountProjection projection) {
+        String epoch = readModelEpochHolder.getEpoch();
+        if (epoch == null) {
+            return;
+        }
+
+        redissonClient.getScript(StringCodec.INSTANCE)
+                .<Long>evalAsync(RScript.Mode.READ_WRITE, PROJECT_SCRIPT, RScript.ReturnType.INTEGER,
+                        Arrays.<Object>asList(ACCOUNT_KEY_PREFIX + projection.getAccountNumber(),
+                                USER_KEY_PREFIX + projection.getUserId()),
+                        epoch,
+                        String.valueOf(projection.getRevision()),
+                        projection.getAccountNumber(),
+                        String.valueOf(projection.getUserId()),
+                        projection.getAccountStatus().name(),
+                        String.valueOf(projection.getBalance()),
+                        projection.getLastTransactionId() == null ? "" : projection.getLastTransactionId())
+                .whenComplete((applied, e) -> {
+                    if (e != null) {
+                        // 다음 변경이 반영되거나, 조회 시 DB 로 대신 읽는다.
+                        failed.increment();
+                        log.warn("Failed to project account. accountNumber : {}", projection.getAccountNumber(), e);
+                        if (projection.getRevision() == 0) {
+                            // 새 계좌가 set 에 빠졌으므로 사용자의 완전 표시를 지운다. 이것도 실패하면 TTL 이 지나야 다시 채워진다.
+                            redissonClient.getBucket(USER_MARKER_KEY_PREFIX + projection.getUserId(), StringCodec.INSTANCE)
+                                    .deleteAsync();
+                        }
+                    } else if (applied == 1L) {
+                        projected.increment();
+                    } else {
+                        stale.increment();
+                    }
+                });
+    }
+
+    /**
+     * DB 에서 읽은 사용자의 모든 계좌로 사용자별 set 을 다시 채우고 완전하다고 표시한다.
+     * 완전 표시는 TTL 이 있어, 새 계좌의 projection 과 표시 삭제가 모두 실패해도 TTL 뒤에는 DB 에서 다시 채운다.
+     */
+    public void rebuildUser(Long userId, List<AccountProjection> projections) {
+        String epoch = readModelEpochHolder.getEpoch();
+        if (!enabled || epoch == null) {
+            return;
+        }
+
+        List<Object> keys = new ArrayList<>(projections.size() + 2);
+        keys.add(USER_KEY_PREFIX + userId);
+        keys.add(USER_MARKER_KEY_PREFIX + userId);
+        List<Object> args = new ArrayList<>(projections.size() * 5 + 2);
+        args.add(epoch);
+        args.add(String.valueOf(userMarkerTtlSeconds));
+        for (AccountProjection projection : projections) {
+            keys.add(ACCOUNT_KEY_PREFIX + projection.getAccountNumber());
+            args.add(String.valueOf(projection.getRevision()));
+            args.add(projection.getAccountNumber());
+            args.add(String.valueOf(projection.getUserId()));
+            args.add(projection.getAccountStatus().name());
+            args.add(String.valueOf(projection.getBalance()));
+        }
+
+        redissonClient.getScript(StringCodec.INSTANCE)
+                .<Long>evalAsync(RScript.Mode.READ_WRITE, REBUILD_USER_SCRIPT, RScript.ReturnType.INTEGER,
+                        keys, args.toArray())
+                .whenComplete((result, e) -> {
+                    if (e != null) {
+                        failed.increment();
+                        log.warn("Failed to rebuild account read model. userId : {}", userId, e);
+                    } else {
+                        rebuilt.increment();
+                    }
+                });
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.account.readmodel;
+
+import com.example.account.domain.Account;
+import com.example.account.exception.AccountException;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import static com.example.account.type.ErrorCode.INVALID_REQUEST;
+
+/**
+ * 쓰기 응답으로 돌려주는 "계좌번호:revision". 조회할 때 넘기면 read model 이 그 revision 까지 반영된 뒤에 읽는다.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class ConsistencyToken {
+    private final String accountNumber;
+    private final long revision;
+
+    public static String of(Account account) {
+        return account.getAccountNumber() + ":" + account.getRevision();
+    }
+
+    public static ConsistencyToken parse(String token) {
+        int separator = token.lastIndexOf(':');
+        try {
+            return new ConsistencyToken(token.substring(0, separator), Long.parseLong(token.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new AccountException(INVALID_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.account.readmodel;
+
+import com.example.account.domain.ReadModelEpoch;
+import com.example.account.repository.ReadModelEpochRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * 현재 DB 의 read model epoch. 시작할 때 기본 shard 에서 읽고, 없으면(새 DB) 만든다.
+ * shard 는 함께 만들어지므로(ShardingConfig) 기본 shard 의 값을 모든 shard 의 epoch 로 사용한다.
+ * 읽기 전(null)에는 projection 을 보내지 않고, 조회는 DB 에서 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReadModelEpochHolder {
+    private final ReadModelEpochRepository readModelEpochRepository;
+
+    private volatile String epoch;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        epoch = readModelEpochRepository.findById(ReadModelEpoch.ID)
+                .orElseGet(this::create)
+                .getEpoch();
+        log.info("Read model epoch : {}", epoch);
+    }
+
+    private ReadModelEpoch create() {
+        try {
+            return readModelEpochRepository.saveAndFlush(new ReadModelEpoch(ReadModelEpoch.ID,
+                    UUID.randomUUID().toString().replace("-", "")));
+        } catch (DataIntegrityViolationException e) {
+            // 다른 인스턴스가 먼저 만들었다.
+            return readModelEpochRepository.findById(ReadModelEpoch.ID).orElseThrow(() -> e);
+        }
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+}
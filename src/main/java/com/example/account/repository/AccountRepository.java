@@ -3,10 +3,19 @@ package com.example.account.repository;
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
@@ -18,6 +27,26 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
 
     List<Account> findByAccountUser(AccountUser accountUser);
 
+    List<Account> findByAccountNumberIn(Collection<String> accountNumbers);
+
     String AccountNumber(String accountNumber);
+
+    boolean existsByAccountNumber(String accountNumber);
+
+    // 트랜잭션 안에서 호출하고 다 읽은 뒤 닫는다.
+    @Query("select a.accountNumber from Account a")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllAccountNumbers();
+
+    /**
+     * 저장된 token보다 작지 않은 token을 가진 경우에만 계좌를 선점한다. 갱신된 row 수를 돌려준다.
+     * 같은 트랜잭션에서 이후 계좌를 읽고 쓰는 동안 DB row lock이 유지된다.
+     */
+    @Modifying
+    @Query("update Account a set a.fencingToken = :fencingToken " +
+            "where a.accountNumber = :accountNumber " +
+            "and (a.fencingToken is null or a.fencingToken <= :fencingToken)")
+    int claimWithFencingToken(@Param("accountNumber") String accountNumber,
+                              @Param("fencingToken") Long fencingToken);
 }
 
@@ -0,0 +1,44 @@
+package com.example.account.repository;
+
+import com.example.account.domain.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * 발행되지 않은 이벤트를 id 순서로 pageable 크기만큼 잠근다.
+     * 건너뛰지 않고 기다리므로(SKIP LOCKED 아님) 여러 relay 가 있어도 한 번에 하나만 발행하고, 같은 계좌의 순서가 지켜진다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from OutboxEvent e where e.publishedAt is null order by e.id")
+    List<OutboxEvent> findUnpublishedForUpdate(Pageable pageable);
+
+    /**
+     * findUnpublishedForUpdate 와 같지만, 발행이 계속 실패해 잠시 미뤄둔 계좌의 이벤트는 제외한다.
+     * excludedAccountNumbers 는 비어 있으면 안 된다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from OutboxEvent e where e.publishedAt is null " +
+            "and e.accountNumber not in :excludedAccountNumbers order by e.id")
+    List<OutboxEvent> findUnpublishedForUpdateExcluding(
+            @Param("excludedAccountNumbers") Collection<String> excludedAccountNumbers, Pageable pageable);
+
+    Optional<OutboxEvent> findFirstByPublishedAtIsNullOrderByIdAsc();
+
+    @Modifying
+    @Query("update OutboxEvent e set e.publishedAt = :publishedAt where e.id in :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+}
@@ -0,0 +1,9 @@
+package com.example.account.repository;
+
+import com.example.account.domain.ReadModelEpoch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReadModelEpochRepository extends JpaRepository<ReadModelEpoch, Long> {
+}
@@ -0,0 +1,40 @@
+package com.example.account.repository;
+
+import com.example.account.domain.ScheduledTransaction;
+import com.example.account.type.ScheduledTransactionStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ScheduledTransactionRepository extends JpaRepository<ScheduledTransaction, Long> {
+
+    /**
+     * 실행 시각이 지났고 아무도 실행 중이지 않은 예약을 오래된 순서로 pageable 크기만큼 잠근다.
+     * lock timeout -2 는 SKIP LOCKED 로, 다른 인스턴스가 잠근 row 는 기다리지 않고 건너뛴다
+     * (지원하지 않는 DB 에서는 FOR UPDATE 로 동작하며, claimedUntil 로 중복 실행을 막는다).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    @Query("select s from ScheduledTransaction s " +
+            "where s.status = :status and s.nextExecuteAt <= :now " +
+            "and (s.claimedUntil is null or s.claimedUntil < :now) " +
+            "order by s.nextExecuteAt")
+    List<ScheduledTransaction> findDueForUpdate(@Param("status") ScheduledTransactionStatus status,
+                                                @Param("now") LocalDateTime now,
+                                                Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ScheduledTransaction s where s.id = :id")
+    Optional<ScheduledTransaction> findByIdForUpdate(@Param("id") Long id);
+}
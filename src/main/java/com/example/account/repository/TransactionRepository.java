@@ -2,14 +2,34 @@ package com.example.account.repository;
 
 import com.example.account.domain.Transaction;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface TransactionRepository
         extends JpaRepository<Transaction, Long> {
 
     Optional<Transaction> findByTransactionId(String transactionId);
-}
 
+    /**
+     * 거래와 계좌(소유자 포함)를 한 번의 join 쿼리로 읽는다.
+     */
+    @Query("select t from Transaction t " +
+            "join fetch t.account a " +
+            "join fetch a.accountUser " +
+            "where t.transactionId = :transactionId")
+    Optional<Transaction> findWithAccountByTransactionId(@Param("transactionId") String transactionId);
+
+    // 트랜잭션 안에서 호출하고 다 읽은 뒤 닫는다.
+    @Query("select t.transactionId from Transaction t")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllTransactionIds();
+}
@@ -0,0 +1,184 @@
+package com.example.account.rpc;
+
+import com.example.account.dto.TransactionDto;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+
+import java.io.*;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 프레임 : [int 길이][본문]
+ * 요청 본문 : [byte operation][long requestId][operation 별 필드]
+ * 응답 본문 : [long requestId][byte status][성공이면 거래 필드, 실패면 ErrorCode 이름]
+ * null 이 가능한 값은 앞에 boolean 존재 여부를 쓴다.
+ */
+public final class RpcCodec {
+    private static final int MAX_FRAME_SIZE = 64 * 1024;
+    private static final byte STATUS_OK = 0;
+    private static final byte STATUS_ERROR = 1;
+
+    private RpcCodec() {
+    }
+
+    public static void writeRequest(DataOutputStream out, RpcRequest request) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(64);
+        DataOutputStream body = new DataOutputStream(buffer);
+
+        body.writeByte(request.getOperation().getCode());
+        body.writeLong(request.getRequestId());
+        switch (request.getOperation()) {
+            case USE:
+                writeLong(body, request.getUserId());
+                writeString(body, request.getAccountNumber());
+                writeLong(body, request.getAmount());
+                break;
+            case CANCEL:
+                writeString(body, request.getTransactionId());
+                writeString(body, request.getAccountNumber());
+                writeLong(body, request.getAmount());
+                break;
+            case QUERY:
+                writeString(body, request.getTransactionId());
+                break;
+        }
+        writeFrame(out, buffer);
+    }
+
+    /**
+     * @return 연결이 정상적으로 닫혔으면 null
+     */
+    public static RpcRequest readRequest(DataInputStream in) throws IOException {
+        DataInputStream body = readFrame(in);
+        if (body == null) {
+            return null;
+        }
+
+        RpcRequest request = new RpcRequest();
+        request.setOperation(RpcOperation.fromCode(body.readByte()));
+        request.setRequestId(body.readLong());
+        if (request.getOperation() == null) {
+            // 프레임은 이미 끝까지 읽었으므로 나머지 필드는 버려도 다음 요청을 읽을 수 있다.
+            return request;
+        }
+        switch (request.getOperation()) {
+            case USE:
+                request.setUserId(readLong(body));
+                request.setAccountNumber(readString(body));
+                request.setAmount(readLong(body));
+                break;
+            case CANCEL:
+                request.setTransactionId(readString(body));
+                request.setAccountNumber(readString(body));
+                request.setAmount(readLong(body));
+                break;
+            case QUERY:
+                request.setTransactionId(readString(body));
+                break;
+        }
+        return request;
+    }
+
+    public static void writeResponse(DataOutputStream out, RpcResponse response) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(128);
+        DataOutputStream body = new DataOutputStream(buffer);
+
+        body.writeLong(response.getRequestId());
+        if (response.isSuccess()) {
+            TransactionDto transaction = response.getTransaction();
+            body.writeByte(STATUS_OK);
+            writeString(body, transaction.getAccountNumber());
+            writeString(body, transaction.getTransactionType() == null ? null : transaction.getTransactionType().name());
+            writeString(body, transaction.getTransactionResultType() == null ? null : transaction.getTransactionResultType().name());
+            writeLong(body, transaction.getAmount());
+            writeLong(body, transaction.getBalanceSnapshot());
+            writeString(body, transaction.getTransactionId());
+            writeLong(body, transaction.getTransactedAt() == null ? null
+                    : transaction.getTransactedAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+        } else {
+            body.writeByte(STATUS_ERROR);
+            body.writeUTF(response.getErrorCode());
+        }
+        writeFrame(out, buffer);
+    }
+
+    public static RpcResponse readResponse(DataInputStream in) throws IOException {
+        DataInputStream body = readFrame(in);
+        if (body == null) {
+            throw new EOFException("Connection closed before response");
+        }
+
+        long requestId = body.readLong();
+        if (body.readByte() == STATUS_ERROR) {
+            return RpcResponse.failure(requestId, body.readUTF());
+        }
+
+        return RpcResponse.success(requestId, readTransaction(body));
+    }
+
+    private static TransactionDto readTransaction(DataInputStream body) throws IOException {
+        String accountNumber = readString(body);
+        String transactionType = readString(body);
+        String transactionResultType = readString(body);
+        Long amount = readLong(body);
+        Long balanceSnapshot = readLong(body);
+        String transactionId = readString(body);
+        Long transactedAt = readLong(body);
+
+        return TransactionDto.builder()
+                .accountNumber(accountNumber)
+                .transactionType(transactionType == null ? null : TransactionType.valueOf(transactionType))
+                .transactionResultType(transactionResultType == null ? null : TransactionResultType.valueOf(transactionResultType))
+                .amount(amount)
+                .balanceSnapshot(balanceSnapshot)
+                .transactionId(transactionId)
+                .transactedAt(transactedAt == null ? null
+                        : LocalDateTime.ofInstant(Instant.ofEpochMilli(transactedAt), ZoneOffset.UTC))
+                .build();
+    }
+
+    private static void writeFrame(DataOutputStream out, ByteArrayOutputStream buffer) throws IOException {
+        out.writeInt(buffer.size());
+        buffer.writeTo(out);
+    }
+
+    private static DataInputStream readFrame(DataInputStream in) throws IOException {
+        int length;
+        try {
+            length = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        if (length < 0 || length > MAX_FRAME_SIZE) {
+            throw new IOException("Invalid frame length : " + length);
+        }
+
+        byte[] frame = new byte[length];
+        in.readFully(frame);
+        return new DataInputStream(new ByteArrayInputStream(frame));
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+}
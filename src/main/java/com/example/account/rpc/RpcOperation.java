@@ -0,0 +1,26 @@
+package com.example.account.rpc;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum RpcOperation {
+    USE((byte) 1),
+    CANCEL((byte) 2),
+    QUERY((byte) 3);
+
+    private final byte code;
+
+    /**
+     * @return 알 수 없는 코드면 null. 연결을 끊지 않고 INVALID_REQUEST 로 응답할 수 있게 한다.
+     */
+    public static RpcOperation fromCode(byte code) {
+        for (RpcOperation operation : values()) {
+            if (operation.code == code) {
+                return operation;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.account.rpc;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RpcRequest {
+    private RpcOperation operation;
+    // 한 연결에서 여러 요청을 이어 보낼 때 응답과 짝을 맞추는 값
+    private long requestId;
+    private Long userId;
+    private String accountNumber;
+    private String transactionId;
+    private Long amount;
+
+    public static RpcRequest use(long requestId, Long userId, String accountNumber, Long amount) {
+        return RpcRequest.builder()
+                .operation(RpcOperation.USE)
+                .requestId(requestId)
+                .userId(userId)
+                .accountNumber(accountNumber)
+                .amount(amount)
+                .build();
+    }
+
+    public static RpcRequest cancel(long requestId, String transactionId, String accountNumber, Long amount) {
+        return RpcRequest.builder()
+                .operation(RpcOperation.CANCEL)
+                .requestId(requestId)
+                .transactionId(transactionId)
+                .accountNumber(accountNumber)
+                .amount(amount)
+                .build();
+    }
+
+    public static RpcRequest query(long requestId, String transactionId) {
+        return RpcRequest.builder()
+                .operation(RpcOperation.QUERY)
+                .requestId(requestId)
+                .transactionId(transactionId)
+                .build();
+    }
+}
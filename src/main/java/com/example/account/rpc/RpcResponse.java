@@ -0,0 +1,28 @@
+package com.example.account.rpc;
+
+import com.example.account.dto.TransactionDto;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RpcResponse {
+    private long requestId;
+    // 실패한 경우 ErrorCode 이름, 성공한 경우 null
+    private String errorCode;
+    private TransactionDto transaction;
+
+    public static RpcResponse success(long requestId, TransactionDto transaction) {
+        return new RpcResponse(requestId, null, transaction);
+    }
+
+    public static RpcResponse failure(long requestId, String errorCode) {
+        return new RpcResponse(requestId, errorCode, null);
+    }
+
+    public boolean isSuccess() {
+        return errorCode == null;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.account.rpc;
+
+import java.io.*;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * TransactionRpcServer 클라이언트. 스레드 안전하지 않으므로 연결마다 하나의 스레드에서 사용한다.
+ */
+public class TransactionRpcClient implements Closeable {
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+
+    public TransactionRpcClient(String host, int port) throws IOException {
+        this.socket = new Socket(host, port);
+        this.socket.setTcpNoDelay(true);
+        this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+
+    public RpcResponse call(RpcRequest request) throws IOException {
+        return call(Collections.singletonList(request)).get(0);
+    }
+
+    /**
+     * 요청을 모두 보낸 뒤 응답을 보낸 순서대로 읽는다.
+     */
+    public List<RpcResponse> call(List<RpcRequest> requests) throws IOException {
+        for (RpcRequest request : requests) {
+            RpcCodec.writeRequest(out, request);
+        }
+        out.flush();
+
+        List<RpcResponse> responses = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            responses.add(RpcCodec.readResponse(in));
+        }
+        return responses;
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.account.rpc;
+
+import com.example.account.dto.CancelBalance;
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalance;
+import com.example.account.exception.AccountException;
+import com.example.account.exception.ErrorLogSampler;
+import com.example.account.limiter.AdaptiveConcurrencyLimiter;
+import com.example.account.service.LockService;
+import com.example.account.service.RateLimitService;
+import com.example.account.service.TransactionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.validation.Validator;
+import java.time.Duration;
+
+import static com.example.account.type.ErrorCode.INVALID_REQUEST;
+import static com.example.account.type.ErrorCode.SERVER_OVERLOADED;
+
+/**
+ * TransactionController 와 같은 규칙(요청 검증, 동시 처리 한도, 요청 한도, 계좌 lock, 실패 거래 기록)으로 TransactionService 를 호출한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class TransactionRpcHandler {
+    private static final ErrorLogSampler FAILURE_LOG_SAMPLER = new ErrorLogSampler(Duration.ofSeconds(1));
+
+    private final TransactionService transactionService;
+    private final LockService lockService;
+    private final RateLimitService rateLimitService;
+    private final AdaptiveConcurrencyLimiter readConcurrencyLimiter;
+    private final AdaptiveConcurrencyLimiter writeConcurrencyLimiter;
+    private final Validator validator;
+
+    public RpcResponse handle(RpcRequest request) {
+        if (!isValid(request)) {
+            return RpcResponse.failure(request.getRequestId(), INVALID_REQUEST.name());
+        }
+
+        // HTTP 의 ConcurrencyLimitInterceptor 와 같은 limiter 를 공유해서, 두 경로의 부하를 함께 제한한다.
+        AdaptiveConcurrencyLimiter limiter =
+                request.getOperation() == RpcOperation.QUERY ? readConcurrencyLimiter : writeConcurrencyLimiter;
+        if (!limiter.tryAcquire()) {
+            return RpcResponse.failure(request.getRequestId(), SERVER_OVERLOADED.name());
+        }
+
+        long started = System.nanoTime();
+        try {
+            switch (request.getOperation()) {
+                case USE:
+                    return RpcResponse.success(request.getRequestId(), useBalance(request));
+                case CANCEL:
+                    return RpcResponse.success(request.getRequestId(), cancelBalance(request));
+                case QUERY:
+                    return RpcResponse.success(request.getRequestId(),
+                            transactionService.queryTransaction(request.getTransactionId()));
+                default:
+                    throw new AccountException(INVALID_REQUEST);
+            }
+        } catch (AccountException e) {
+            return RpcResponse.failure(request.getRequestId(), e.getErrorCode().name());
+        } catch (RuntimeException e) {
+            log.error("Rpc request failed. operation : {}", request.getOperation(), e);
+            return RpcResponse.failure(request.getRequestId(), "INTERNAL_ERROR");
+        } finally {
+            limiter.release(System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * HTTP 요청 DTO 와 같은 제약(@NotNull, @Min, @Max, @Size)으로 검증한다.
+     */
+    private boolean isValid(RpcRequest request) {
+        if (request.getOperation() == null) {
+            return false;
+        }
+
+        switch (request.getOperation()) {
+            case USE:
+                return validator.validate(UseBalance.Request.builder()
+                        .userId(request.getUserId())
+                        .accountNumber(request.getAccountNumber())
+                        .amount(request.getAmount())
+                        .build()).isEmpty();
+            case CANCEL:
+                return validator.validate(CancelBalance.Request.builder()
+                        .transactionId(request.getTransactionId())
+                        .accountNumber(request.getAccountNumber())
+                        .amount(request.getAmount())
+                        .build()).isEmpty();
+            case QUERY:
+                return request.getTransactionId() != null && !request.getTransactionId().isEmpty();
+            default:
+                return false;
+        }
+    }
+
+    private TransactionDto useBalance(RpcRequest request) {
+        // RateLimitAspect 와 같이 lock 을 잡기 전에 한도를 확인한다.
+        rateLimitService.checkLimit("transaction-use", request.getUserId(), request.getAccountNumber());
+        lockService.lock(request.getAccountNumber());
+        try {
+            return transactionService.useBalance(request.getUserId(),
+                    request.getAccountNumber(), request.getAmount());
+        } catch (AccountException e) {
+            FAILURE_LOG_SAMPLER.warn(log, "Failed to use balance.", e.getErrorCode());
+
+            transactionService.saveFailedUseTransaction(
+                    request.getAccountNumber(),
+                    request.getAmount()
+            );
+
+            throw e;
+        } finally {
+            lockService.unlock(request.getAccountNumber());
+        }
+    }
+
+    private TransactionDto cancelBalance(RpcRequest request) {
+        lockService.lock(request.getAccountNumber());
+        try {
+            return transactionService.cancelBalance(request.getTransactionId(),
+                    request.getAccountNumber(), request.getAmount());
+        } catch (AccountException e) {
+            FAILURE_LOG_SAMPLER.warn(log, "Failed to cancel balance.", e.getErrorCode());
+
+            transactionService.saveFailedCancelTransaction(
+                    request.getAccountNumber(),
+                    request.getAmount()
+            );
+
+            throw e;
+        } finally {
+            lockService.unlock(request.getAccountNumber());
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.account.rpc;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.account.type.ErrorCode.SERVER_OVERLOADED;
+
+/**
+ * 내부 서비스용 길이 접두 바이너리 프로토콜 서버 (프레임 형식은 RpcCodec 참고).
+ * 연결은 유지되고, 클라이언트는 응답을 기다리지 않고 여러 요청을 이어 보낼 수 있다.
+ * 한 연결의 요청은 순서대로 처리되어 같은 순서로 응답하며, 읽어둔 요청을 모두 처리한 뒤에 한 번에 flush 한다.
+ * 연결은 끊길 때까지 처리 스레드 하나를 쓰므로 대기열에 두면 다른 연결이 끊길 때까지 응답 없이 기다리게 된다.
+ * 그래서 처리 스레드(maxConnections)가 모두 사용 중이면 새 연결에는 바로 requestId 0 의 SERVER_OVERLOADED 응답을 보내고 닫는다.
+ */
+@Slf4j
+public class TransactionRpcServer implements SmartLifecycle {
+    private final TransactionRpcHandler handler;
+    private final int port;
+    private final int maxConnections;
+
+    private ServerSocket serverSocket;
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    public TransactionRpcServer(TransactionRpcHandler handler, int port, int maxConnections) {
+        this.handler = handler;
+        this.port = port;
+        this.maxConnections = maxConnections;
+    }
+
+    @Override
+    public void start() {
+        try {
+            serverSocket = new ServerSocket(port);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open rpc port " + port, e);
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(maxConnections, maxConnections, 0L, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "rpc-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        running = true;
+        Thread acceptThread = new Thread(this::acceptLoop, "rpc-accept");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+        log.info("Transaction rpc server started on port {}", getPort());
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                try {
+                    executor.execute(() -> serve(socket));
+                } catch (RejectedExecutionException e) {
+                    reject(socket);
+                }
+            } catch (IOException e) {
+                if (running) {
+                    log.error("Failed to accept rpc connection", e);
+                }
+            }
+        }
+    }
+
+    private void reject(Socket socket) {
+        log.warn("Rpc connection rejected. connections : {}", maxConnections);
+        try (socket;
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            RpcCodec.writeResponse(out, RpcResponse.failure(0, SERVER_OVERLOADED.name()));
+            out.flush();
+        } catch (IOException e) {
+            log.debug("Failed to reject rpc connection : {}", e.getMessage());
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            RpcRequest request;
+            while ((request = RpcCodec.readRequest(in)) != null) {
+                RpcCodec.writeResponse(out, handler.handle(request));
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+            out.flush();
+        } catch (SocketException e) {
+            log.debug("Rpc connection closed : {}", e.getMessage());
+        } catch (IOException | RuntimeException e) {
+            log.error("Rpc connection failed", e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            if (serverSocket != null) {
+                serverSocket.close();
+            }
+        } catch (IOException e) {
+            log.error("Failed to close rpc server", e);
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.account.scheduler;
+
+import com.example.account.service.OutboxService;
+import com.example.account.shard.ShardContext;
+import com.example.account.shard.ShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * outbox 에 쌓인 거래 이벤트를 batch 단위로 발행한다. 한 번의 poll 에서 batch-size * max-batches-per-poll 개까지 보낸다.
+ * 발행이 밀리는 정도는 account.outbox.lag(저장 → 발행 시간)와 account.outbox.oldest_unpublished_age 로 본다.
+ */
+@Slf4j
+@Component
+@Lazy(false)
+@ConditionalOnProperty(name = "account.outbox.relay.enabled", havingValue = "true")
+public class OutboxRelay {
+    private final OutboxService outboxService;
+    private final ShardRouter shardRouter;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+
+    private final AtomicLong oldestUnpublishedAgeMillis = new AtomicLong();
+
+    public OutboxRelay(OutboxService outboxService,
+                       ShardRouter shardRouter,
+                       MeterRegistry meterRegistry,
+                       @Value("${account.outbox.relay.batch-size:500}") int batchSize,
+                       @Value("${account.outbox.relay.max-batches-per-poll:10}") int maxBatchesPerPoll) {
+        this.outboxService = outboxService;
+        this.shardRouter = shardRouter;
+        this.batchSize = batchSize;
+        this.maxBatchesPerPoll = maxBatchesPerPoll;
+
+        meterRegistry.more().timeGauge("account.outbox.oldest_unpublished_age", Tags.empty(),
+                oldestUnpublishedAgeMillis, TimeUnit.MILLISECONDS, AtomicLong::get);
+    }
+
+    @Scheduled(fixedDelayString = "${account.outbox.relay.poll-interval-ms:200}")
+    public void relay() {
+        long oldestAgeMillis = 0;
+        for (int shard : shardRouter.shards()) {
+            Duration oldestAge = ShardContext.call(shard, this::relayShard);
+            oldestAgeMillis = Math.max(oldestAgeMillis, oldestAge.toMillis());
+        }
+        oldestUnpublishedAgeMillis.set(oldestAgeMillis);
+    }
+
+    private Duration relayShard() {
+        try {
+            for (int i = 0; i < maxBatchesPerPoll; i++) {
+                if (outboxService.relayBatch(batchSize) < batchSize) {
+                    break;
+                }
+            }
+            return outboxService.oldestUnpublishedAge();
+        } catch (RuntimeException e) {
+            log.error("Outbox relay failed.", e);
+            return Duration.ofMillis(oldestUnpublishedAgeMillis.get());
+        }
+    }
+}
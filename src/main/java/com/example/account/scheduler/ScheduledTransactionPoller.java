@@ -0,0 +1,137 @@
+package com.example.account.scheduler;
+
+import com.example.account.dto.ScheduledTransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.exception.ErrorLogSampler;
+import com.example.account.service.LockService;
+import com.example.account.service.ScheduledTransactionService;
+import com.example.account.service.TransactionService;
+import com.example.account.shard.ShardContext;
+import com.example.account.shard.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 실행 시각이 지난 예약 출금을 batch 단위로 가져가서 실행한다.
+ * 한 번의 poll 에서 batch-size * max-batches-per-poll 개까지만 처리하고, batch 를 모두 실행한 뒤에 다음 batch 를 가져오므로
+ * 자정에 수백만 건이 몰려도 한 번에 큰 쿼리를 보내거나 DB/lock 에 요청이 한꺼번에 몰리지 않는다.
+ * 남은 예약은 다음 poll 에서 이어서 처리하고, 인스턴스를 늘리면 SKIP LOCKED 로 나눠 가져간다.
+ * 예약은 계좌의 shard 에 저장되므로 shard 마다 차례로 가져가서 그 shard 안에서 실행한다.
+ */
+@Slf4j
+@Component
+@Lazy(false)
+@ConditionalOnProperty(name = "account.scheduler.enabled", havingValue = "true")
+public class ScheduledTransactionPoller {
+    private static final ErrorLogSampler FAILURE_LOG_SAMPLER = new ErrorLogSampler(Duration.ofSeconds(1));
+
+    private final String owner = "scheduler-" + UUID.randomUUID();
+
+    private final ScheduledTransactionService scheduledTransactionService;
+    private final TransactionService transactionService;
+    private final LockService lockService;
+    private final ShardRouter shardRouter;
+    private final ThreadPoolTaskExecutor scheduledTransactionExecutor;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+    private final Duration claimTimeout;
+
+    private final Counter executed;
+    private final Counter failed;
+    private final Counter skipped;
+
+    public ScheduledTransactionPoller(ScheduledTransactionService scheduledTransactionService,
+                                      TransactionService transactionService,
+                                      LockService lockService,
+                                      ShardRouter shardRouter,
+                                      @Qualifier("scheduledTransactionExecutor") ThreadPoolTaskExecutor scheduledTransactionExecutor,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${account.scheduler.batch-size:100}") int batchSize,
+                                      @Value("${account.scheduler.max-batches-per-poll:10}") int maxBatchesPerPoll,
+                                      @Value("${account.scheduler.claim-timeout-seconds:60}") long claimTimeoutSeconds) {
+        this.scheduledTransactionService = scheduledTransactionService;
+        this.transactionService = transactionService;
+        this.lockService = lockService;
+        this.shardRouter = shardRouter;
+        this.scheduledTransactionExecutor = scheduledTransactionExecutor;
+        this.batchSize = batchSize;
+        this.maxBatchesPerPoll = maxBatchesPerPoll;
+        this.claimTimeout = Duration.ofSeconds(claimTimeoutSeconds);
+
+        this.executed = meterRegistry.counter("account.scheduled_transaction.executed", "result", "S");
+        this.failed = meterRegistry.counter("account.scheduled_transaction.executed", "result", "F");
+        this.skipped = meterRegistry.counter("account.scheduled_transaction.executed", "result", "skipped");
+    }
+
+    @Scheduled(fixedDelayString = "${account.scheduler.poll-interval-ms:1000}")
+    public void poll() {
+        for (int shard : shardRouter.shards()) {
+            ShardContext.run(shard, () -> pollShard(shard));
+        }
+    }
+
+    private void pollShard(int shard) {
+        for (int i = 0; i < maxBatchesPerPoll; i++) {
+            List<ScheduledTransactionDto> claimed = scheduledTransactionService
+                    .claimDueTransactions(owner, LocalDateTime.now(), batchSize, claimTimeout);
+            if (claimed.isEmpty()) {
+                return;
+            }
+
+            CompletableFuture.allOf(claimed.stream()
+                    .map(scheduledTransaction -> CompletableFuture.runAsync(
+                            () -> ShardContext.run(shard, () -> execute(scheduledTransaction)),
+                            scheduledTransactionExecutor))
+                    .toArray(CompletableFuture[]::new)).join();
+
+            if (claimed.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private void execute(ScheduledTransactionDto scheduledTransaction) {
+        try {
+            lockService.lock(scheduledTransaction.getAccountNumber());
+        } catch (AccountException e) {
+            // 계좌가 사용 중이면 claim 기한이 지난 뒤 다시 시도한다.
+            skipped.increment();
+            return;
+        }
+
+        try {
+            if (scheduledTransactionService.executeScheduledTransaction(scheduledTransaction.getId(), owner)) {
+                executed.increment();
+            } else {
+                skipped.increment();
+            }
+        } catch (AccountException e) {
+            FAILURE_LOG_SAMPLER.warn(log, "Failed to execute scheduled transaction.", e.getErrorCode());
+
+            transactionService.saveFailedUseTransaction(
+                    scheduledTransaction.getAccountNumber(),
+                    scheduledTransaction.getAmount()
+            );
+            scheduledTransactionService.failScheduledTransaction(scheduledTransaction.getId(), owner);
+            failed.increment();
+        } catch (RuntimeException e) {
+            log.error("Scheduled transaction failed. id : {}", scheduledTransaction.getId(), e);
+        } finally {
+            lockService.unlock(scheduledTransaction.getAccountNumber());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.account.service;
+
+import com.example.account.cache.NearCacheInvalidator;
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.dto.AccountRef;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountUserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static com.example.account.type.AccountStatus.UNREGISTERED;
+import static com.example.account.type.ErrorCode.*;
+
+/**
+ * 거의 바뀌지 않는 사용자와 계좌번호 → (계좌 id, 소유자, 상태)를 인스턴스 메모리에 둔다.
+ * 사용자는 요청마다 DB 에서 읽지 않고, 캐시에 있는 계좌는 소유자/해지 여부를 계좌를 읽기 전에 확인한다.
+ * 변경은 NearCacheInvalidator 가 모든 인스턴스에 알리고, 알림을 놓치더라도 expire 시간이 지나면 다시 읽는다.
+ * 알림 구독은 처음 캐시에 넣을 때 시작하고, 구독하지 못했으면 캐시에 넣지 않는다.
+ */
+@Service
+public class AccountLookupService {
+    private final AccountUserRepository accountUserRepository;
+    private final BooleanSupplier invalidationSubscribed;
+
+    private final Cache<Long, AccountUser> accountUsers;
+    private final Cache<String, AccountRef> accounts;
+
+    @Autowired
+    public AccountLookupService(AccountUserRepository accountUserRepository,
+                                ObjectProvider<NearCacheInvalidator> nearCacheInvalidator,
+                                @Value("${account.near-cache.maximum-size:100000}") long maximumSize,
+                                @Value("${account.near-cache.expire-after-write-seconds:600}") long expireAfterWriteSeconds) {
+        this(accountUserRepository, () -> nearCacheInvalidator.getObject().subscribe(),
+                maximumSize, expireAfterWriteSeconds);
+    }
+
+    AccountLookupService(AccountUserRepository accountUserRepository,
+                         long maximumSize,
+                         long expireAfterWriteSeconds) {
+        this(accountUserRepository, () -> true, maximumSize, expireAfterWriteSeconds);
+    }
+
+    AccountLookupService(AccountUserRepository accountUserRepository,
+                         BooleanSupplier invalidationSubscribed,
+                         long maximumSize,
+                         long expireAfterWriteSeconds) {
+        this.accountUserRepository = accountUserRepository;
+        this.invalidationSubscribed = invalidationSubscribed;
+        this.accountUsers = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWriteSeconds, TimeUnit.SECONDS)
+                .build();
+        this.accounts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWriteSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * 없는 사용자는 캐시하지 않는다.
+     */
+    public AccountUser getAccountUser(Long userId) {
+        AccountUser accountUser = accountUsers.getIfPresent(userId);
+        if (accountUser == null) {
+            accountUser = accountUserRepository.findById(userId)
+                    .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
+            if (invalidationSubscribed.getAsBoolean()) {
+                accountUsers.put(userId, accountUser);
+            }
+        }
+        return accountUser;
+    }
+
+    /**
+     * 캐시에 있는 계좌만 확인한다. 없으면 계좌를 읽은 뒤의 검증에서 확인한다.
+     * 해지는 되돌릴 수 없으므로 캐시가 오래되었더라도 해지된 계좌를 잘못 거절하지 않는다.
+     */
+    public void checkOwnership(Long userId, String accountNumber) {
+        AccountRef accountRef = accounts.getIfPresent(accountNumber);
+        if (accountRef == null) {
+            return;
+        }
+
+        if (!Objects.equals(userId, accountRef.getOwnerId())) {
+            throw new AccountException(USER_ACCOUNT_UN_MATCH);
+        }
+        if (accountRef.getAccountStatus() == UNREGISTERED) {
+            throw new AccountException(ACCOUNT_ALREADY_UNREGISTERED);
+        }
+    }
+
+    public void cacheAccount(Account account) {
+        if (invalidationSubscribed.getAsBoolean()) {
+            accounts.put(account.getAccountNumber(), AccountRef.from(account));
+        }
+    }
+
+    public void evictAccount(String accountNumber) {
+        accounts.invalidate(accountNumber);
+    }
+
+    public void evictAccountUser(Long userId) {
+        accountUsers.invalidate(userId);
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.account.service;
+
+import com.example.account.readmodel.AccountProjection;
+import com.example.account.readmodel.ConsistencyToken;
+import com.example.account.readmodel.ReadModelEpochHolder;
+import com.example.account.type.AccountStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBatch;
+import org.redisson.api.RFuture;
+import org.redisson.api.RMap;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+import static com.example.account.readmodel.AccountProjector.ACCOUNT_KEY_PREFIX;
+import static com.example.account.readmodel.AccountProjector.USER_KEY_PREFIX;
+import static com.example.account.readmodel.AccountProjector.USER_MARKER_KEY_PREFIX;
+
+/**
+ * 계좌 조회를 DB 대신 Redis read model(AccountProjector 가 갱신)에서 처리한다.
+ * read model 로 답할 수 없으면(꺼져 있음, token 의 변경이 아직 반영되지 않음, 사용자의 계좌 set 이 현재 epoch 로 다시 채워지지 않음,
+ * 다른 epoch 의 계좌가 섞여 있음, Redis 오류) empty 를 돌려주고, 호출자는 DB 에서 읽는다.
+ * DB 에서 읽은 호출자는 AccountProjector.rebuildUser 로 set 을 다시 채운다.
+ */
+@Slf4j
+@Service
+public class AccountReadModelService {
+    private static final long POLL_INTERVAL_MILLIS = 5;
+
+    private final RedissonClient redissonClient;
+    private final ReadModelEpochHolder readModelEpochHolder;
+    private final boolean enabled;
+    private final long maxWaitNanos;
+
+    private final Counter hit;
+    private final Counter fallback;
+
+    public AccountReadModelService(RedissonClient redissonClient,
+                                   ReadModelEpochHolder readModelEpochHolder,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${account.read-model.enabled:true}") boolean enabled,
+                                   @Value("${account.read-model.max-wait-ms:20}") long maxWaitMillis) {
+        this.redissonClient = redissonClient;
+        this.readModelEpochHolder = readModelEpochHolder;
+        this.enabled = enabled;
+        this.maxWaitNanos = maxWaitMillis * 1_000_000;
+        this.hit = meterRegistry.counter("account.read_model.read", "result", "hit");
+        this.fallback = meterRegistry.counter("account.read_model.read", "result", "fallback");
+    }
+
+    /**
+     * consistencyToken 이 있으면 그 변경이 반영될 때까지 max-wait 동안 기다린 뒤에 읽는다(read-your-writes).
+     * 기다리는 동안 호출한 스레드를 쥐고 있으므로 max-wait 는 DB 에서 한 번 읽는 시간보다 길게 두지 않는다.
+     */
+    public Optional<List<AccountProjection>> getAccountsByUserId(Long userId, String consistencyToken) {
+        String epoch = readModelEpochHolder.getEpoch();
+        if (!enabled || epoch == null) {
+            return Optional.empty();
+        }
+        ConsistencyToken token = consistencyToken == null ? null : ConsistencyToken.parse(consistencyToken);
+
+        try {
+            if (token != null && !awaitRevision(token, epoch)) {
+                fallback.increment();
+                return Optional.empty();
+            }
+
+            RBatch userBatch = redissonClient.createBatch();
+            RFuture<String> marker = userBatch.<String>getBucket(USER_MARKER_KEY_PREFIX + userId, StringCodec.INSTANCE)
+                    .getAsync();
+            RFuture<Set<String>> members = userBatch.<String>getSet(USER_KEY_PREFIX + userId, StringCodec.INSTANCE)
+                    .readAllAsync();
+            userBatch.execute();
+
+            Set<String> accountNumbers = members.getNow();
+            if (!epoch.equals(marker.getNow()) || accountNumbers.isEmpty()) {
+                fallback.increment();
+                return Optional.empty();
+            }
+
+            RBatch batch = redissonClient.createBatch();
+            List<RFuture<Map<String, String>>> futures = new ArrayList<>(accountNumbers.size());
+            for (String accountNumber : accountNumbers) {
+                futures.add(batch.<String, String>getMap(ACCOUNT_KEY_PREFIX + accountNumber, StringCodec.INSTANCE)
+                        .readAllMapAsync());
+            }
+            batch.execute();
+
+            List<AccountProjection> accounts = new ArrayList<>(futures.size());
+            for (RFuture<Map<String, String>> future : futures) {
+                Map<String, String> fields = future.getNow();
+                if (fields == null || !epoch.equals(fields.get("epoch"))) {
+                    fallback.increment();
+                    return Optional.empty();
+                }
+                accounts.add(toProjection(fields));
+            }
+            accounts.sort(Comparator.comparing(AccountProjection::getAccountNumber));
+
+            hit.increment();
+            return Optional.of(accounts);
+        } catch (RedisException e) {
+            log.warn("Failed to read account read model. userId : {}", userId, e);
+            fallback.increment();
+            return Optional.empty();
+        }
+    }
+
+    private boolean awaitRevision(ConsistencyToken token, String epoch) {
+        RMap<String, String> account = redissonClient.getMap(
+                ACCOUNT_KEY_PREFIX + token.getAccountNumber(), StringCodec.INSTANCE);
+        Set<String> fieldNames = new HashSet<>(Arrays.asList("epoch", "revision"));
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (true) {
+            Map<String, String> fields = account.getAll(fieldNames);
+            String revision = fields.get("revision");
+            if (epoch.equals(fields.get("epoch")) && revision != null && Long.parseLong(revision) >= token.getRevision()) {
+                return true;
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    private static AccountProjection toProjection(Map<String, String> fields) {
+        return AccountProjection.builder()
+                .accountNumber(fields.get("accountNumber"))
+                .userId(Long.valueOf(fields.get("userId")))
+                .accountStatus(AccountStatus.valueOf(fields.get("accountStatus")))
+                .balance(Long.valueOf(fields.get("balance")))
+                .lastTransactionId(fields.get("lastTransactionId"))
+                .revision(Long.parseLong(fields.get("revision")))
+                .build();
+    }
+}
@@ -1,11 +1,16 @@
 package com.example.account.service;
 
+import com.example.account.bloom.IdentifierBloomFilter;
+import com.example.account.cache.NearCacheInvalidator;
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
 import com.example.account.dto.AccountDto;
 import com.example.account.exception.AccountException;
+import com.example.account.readmodel.AccountProjection;
+import com.example.account.readmodel.AccountProjector;
 import com.example.account.repository.AccountRepository;
-import com.example.account.repository.AccountUserRepository;
+import com.example.account.shard.ShardKey;
+import com.example.account.shard.ShardRouter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -24,17 +29,21 @@ import static com.example.account.type.ErrorCode.*;
 public class AccountService {
 
     private final AccountRepository accountRepository;
-    private final AccountUserRepository accountUserRepository;
+    private final ShardRouter shardRouter;
+    private final AccountLookupService accountLookupService;
+    private final NearCacheInvalidator nearCacheInvalidator;
+    private final IdentifierBloomFilter identifierBloomFilter;
+    private final AccountProjector accountProjector;
 
     @Transactional
-    public AccountDto createAccount(Long userId, Long initBalance) {
+    public AccountDto createAccount(@ShardKey(ShardKey.Type.USER_ID) Long userId, Long initBalance) {
 
-        AccountUser accountUser = accountUserRepository.findById(userId).orElseThrow(() -> new AccountException(USER_NOT_FOUND));
+        AccountUser accountUser = accountLookupService.getAccountUser(userId);
 
         validateCreateAccount(accountUser);
-        String newAccountNumber = accountRepository.findFirstByOrderByIdDesc().map(account -> (Integer.parseInt(account.getAccountNumber()) + 1 + "")) // 여기까지 return값은 Optional
-                // ? Optional타입을 문자열로 바꾸는 방법은 .toString()도 있지만, 위와 같이 + ""를 해줄 수도 있음
-                .orElse("1000000000");
+        // 사용자의 shard 에서 마지막 계좌번호 다음 번호(shard 수만큼 건너뜀)를 발급해 계좌번호만으로 shard 를 찾을 수 있게 한다.
+        String newAccountNumber = accountRepository.findFirstByOrderByIdDesc().map(account -> shardRouter.nextAccountNumber(account.getAccountNumber())) // 여기까지 return값은 Optional
+                .orElseGet(() -> shardRouter.firstAccountNumber(shardRouter.shardOfUser(userId)));
 
         // ? .save() : JpaRepository 인터페이스에서 제공하는 기능/ save하면서 save 된 Account를 반환한다.
         return AccountDto.fromEntity(
@@ -57,16 +66,21 @@ public class AccountService {
     }
 
     @Transactional
-    public AccountDto deleteAccount(Long userId, String accountNumber) {
-        AccountUser accountUser = accountUserRepository.findById(userId).orElseThrow(() -> new AccountException(USER_NOT_FOUND));
-        Account account = accountRepository.findByAccountNumber(accountNumber).orElseThrow(() -> new AccountException(USER_ACCOUNT_NOT_FOUND));
+    public AccountDto deleteAccount(Long userId, @ShardKey String accountNumber) {
+        identifierBloomFilter.checkAccountNumber(accountNumber);
+        AccountUser accountUser = accountLookupService.getAccountUser(userId);
+        accountLookupService.checkOwnership(userId, accountNumber);
+        // lease 가 만료된 요청이 새 lock 소유자가 사용 중인 계좌를 해지하지 못하게 한다.
+        FencingTokenGuard.claim(accountRepository, accountNumber);
+        Account account = accountRepository.findByAccountNumber(accountNumber).orElseThrow(identifierBloomFilter::accountNumberNotFound);
 
         validateDeleteAccount(accountUser, account);
 
-        account.setAccountStatus(UNREGISTERED);
-        account.setUnRegisteredAt(LocalDateTime.now());
+        account.unregister();
 
         accountRepository.save(account);
+        // 커밋된 뒤 모든 인스턴스의 near cache 에서 계좌를 지운다.
+        nearCacheInvalidator.invalidateAccount(accountNumber);
 
         return AccountDto.fromEntity(account);
     }
@@ -86,12 +100,15 @@ public class AccountService {
     }
 
     @Transactional
-    public List<AccountDto> getAccountsByUserId(Long userId) {
+    public List<AccountDto> getAccountsByUserId(@ShardKey(ShardKey.Type.USER_ID) Long userId) {
 
-        AccountUser accountUser =
-                accountUserRepository.findById(userId).orElseThrow(() -> new AccountException(USER_NOT_FOUND));
+        AccountUser accountUser = accountLookupService.getAccountUser(userId);
 
         List<Account> accounts = accountRepository.findByAccountUser(accountUser);
+        // read model 로 답하지 못해 DB 에서 읽었으므로, 다음 조회부터는 read model 로 답할 수 있게 다시 채운다.
+        accountProjector.rebuildUser(userId, accounts.stream()
+                .map(account -> AccountProjection.from(account, null))
+                .collect(Collectors.toList()));
 
         return accounts.stream().map(AccountDto::fromEntity).collect(Collectors.toList());
     }
@@ -0,0 +1,34 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.lock.FencingTokenHolder;
+import com.example.account.repository.AccountRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import static com.example.account.type.ErrorCode.ACCOUNT_LOCK_EXPIRED;
+
+/**
+ * 계좌를 바꾸는 서비스가 공통으로 쓰는 fencing token 선점.
+ */
+@Slf4j
+final class FencingTokenGuard {
+    private FencingTokenGuard() {
+    }
+
+    /**
+     * 계좌 lock을 잡은 상태라면, 계좌를 읽기 전에 fencing token으로 선점한다.
+     * lease가 만료된 뒤 더 새로운 token으로 계좌가 변경되었다면 거래를 거절한다.
+     */
+    static void claim(AccountRepository accountRepository, String accountNumber) {
+        Long fencingToken = FencingTokenHolder.get(accountNumber);
+        if (fencingToken == null) {
+            return;
+        }
+
+        if (accountRepository.claimWithFencingToken(accountNumber, fencingToken) == 0
+                && accountRepository.existsByAccountNumber(accountNumber)) {
+            log.error("Stale fencing token. accountNumber : {}, token : {}", accountNumber, fencingToken);
+            throw new AccountException(ACCOUNT_LOCK_EXPIRED);
+        }
+    }
+}
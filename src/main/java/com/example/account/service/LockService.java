@@ -0,0 +1,223 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.lock.FencingTokenHolder;
+import com.example.account.lock.LockProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.example.account.type.ErrorCode.ACCOUNT_TRANSACTION_LOCK;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LockService {
+    private static final long WAIT_TIME_SECONDS = 1;
+    // lease가 만료된 소유자의 쓰기는 fencing token으로 막으므로 lease를 짧게 가져간다.
+    private static final long LEASE_TIME_SECONDS = 5;
+    private static final long LOCK_ALL_RETRY_INTERVAL_MILLIS = 10;
+
+    private final LockProvider lockProvider;
+    private final MeterRegistry meterRegistry;
+
+    // lock 보유 시간 측정용. 계좌 lock은 배타적이므로 계좌번호로 구분하면 충분하다.
+    private final Map<String, Long> acquiredAt = new ConcurrentHashMap<>();
+
+    /**
+     * lock을 잡고 fencing token을 현재 스레드(FencingTokenHolder)에 보관한다.
+     */
+    public void lock(String accountNumber) {
+        log.debug("Trying lock for accountNumber : {}", accountNumber);
+
+        long started = System.nanoTime();
+        try {
+            boolean isLock = lockProvider.tryLock(getLockKey(accountNumber),
+                    WAIT_TIME_SECONDS, LEASE_TIME_SECONDS, TimeUnit.SECONDS);
+            recordWait(started, isLock);
+            if (!isLock) {
+                log.error("======Lock acquisition failed=====");
+                throw new AccountException(ACCOUNT_TRANSACTION_LOCK);
+            }
+            acquiredAt.put(accountNumber, System.nanoTime());
+            try {
+                FencingTokenHolder.push(accountNumber, nextFencingToken(accountNumber));
+            } catch (RuntimeException e) {
+                acquiredAt.remove(accountNumber);
+                lockProvider.unlock(getLockKey(accountNumber));
+                throw e;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            recordWait(started, false);
+            throw new AccountException(ACCOUNT_TRANSACTION_LOCK);
+        }
+    }
+
+    public void unlock(String accountNumber) {
+        log.debug("Unlock for accountNumber : {}", accountNumber);
+        recordHold(accountNumber);
+        FencingTokenHolder.pop(accountNumber);
+        lockProvider.unlock(getLockKey(accountNumber));
+    }
+
+    /**
+     * 스레드를 점유하지 않고 lock을 기다린다.
+     * lock은 스레드 id로 소유자를 구분하므로, 요청마다 고유한 ownerId를 넘겨야 한다.
+     * 작업이 실행될 스레드가 정해지지 않았으므로 fencing token은 돌려주기만 한다.
+     */
+    public CompletableFuture<Long> lockAsync(String accountNumber, long ownerId) {
+        long started = System.nanoTime();
+        return lockProvider.tryLockAsync(getLockKey(accountNumber), ownerId,
+                        WAIT_TIME_SECONDS, LEASE_TIME_SECONDS, TimeUnit.SECONDS)
+                .thenCompose(isLock -> {
+                    recordWait(started, isLock);
+                    if (!isLock) {
+                        log.error("======Lock acquisition failed=====");
+                        throw new AccountException(ACCOUNT_TRANSACTION_LOCK);
+                    }
+                    acquiredAt.put(accountNumber, System.nanoTime());
+                    return lockProvider.nextFencingTokenAsync(getLockKey(accountNumber))
+                            .whenComplete((fencingToken, e) -> {
+                                if (e != null) {
+                                    unlockAsync(accountNumber, ownerId);
+                                }
+                            });
+                });
+    }
+
+    public CompletableFuture<Void> unlockAsync(String accountNumber, long ownerId) {
+        recordHold(accountNumber);
+        return lockProvider.unlockAsync(getLockKey(accountNumber), ownerId);
+    }
+
+    /**
+     * 여러 계좌 lock을 기다리지 않고(waitTime 0) 한꺼번에 요청한다. Redisson은 이 요청들을 pipelining 하므로
+     * 계좌 수와 상관없이 한 번의 round-trip이 걸린다. 하나라도 실패하면 잡은 lock을 모두 풀고 다시 시도하므로,
+     * 일부 lock을 쥔 채로 기다리는 일이 없어 deadlock이 생기지 않는다.
+     */
+    public AccountLocks lockAll(Collection<String> accountNumbers) {
+        List<String> sorted = accountNumbers.stream().distinct().sorted().collect(Collectors.toList());
+        long ownerId = Thread.currentThread().getId();
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.SECONDS.toNanos(WAIT_TIME_SECONDS);
+
+        while (true) {
+            List<CompletableFuture<Boolean>> futures = sorted.stream()
+                    .map(accountNumber -> lockProvider.tryLockAsync(getLockKey(accountNumber), ownerId,
+                            0, LEASE_TIME_SECONDS, TimeUnit.SECONDS))
+                    .collect(Collectors.toList());
+
+            List<String> acquired = new ArrayList<>(sorted.size());
+            for (int i = 0; i < sorted.size(); i++) {
+                if (Boolean.TRUE.equals(futures.get(i).join())) {
+                    acquired.add(sorted.get(i));
+                }
+            }
+            if (acquired.size() == sorted.size()) {
+                recordWait(started, true);
+                long now = System.nanoTime();
+                sorted.forEach(accountNumber -> acquiredAt.put(accountNumber, now));
+                pushFencingTokens(sorted, ownerId);
+                return new AccountLocks(sorted, ownerId);
+            }
+
+            unlockAll(acquired, ownerId);
+            if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(LOCK_ALL_RETRY_INTERVAL_MILLIS) > deadline) {
+                recordWait(started, false);
+                log.error("======Lock acquisition failed===== accounts : {}", sorted);
+                throw new AccountException(ACCOUNT_TRANSACTION_LOCK);
+            }
+            try {
+                Thread.sleep(LOCK_ALL_RETRY_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                recordWait(started, false);
+                throw new AccountException(ACCOUNT_TRANSACTION_LOCK);
+            }
+        }
+    }
+
+    private long nextFencingToken(String accountNumber) {
+        Long heldToken = FencingTokenHolder.get(accountNumber);
+        if (heldToken != null) {
+            // 이미 잡고 있는 lock을 다시 잡은 경우 같은 token을 사용한다.
+            return heldToken;
+        }
+        return lockProvider.nextFencingTokenAsync(getLockKey(accountNumber)).join();
+    }
+
+    private void pushFencingTokens(List<String> accountNumbers, long ownerId) {
+        List<CompletableFuture<Long>> fencingTokens = accountNumbers.stream()
+                .map(accountNumber -> FencingTokenHolder.get(accountNumber) != null
+                        ? CompletableFuture.completedFuture(FencingTokenHolder.get(accountNumber))
+                        : lockProvider.nextFencingTokenAsync(getLockKey(accountNumber)))
+                .collect(Collectors.toList());
+        try {
+            CompletableFuture.allOf(fencingTokens.toArray(new CompletableFuture[0])).join();
+        } catch (RuntimeException e) {
+            unlockAll(accountNumbers, ownerId);
+            throw e;
+        }
+        for (int i = 0; i < accountNumbers.size(); i++) {
+            FencingTokenHolder.push(accountNumbers.get(i), fencingTokens.get(i).join());
+        }
+    }
+
+    private void unlockAll(List<String> accountNumbers, long ownerId) {
+        CompletableFuture.allOf(accountNumbers.stream()
+                .map(accountNumber -> lockProvider.unlockAsync(getLockKey(accountNumber), ownerId))
+                .toArray(CompletableFuture[]::new)).join();
+    }
+
+    private void recordWait(long started, boolean acquired) {
+        Timer.builder("account.lock.wait")
+                .tag("result", acquired ? "acquired" : "timeout")
+                .register(meterRegistry)
+                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    private void recordHold(String accountNumber) {
+        Long lockedAt = acquiredAt.remove(accountNumber);
+        if (lockedAt != null) {
+            Timer.builder("account.lock.hold")
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - lockedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private String getLockKey(String accountNumber) {
+        return "ACLK:" + accountNumber;
+    }
+
+    /**
+     * lockAll로 잡은 lock 묶음. try-with-resources로 해제한다.
+     */
+    public class AccountLocks implements AutoCloseable {
+        private final List<String> accountNumbers;
+        private final long ownerId;
+
+        private AccountLocks(List<String> accountNumbers, long ownerId) {
+            this.accountNumbers = accountNumbers;
+            this.ownerId = ownerId;
+        }
+
+        @Override
+        public void close() {
+            accountNumbers.forEach(LockService.this::recordHold);
+            accountNumbers.forEach(FencingTokenHolder::pop);
+            unlockAll(accountNumbers, ownerId);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.account.service;
+
+import com.example.account.domain.OutboxEvent;
+import com.example.account.dto.OutboxMessage;
+import com.example.account.outbox.OutboxPublisher;
+import com.example.account.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import javax.transaction.Transactional;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * outbox 이벤트를 batch 단위로 발행한다. 계좌별로 묶어 순서대로 보내고, 보내는 데 실패한 계좌의 이벤트는
+ * 발행 표시를 하지 않아 다음 relay 에서 다시 보낸다 (최소 한 번 전달).
+ * 실패한 계좌는 retry-after 동안 조회에서 제외해, 한 계좌의 이벤트가 batch 를 채워 다른 계좌의 발행을 막지 않게 한다.
+ * 계좌의 이벤트를 모두 제외하므로 계좌 안의 순서는 그대로 지켜진다.
+ */
+@Slf4j
+@Service
+public class OutboxService {
+    // 제외 목록이 query parameter 로 들어가므로 크기를 제한한다. 넘으면 더 미루지 않고 다음 relay 에서 그대로 다시 시도한다.
+    private static final int MAX_PARKED_ACCOUNTS = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxPublisher outboxPublisher;
+    private final long retryAfterMillis;
+    private final LongSupplier clock;
+
+    // 발행에 실패한 계좌번호 -> 다시 시도할 시각(ms)
+    private final Map<String, Long> parkedUntil = new ConcurrentHashMap<>();
+
+    private final Timer lag;
+    private final Counter published;
+    private final Counter failed;
+
+    @Autowired
+    public OutboxService(OutboxEventRepository outboxEventRepository,
+                         OutboxPublisher outboxPublisher,
+                         MeterRegistry meterRegistry,
+                         @Value("${account.outbox.relay.retry-after-ms:5000}") long retryAfterMillis) {
+        this(outboxEventRepository, outboxPublisher, meterRegistry, retryAfterMillis, System::currentTimeMillis);
+    }
+
+    OutboxService(OutboxEventRepository outboxEventRepository,
+                  OutboxPublisher outboxPublisher,
+                  MeterRegistry meterRegistry,
+                  long retryAfterMillis,
+                  LongSupplier clock) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxPublisher = outboxPublisher;
+        this.retryAfterMillis = retryAfterMillis;
+        this.clock = clock;
+        this.lag = Timer.builder("account.outbox.lag")
+                .description("outbox 에 저장된 뒤 발행될 때까지 걸린 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.published = meterRegistry.counter("account.outbox.published", "result", "success");
+        this.failed = meterRegistry.counter("account.outbox.published", "result", "failed");
+        meterRegistry.gaugeMapSize("account.outbox.parked_accounts", Tags.empty(), parkedUntil);
+    }
+
+    /**
+     * 가장 오래된 발행 대기 이벤트를 최대 batchSize 개 발행하고, 발행한 수를 돌려준다.
+     */
+    @Transactional
+    public int relayBatch(int batchSize) {
+        List<String> parked = parkedAccountNumbers();
+        List<OutboxEvent> events = parked.isEmpty()
+                ? outboxEventRepository.findUnpublishedForUpdate(PageRequest.of(0, batchSize))
+                : outboxEventRepository.findUnpublishedForUpdateExcluding(parked, PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<OutboxEvent>> eventsByAccount = events.stream()
+                .collect(Collectors.groupingBy(OutboxEvent::getAccountNumber, LinkedHashMap::new, Collectors.toList()));
+        List<Long> publishedIds = new ArrayList<>(events.size());
+        LocalDateTime now = LocalDateTime.now();
+
+        eventsByAccount.forEach((accountNumber, accountEvents) -> {
+            try {
+                outboxPublisher.publish(accountNumber, accountEvents.stream()
+                        .map(OutboxMessage::fromEntity)
+                        .collect(Collectors.toList()));
+            } catch (RuntimeException e) {
+                log.warn("Failed to publish outbox events. accountNumber : {}, events : {}",
+                        accountNumber, accountEvents.size(), e);
+                failed.increment(accountEvents.size());
+                park(accountNumber);
+                return;
+            }
+            parkedUntil.remove(accountNumber);
+
+            for (OutboxEvent event : accountEvents) {
+                publishedIds.add(event.getId());
+                lag.record(Duration.between(event.getCreatedAt(), now));
+            }
+        });
+
+        if (!publishedIds.isEmpty()) {
+            outboxEventRepository.markPublished(publishedIds, now);
+            published.increment(publishedIds.size());
+        }
+        return publishedIds.size();
+    }
+
+    private List<String> parkedAccountNumbers() {
+        long now = clock.getAsLong();
+        parkedUntil.values().removeIf(until -> until <= now);
+        return new ArrayList<>(parkedUntil.keySet());
+    }
+
+    private void park(String accountNumber) {
+        if (parkedUntil.size() < MAX_PARKED_ACCOUNTS) {
+            parkedUntil.put(accountNumber, clock.getAsLong() + retryAfterMillis);
+        }
+    }
+
+    /**
+     * 가장 오래 발행을 기다리고 있는 이벤트의 대기 시간. 없으면 0.
+     */
+    public Duration oldestUnpublishedAge() {
+        return outboxEventRepository.findFirstByPublishedAtIsNullOrderByIdAsc()
+                .map(event -> Duration.between(event.getCreatedAt(), LocalDateTime.now()))
+                .orElse(Duration.ZERO);
+    }
+}
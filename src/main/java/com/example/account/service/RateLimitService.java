@@ -0,0 +1,199 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.example.account.type.ErrorCode.TOO_MANY_REQUESTS;
+
+/**
+ * userId / accountNumber 별 token bucket.
+ * 버킷은 Redis에 두고 사용자와 계좌 버킷의 충전과 차감을 Lua 스크립트 한 번으로 원자적으로 처리한다.
+ * 한 번 거절된 키는 다음 토큰이 생길 때까지 로컬 캐시에서 바로 거절해서 Redis를 호출하지 않는다.
+ */
+@Slf4j
+@Service
+public class RateLimitService {
+    private static final String SCOPE_USER = "user";
+    private static final String SCOPE_ACCOUNT = "account";
+
+    // KEYS 의 버킷마다 ARGV 에 (capacity, refillPerMs) 가 차례로 들어온다.
+    // 모든 버킷에 토큰이 있을 때만 하나씩 차감하고, 하나라도 없으면 아무것도 차감하지 않는다.
+    // return: {0, 0} 이면 허용, 그 외에는 {거절한 버킷의 순번(1부터), 다음 토큰까지 남은 시간(ms)}
+    private static final String TOKEN_BUCKET_SCRIPT =
+            "local time = redis.call('TIME') "
+            + "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) "
+            + "local result = {0, 0} "
+            + "local tokens = {} "
+            + "for i, key in ipairs(KEYS) do "
+            + "  local capacity = tonumber(ARGV[2 * i - 1]) "
+            + "  local refillPerMs = tonumber(ARGV[2 * i]) "
+            + "  local bucket = redis.call('HMGET', key, 'tokens', 'ts') "
+            + "  local current = tonumber(bucket[1]) "
+            + "  local ts = tonumber(bucket[2]) "
+            + "  if current == nil then current = capacity ts = now end "
+            + "  current = math.min(capacity, current + math.max(0, now - ts) * refillPerMs) "
+            + "  if current < 1 and result[1] == 0 then "
+            + "    result = {i, math.ceil((1 - current) / refillPerMs)} "
+            + "  end "
+            + "  tokens[i] = current "
+            + "end "
+            + "if result[1] ~= 0 then return result end "
+            + "for i, key in ipairs(KEYS) do "
+            + "  local capacity = tonumber(ARGV[2 * i - 1]) "
+            + "  local refillPerMs = tonumber(ARGV[2 * i]) "
+            + "  redis.call('HMSET', key, 'tokens', tostring(tokens[i] - 1), 'ts', tostring(now)) "
+            + "  redis.call('PEXPIRE', key, math.ceil(capacity / refillPerMs) + 1000) "
+            + "end "
+            + "return result";
+
+    private final RedissonClient redissonClient;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+    private final boolean enabled;
+
+    private final Cache<String, Long> deniedUntil;
+    private final Map<String, Policy> policies = new ConcurrentHashMap<>();
+
+    public RateLimitService(RedissonClient redissonClient,
+                            MeterRegistry meterRegistry,
+                            Environment environment,
+                            @Value("${account.rate-limit.enabled:true}") boolean enabled,
+                            @Value("${account.rate-limit.local-cache-size:100000}") long localCacheSize) {
+        this.redissonClient = redissonClient;
+        this.meterRegistry = meterRegistry;
+        this.environment = environment;
+        this.enabled = enabled;
+        this.deniedUntil = Caffeine.newBuilder()
+                .maximumSize(localCacheSize)
+                .expireAfterWrite(1, TimeUnit.MINUTES)
+                .build();
+    }
+
+    public void checkLimit(String endpoint, Long userId, String accountNumber) {
+        if (!enabled) {
+            return;
+        }
+        Policy policy = policies.computeIfAbsent(endpoint, this::loadPolicy);
+
+        List<Bucket> buckets = new ArrayList<>(2);
+        if (userId != null && policy.userCapacity > 0) {
+            buckets.add(new Bucket(endpoint, SCOPE_USER, String.valueOf(userId),
+                    policy.userCapacity, policy.userRefillPerSecond));
+        }
+        if (accountNumber != null && policy.accountCapacity > 0) {
+            buckets.add(new Bucket(endpoint, SCOPE_ACCOUNT, accountNumber,
+                    policy.accountCapacity, policy.accountRefillPerSecond));
+        }
+        if (!buckets.isEmpty()) {
+            tryAcquire(endpoint, buckets);
+        }
+    }
+
+    /**
+     * 모든 버킷을 스크립트 한 번으로 확인해서, 한 버킷이 거절하면 다른 버킷의 토큰도 쓰지 않는다.
+     */
+    private void tryAcquire(String endpoint, List<Bucket> buckets) {
+        long now = System.currentTimeMillis();
+        for (Bucket bucket : buckets) {
+            Long until = deniedUntil.getIfPresent(bucket.key);
+            if (until != null && until > now) {
+                reject(endpoint, bucket.scope, "local");
+            }
+        }
+
+        List<Object> keys = buckets.stream().<Object>map(bucket -> bucket.key).collect(Collectors.toList());
+        Object[] args = buckets.stream()
+                .flatMap(bucket -> Stream.of(String.valueOf(bucket.capacity),
+                        String.valueOf(bucket.refillPerSecond / 1000.0)))
+                .toArray();
+
+        List<Long> result;
+        try {
+            result = redissonClient.getScript(StringCodec.INSTANCE).eval(
+                    RScript.Mode.READ_WRITE,
+                    TOKEN_BUCKET_SCRIPT,
+                    RScript.ReturnType.MULTI,
+                    keys,
+                    args);
+        } catch (RuntimeException e) {
+            // Redis 장애로 모든 요청을 막지 않도록 한도 확인만 건너뛴다.
+            log.error("Rate limit check failed. keys : {}", keys, e);
+            return;
+        }
+
+        int rejected = result.get(0).intValue();
+        if (rejected > 0) {
+            Bucket bucket = buckets.get(rejected - 1);
+            deniedUntil.put(bucket.key, now + result.get(1));
+            reject(endpoint, bucket.scope, "redis");
+        }
+    }
+
+    private void reject(String endpoint, String scope, String source) {
+        Counter.builder("account.rate_limit.rejected")
+                .tag("endpoint", endpoint)
+                .tag("scope", scope)
+                .tag("source", source)
+                .register(meterRegistry)
+                .increment();
+
+        throw new AccountException(TOO_MANY_REQUESTS);
+    }
+
+    private Policy loadPolicy(String endpoint) {
+        String prefix = "account.rate-limit." + endpoint + ".";
+
+        return new Policy(
+                environment.getProperty(prefix + "per-user.capacity", Long.class, 0L),
+                environment.getProperty(prefix + "per-user.refill-per-second", Double.class, 0.0),
+                environment.getProperty(prefix + "per-account.capacity", Long.class, 0L),
+                environment.getProperty(prefix + "per-account.refill-per-second", Double.class, 0.0));
+    }
+
+    private static class Bucket {
+        private final String key;
+        private final String scope;
+        private final long capacity;
+        private final double refillPerSecond;
+
+        private Bucket(String endpoint, String scope, String id, long capacity, double refillPerSecond) {
+            this.key = "RATE:" + endpoint + ":" + scope + ":" + id;
+            this.scope = scope;
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+
+    private static class Policy {
+        private final long userCapacity;
+        private final double userRefillPerSecond;
+        private final long accountCapacity;
+        private final double accountRefillPerSecond;
+
+        private Policy(long userCapacity, double userRefillPerSecond,
+                       long accountCapacity, double accountRefillPerSecond) {
+            this.userCapacity = userRefillPerSecond > 0 ? userCapacity : 0;
+            this.userRefillPerSecond = userRefillPerSecond;
+            this.accountCapacity = accountRefillPerSecond > 0 ? accountCapacity : 0;
+            this.accountRefillPerSecond = accountRefillPerSecond;
+        }
+    }
+}
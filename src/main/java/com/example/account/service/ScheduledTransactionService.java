@@ -0,0 +1,145 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.domain.ScheduledTransaction;
+import com.example.account.dto.ScheduledTransactionDto;
+import com.example.account.dto.TransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountUserRepository;
+import com.example.account.repository.ScheduledTransactionRepository;
+import com.example.account.shard.ShardFanOut;
+import com.example.account.shard.ShardKey;
+import com.example.account.type.AccountStatus;
+import com.example.account.type.RecurrenceType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import javax.transaction.Transactional;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static com.example.account.type.ErrorCode.*;
+import static com.example.account.type.ScheduledTransactionStatus.ACTIVE;
+import static com.example.account.type.TransactionResultType.F;
+import static com.example.account.type.TransactionResultType.S;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScheduledTransactionService {
+    private final ScheduledTransactionRepository scheduledTransactionRepository;
+    private final AccountUserRepository accountUserRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionService transactionService;
+
+    @Transactional
+    public ScheduledTransactionDto scheduleTransaction(Long userId, @ShardKey String accountNumber, Long amount,
+                                                       LocalDateTime executeAt, RecurrenceType recurrenceType) {
+        AccountUser accountUser = accountUserRepository.findById(userId)
+                .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException(USER_ACCOUNT_NOT_FOUND));
+
+        if (!Objects.equals(accountUser.getId(), account.getAccountUser().getId())) {
+            throw new AccountException(USER_ACCOUNT_UN_MATCH);
+        }
+        if (account.getAccountStatus() != AccountStatus.IN_USE) {
+            throw new AccountException(ACCOUNT_ALREADY_UNREGISTERED);
+        }
+
+        return ScheduledTransactionDto.fromEntity(scheduledTransactionRepository.save(
+                ScheduledTransaction.builder()
+                        .accountUser(accountUser)
+                        .account(account)
+                        .amount(amount)
+                        .recurrenceType(recurrenceType)
+                        .status(ACTIVE)
+                        .firstExecuteAt(executeAt)
+                        .nextExecuteAt(executeAt)
+                        .executionCount(0)
+                        .build()));
+    }
+
+    @Transactional
+    @ShardFanOut
+    public ScheduledTransactionDto cancelScheduledTransaction(Long userId, Long scheduledTransactionId) {
+        ScheduledTransaction scheduledTransaction = scheduledTransactionRepository
+                .findByIdForUpdate(scheduledTransactionId)
+                .orElseThrow(() -> new AccountException(SCHEDULED_TRANSACTION_NOT_FOUND));
+
+        if (!Objects.equals(userId, scheduledTransaction.getAccountUser().getId())) {
+            throw new AccountException(USER_ACCOUNT_UN_MATCH);
+        }
+        if (scheduledTransaction.getStatus() != ACTIVE) {
+            throw new AccountException(SCHEDULED_TRANSACTION_NOT_ACTIVE);
+        }
+
+        scheduledTransaction.cancel();
+
+        return ScheduledTransactionDto.fromEntity(scheduledTransaction);
+    }
+
+    @ShardFanOut
+    public ScheduledTransactionDto getScheduledTransaction(Long scheduledTransactionId) {
+        return ScheduledTransactionDto.fromEntity(scheduledTransactionRepository
+                .findById(scheduledTransactionId)
+                .orElseThrow(() -> new AccountException(SCHEDULED_TRANSACTION_NOT_FOUND)));
+    }
+
+    /**
+     * 실행 시각이 지난 예약을 최대 batchSize 개 가져가서(claim) claimTimeout 동안 owner 만 실행할 수 있게 한다.
+     * 여러 인스턴스가 동시에 호출해도 서로 다른 예약을 가져간다.
+     */
+    @Transactional
+    public List<ScheduledTransactionDto> claimDueTransactions(String owner, LocalDateTime now,
+                                                              int batchSize, Duration claimTimeout) {
+        List<ScheduledTransaction> dueTransactions = scheduledTransactionRepository
+                .findDueForUpdate(ACTIVE, now, PageRequest.of(0, batchSize));
+        LocalDateTime claimedUntil = now.plus(claimTimeout);
+        dueTransactions.forEach(scheduledTransaction -> scheduledTransaction.claim(owner, claimedUntil));
+
+        return dueTransactions.stream()
+                .map(ScheduledTransactionDto::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 예약 출금을 TransactionService.useBalance 규칙 그대로 실행한다. velocity 한도만 적용하지 않는다.
+     * 출금과 다음 회차 갱신을 한 트랜잭션으로 처리하므로, 중간에 종료되어도 같은 회차가 두 번 출금되지 않는다.
+     * claim 기한이 지나 다른 인스턴스가 가져간 예약이면 실행하지 않고 false 를 돌려준다.
+     */
+    @Transactional
+    public boolean executeScheduledTransaction(Long scheduledTransactionId, String owner) {
+        ScheduledTransaction scheduledTransaction = scheduledTransactionRepository
+                .findByIdForUpdate(scheduledTransactionId)
+                .orElseThrow(() -> new AccountException(SCHEDULED_TRANSACTION_NOT_FOUND));
+        if (!scheduledTransaction.isClaimedBy(owner)) {
+            return false;
+        }
+
+        TransactionDto transactionDto = transactionService.useScheduledBalance(
+                scheduledTransaction.getAccountUser().getId(),
+                scheduledTransaction.getAccount().getAccountNumber(),
+                scheduledTransaction.getAmount());
+        scheduledTransaction.complete(S, transactionDto.getTransactionId());
+
+        return true;
+    }
+
+    /**
+     * 출금이 거절된 회차를 기록한다. 실패 거래 내역은 호출하는 쪽에서 saveFailedUseTransaction 으로 남긴다.
+     */
+    @Transactional
+    public void failScheduledTransaction(Long scheduledTransactionId, String owner) {
+        scheduledTransactionRepository.findByIdForUpdate(scheduledTransactionId)
+                .filter(scheduledTransaction -> scheduledTransaction.isClaimedBy(owner))
+                .ifPresent(scheduledTransaction -> scheduledTransaction.complete(F, null));
+    }
+}
@@ -1,52 +1,85 @@
 package com.example.account.service;
 
+import com.example.account.bloom.IdentifierBloomFilter;
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
+import com.example.account.domain.OutboxEvent;
 import com.example.account.domain.Transaction;
 import com.example.account.dto.TransactionDto;
 import com.example.account.exception.AccountException;
 import com.example.account.repository.AccountRepository;
-import com.example.account.repository.AccountUserRepository;
+import com.example.account.repository.OutboxEventRepository;
 import com.example.account.repository.TransactionRepository;
+import com.example.account.shard.ShardFanOut;
+import com.example.account.shard.ShardKey;
 import com.example.account.type.AccountStatus;
 import com.example.account.type.ErrorCode;
 import com.example.account.type.TransactionResultType;
 import com.example.account.type.TransactionType;
+import io.micrometer.core.annotation.Counted;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
-import java.util.Objects;
-import java.util.UUID;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.example.account.type.ErrorCode.*;
 import static com.example.account.type.TransactionResultType.F;
 import static com.example.account.type.TransactionResultType.S;
-import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.*;
 
 @Slf4j
 @AllArgsConstructor
 @Service
 public class TransactionService {
     private final TransactionRepository transactionRepository;
-    private final AccountUserRepository accountUserRepository;
     private final AccountRepository accountRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final AccountLookupService accountLookupService;
+    private final IdentifierBloomFilter identifierBloomFilter;
+    private final VelocityService velocityService;
 
     @Transactional
-    public TransactionDto useBalance(Long userId, String accountNumber, Long amount) {
-        AccountUser accountUser = accountUserRepository.findById(userId).orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
-        Account account = accountRepository.findByAccountNumber(accountNumber).orElseThrow(() -> new AccountException(ErrorCode.USER_ACCOUNT_NOT_FOUND));
+    public TransactionDto useBalance(Long userId, @ShardKey String accountNumber, Long amount) {
+        return useBalance(userId, accountNumber, amount, true);
+    }
+
+    /**
+     * 예약 출금. 정해진 시각에 여러 건이 한꺼번에 실행되므로 velocity 한도를 적용하지 않는다.
+     */
+    @Transactional
+    public TransactionDto useScheduledBalance(Long userId, @ShardKey String accountNumber, Long amount) {
+        return useBalance(userId, accountNumber, amount, false);
+    }
+
+    private TransactionDto useBalance(Long userId, String accountNumber, Long amount, boolean checkVelocity) {
+        identifierBloomFilter.checkAccountNumber(accountNumber);
+        if (checkVelocity) {
+            velocityService.checkDebit(userId, accountNumber, amount);
+        }
+        AccountUser accountUser = accountLookupService.getAccountUser(userId);
+        // 캐시에 있는 계좌라면 소유자/해지 여부가 맞지 않을 때 계좌를 읽거나 선점하기 전에 거절한다.
+        accountLookupService.checkOwnership(userId, accountNumber);
+        checkFencingToken(accountNumber);
+        Account account = accountRepository.findByAccountNumber(accountNumber).orElseThrow(identifierBloomFilter::accountNumberNotFound);
+        accountLookupService.cacheAccount(account);
 
         validateUseBalance(accountUser, account, amount);
+        if (checkVelocity) {
+            velocityService.recordDebit(userId, accountNumber, amount);
+        }
 
         account.useBalance(amount);
 
         return TransactionDto.fromEntity(saveAndGetTransaction(TransactionType.USE, S, account, amount));
     }
 
-    private void validateUseBalance(AccountUser accountUser, Account account, Long amount) {
+    static void validateUseBalance(AccountUser accountUser, Account account, Long amount) {
         if (!Objects.equals(accountUser.getId(), account.getAccountUser().getId())) {
             throw new AccountException(USER_ACCOUNT_UN_MATCH);
         }
@@ -61,51 +94,155 @@ public class TransactionService {
     }
 
     @Transactional
-    public void saveFailedUseTransaction(String accountNumber, Long amount) {
+    @Counted(value = "account.transaction.failed.recorded", extraTags = {"type", "USE"})
+    public void saveFailedUseTransaction(@ShardKey String accountNumber, Long amount) {
+        identifierBloomFilter.checkAccountNumber(accountNumber);
         Account account =  accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException(USER_ACCOUNT_NOT_FOUND));
+                .orElseThrow(identifierBloomFilter::accountNumberNotFound);
 
         saveAndGetTransaction(TransactionType.USE, F, account, amount);
     }
 
+    // 거래 이벤트는 같은 DB 트랜잭션에서 outbox 에 저장하고, OutboxRelay 가 발행한다.
     private Transaction saveAndGetTransaction(TransactionType transactionType, TransactionResultType transactionResultType, Account account, Long amount) {
-        return transactionRepository.save(
-                Transaction.builder()
-                        .transactedAt(LocalDateTime.now())
+        return saveAndGetTransaction(buildTransaction(transactionType, transactionResultType, account, amount));
+    }
+
+    private Transaction saveAndGetTransaction(Transaction newTransaction) {
+        Transaction transaction = transactionRepository.save(newTransaction);
+        outboxEventRepository.save(OutboxEvent.from(transaction));
+
+        return transaction;
+    }
+
+    private Transaction buildTransaction(TransactionType transactionType, TransactionResultType transactionResultType, Account account, Long amount) {
+        return Transaction.builder()
+                .transactedAt(LocalDateTime.now())
                 .transactionType(transactionType)
                 .transactionResultType(transactionResultType)
                 .account(account)
                 .amount(amount)
                 .balanceSnapshot(account.getBalance())
-                .transactionId(UUID.randomUUID()
-                        .toString()
-                        .replace("-", ""))
-                .build());
+                .transactionId(generateTransactionId())
+                .build();
+    }
+
+    private void checkFencingToken(String accountNumber) {
+        FencingTokenGuard.claim(accountRepository, accountNumber);
+    }
+
+    static String generateTransactionId() {
+        return UUID.randomUUID()
+                .toString()
+                .replace("-", "");
+    }
+
+    /**
+     * 출금과 입금을 하나의 DB 트랜잭션으로 처리한다. 두 거래 내역은 한 번의 batch insert로 저장한다.
+     * 반환값은 [출금 거래, 입금 거래] 순서이다.
+     */
+    @Transactional
+    public List<TransactionDto> transfer(Long userId, @ShardKey String fromAccountNumber, @ShardKey String toAccountNumber, Long amount) {
+        if (Objects.equals(fromAccountNumber, toAccountNumber)) {
+            throw new AccountException(TRANSFER_SAME_ACCOUNT);
+        }
+        identifierBloomFilter.checkAccountNumber(fromAccountNumber);
+        identifierBloomFilter.checkAccountNumber(toAccountNumber);
+        velocityService.checkDebit(userId, fromAccountNumber, amount);
+        AccountUser accountUser = accountLookupService.getAccountUser(userId);
+        accountLookupService.checkOwnership(userId, fromAccountNumber);
+
+        // DB row lock도 계좌 lock과 같은 계좌번호 순서로 잡는다.
+        Stream.of(fromAccountNumber, toAccountNumber).sorted().forEach(this::checkFencingToken);
+        Map<String, Account> accounts = accountRepository
+                .findByAccountNumberIn(Arrays.asList(fromAccountNumber, toAccountNumber)).stream()
+                .collect(Collectors.toMap(Account::getAccountNumber, Function.identity()));
+        Account fromAccount = Optional.ofNullable(accounts.get(fromAccountNumber))
+                .orElseThrow(identifierBloomFilter::accountNumberNotFound);
+        Account toAccount = Optional.ofNullable(accounts.get(toAccountNumber))
+                .orElseThrow(identifierBloomFilter::accountNumberNotFound);
+        accountLookupService.cacheAccount(fromAccount);
+
+        validateTransfer(accountUser, fromAccount, toAccount, amount);
+        velocityService.recordDebit(userId, fromAccountNumber, amount);
+
+        fromAccount.useBalance(amount);
+        toAccount.depositBalance(amount);
+
+        List<Transaction> transactions = transactionRepository.saveAll(Arrays.asList(
+                buildTransaction(TRANSFER_OUT, S, fromAccount, amount),
+                buildTransaction(TRANSFER_IN, S, toAccount, amount)
+        ));
+        outboxEventRepository.saveAll(transactions.stream()
+                .map(OutboxEvent::from)
+                .collect(Collectors.toList()));
+
+        return transactions.stream()
+                .map(TransactionDto::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    static void validateTransfer(AccountUser accountUser, Account fromAccount, Account toAccount, Long amount) {
+        validateUseBalance(accountUser, fromAccount, amount);
+
+        if (toAccount.getAccountStatus() != AccountStatus.IN_USE) {
+            throw new AccountException(ACCOUNT_ALREADY_UNREGISTERED);
+        }
+    }
+
+    @Transactional
+    @Counted(value = "account.transaction.failed.recorded", extraTags = {"type", "TRANSFER"})
+    public void saveFailedTransferTransaction(@ShardKey String fromAccountNumber, Long amount) {
+        identifierBloomFilter.checkAccountNumber(fromAccountNumber);
+        Account account =  accountRepository.findByAccountNumber(fromAccountNumber)
+                .orElseThrow(identifierBloomFilter::accountNumberNotFound);
+
+        saveAndGetTransaction(TRANSFER_OUT, F, account, amount);
     }
 
+    /**
+     * 원거래와 계좌를 한 번의 join 쿼리로 읽는다. 취소된 원거래에는 취소 시각과 취소 거래가 연결되므로
+     * 같은 거래를 다시 취소하면 읽은 row 만으로 거절하고, 동시에 취소되더라도 unique 제약이 두 번째 취소를 막는다.
+     */
     @Transactional
-    public TransactionDto cancelBalance(String transactionId, String accountNumber, Long amount) {
+    public TransactionDto cancelBalance(String transactionId, @ShardKey String accountNumber, Long amount) {
+        identifierBloomFilter.checkTransactionId(transactionId);
+        checkFencingToken(accountNumber);
         Transaction transaction = transactionRepository
-                .findByTransactionId(transactionId).orElseThrow(
-                        () -> new AccountException(TRANSACTION_NOT_FOUND));
-        Account account = accountRepository
-                .findByAccountNumber(accountNumber).orElseThrow(
-                        () -> new AccountException(ErrorCode.USER_ACCOUNT_NOT_FOUND));
+                .findWithAccountByTransactionId(transactionId).orElseThrow(
+                        identifierBloomFilter::transactionIdNotFound);
+        Account account = transaction.getAccount();
 
-        validateCancelBalance(transaction, account, amount);
+        validateCancelBalance(transaction, accountNumber, amount);
 
         account.cancelBalance(amount);
 
-        return TransactionDto.fromEntity(
-                saveAndGetTransaction(CANCEL, S, account, amount)
-        );
+        Transaction cancelTransaction = buildTransaction(CANCEL, S, account, amount);
+        transaction.cancel(cancelTransaction);
+
+        return TransactionDto.fromEntity(saveAndGetTransaction(cancelTransaction));
     }
 
-    private void validateCancelBalance(Transaction transaction, Account account, Long amount) {
-        if (!Objects.equals(transaction.getAccount().getId(), account.getId())) {
+    static void validateCancelBalance(Transaction transaction, String accountNumber, Long amount) {
+        // 이체는 상대 계좌까지 되돌려야 하므로 한쪽 계좌 취소로 처리하지 않는다.
+        if (transaction.getTransactionType() == TRANSFER_OUT
+                || transaction.getTransactionType() == TRANSFER_IN) {
+            throw new AccountException(TRANSFER_CANNOT_BE_CANCELLED);
+        }
+
+        // 취소 거래나 실패한 거래는 잔액을 바꾸지 않았으므로, 취소하면 돈이 생긴다.
+        if (transaction.getTransactionType() != USE || transaction.getTransactionResultType() != S) {
+            throw new AccountException(TRANSACTION_CANNOT_BE_CANCELLED);
+        }
+
+        if (!Objects.equals(transaction.getAccount().getAccountNumber(), accountNumber)) {
             throw new AccountException(TRANSACTION_ACCOUNT_UN_MATCH);
         }
 
+        if (transaction.isCancelled()) {
+            throw new AccountException(TRANSACTION_ALREADY_CANCELLED);
+        }
+
         if (!Objects.equals(transaction.getAmount(), amount)) {
             throw new AccountException(CANCEL_MUST_FULLY);
         }
@@ -116,14 +253,19 @@ public class TransactionService {
     }
 
     @Transactional
-    public void saveFailedCancelTransaction(String accountNumber, Long amount) {
+    @Counted(value = "account.transaction.failed.recorded", extraTags = {"type", "CANCEL"})
+    public void saveFailedCancelTransaction(@ShardKey String accountNumber, Long amount) {
+        identifierBloomFilter.checkAccountNumber(accountNumber);
         Account account =  accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException(USER_ACCOUNT_NOT_FOUND));
+                .orElseThrow(identifierBloomFilter::accountNumberNotFound);
 
         saveAndGetTransaction(CANCEL, F, account, amount);
     }
 
+    @ShardFanOut
     public TransactionDto queryTransaction(String transactionId) {
+        // 여러 shard 에서 찾으므로 한 shard 에서 없는 것은 false positive 가 아니다.
+        identifierBloomFilter.checkTransactionId(transactionId);
 
         return TransactionDto.fromEntity(
             transactionRepository
@@ -0,0 +1,133 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.limiter.SlidingWindowCounter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static com.example.account.type.ErrorCode.VELOCITY_LIMIT_EXCEEDED;
+
+/**
+ * 계좌별/사용자별로 최근 window 동안 검증을 통과한 출금 건수와 금액을 메모리에서 세어, 한도를 넘는 출금을 DB 에 가기 전에 거절한다.
+ * 키마다 고정 크기 SlidingWindowCounter 를 두고, 키 수는 max-keys 로 묶는다.
+ * 인스턴스마다 따로 세므로 여러 인스턴스에 나뉜 요청은 인스턴스 수만큼 더 허용될 수 있다.
+ * 예약 출금은 사용자가 미리 승인한 출금이고 같은 시각에 몰리므로 검사하지도, 세지도 않는다.
+ */
+@Service
+public class VelocityService {
+    private final boolean enabled;
+    private final Rule accountRule;
+    private final Rule userRule;
+    private final LongSupplier clock;
+
+    private final Cache<String, SlidingWindowCounter> accountWindows;
+    private final Cache<Long, SlidingWindowCounter> userWindows;
+    private final long windowMillis;
+    private final int bucketCount;
+
+    private final Counter accountRejected;
+    private final Counter userRejected;
+
+    @Autowired
+    public VelocityService(MeterRegistry meterRegistry,
+                           @Value("${account.velocity.enabled:true}") boolean enabled,
+                           @Value("${account.velocity.window-seconds:60}") long windowSeconds,
+                           @Value("${account.velocity.bucket-count:12}") int bucketCount,
+                           @Value("${account.velocity.max-keys:200000}") long maxKeys,
+                           @Value("${account.velocity.per-account.max-count:0}") long accountMaxCount,
+                           @Value("${account.velocity.per-account.max-amount:0}") long accountMaxAmount,
+                           @Value("${account.velocity.per-user.max-count:0}") long userMaxCount,
+                           @Value("${account.velocity.per-user.max-amount:0}") long userMaxAmount) {
+        this(meterRegistry, enabled, windowSeconds, bucketCount, maxKeys,
+                new Rule(accountMaxCount, accountMaxAmount), new Rule(userMaxCount, userMaxAmount),
+                System::currentTimeMillis);
+    }
+
+    VelocityService(MeterRegistry meterRegistry, boolean enabled, long windowSeconds, int bucketCount, long maxKeys,
+                    Rule accountRule, Rule userRule, LongSupplier clock) {
+        this.enabled = enabled;
+        this.accountRule = accountRule;
+        this.userRule = userRule;
+        this.clock = clock;
+        this.windowMillis = TimeUnit.SECONDS.toMillis(windowSeconds);
+        this.bucketCount = bucketCount;
+        // window 동안 출금이 없던 키는 지워도 합계가 0 이므로 결과가 같다.
+        this.accountWindows = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(windowSeconds, TimeUnit.SECONDS)
+                .build();
+        this.userWindows = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(windowSeconds, TimeUnit.SECONDS)
+                .build();
+        this.accountRejected = meterRegistry.counter("account.velocity.rejected", "scope", "account");
+        this.userRejected = meterRegistry.counter("account.velocity.rejected", "scope", "user");
+    }
+
+    /**
+     * 이번 출금을 더했을 때 한도를 넘으면 거절한다. 기록하지 않으므로 DB 작업 전에 부른다.
+     */
+    public void checkDebit(Long userId, String accountNumber, long amount) {
+        if (!enabled) {
+            return;
+        }
+
+        long now = clock.getAsLong();
+        SlidingWindowCounter accountWindow = accountWindows.getIfPresent(accountNumber);
+        if (accountWindow != null && accountRule.exceeded(accountWindow, now, amount)) {
+            accountRejected.increment();
+            throw new AccountException(VELOCITY_LIMIT_EXCEEDED);
+        }
+        SlidingWindowCounter userWindow = userWindows.getIfPresent(userId);
+        if (userWindow != null && userRule.exceeded(userWindow, now, amount)) {
+            userRejected.increment();
+            throw new AccountException(VELOCITY_LIMIT_EXCEEDED);
+        }
+    }
+
+    /**
+     * 검증을 통과한 출금만 기록한다. 소유자가 아닌 사용자나 잔액 부족으로 거절된 출금이 계좌의 한도를 쓰지 않게 한다.
+     * 검사와 기록 사이에 같은 키로 동시에 들어온 출금은 함께 통과할 수 있다. 계좌는 계좌 lock 으로 차례로 들어온다.
+     */
+    public void recordDebit(Long userId, String accountNumber, long amount) {
+        if (!enabled) {
+            return;
+        }
+
+        long now = clock.getAsLong();
+        accountWindows.get(accountNumber, key -> newWindow()).add(now, amount);
+        userWindows.get(userId, key -> newWindow()).add(now, amount);
+    }
+
+    private SlidingWindowCounter newWindow() {
+        return new SlidingWindowCounter(windowMillis, bucketCount);
+    }
+
+    /**
+     * window 안의 최대 출금 건수와 금액. 0 이하면 제한하지 않는다.
+     * 계좌 한도는 계좌 lock 안에서 검사하고 기록하므로 정확하다. 사용자 한도는 검사와 기록을 감싸는 lock 이 없어서,
+     * 한 사용자가 서로 다른 계좌에서 동시에 출금하면 동시에 들어온 출금 수만큼 한도를 넘을 수 있다.
+     */
+    static final class Rule {
+        private final long maxCount;
+        private final long maxAmount;
+
+        Rule(long maxCount, long maxAmount) {
+            this.maxCount = maxCount;
+            this.maxAmount = maxAmount;
+        }
+
+        private boolean exceeded(SlidingWindowCounter window, long now, long amount) {
+            return (maxCount > 0 && window.count(now) + 1 > maxCount)
+                    || (maxAmount > 0 && window.amount(now) + amount > maxAmount);
+        }
+    }
+}
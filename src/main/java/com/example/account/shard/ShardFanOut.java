@@ -0,0 +1,13 @@
+package com.example.account.shard;
+
+import java.lang.annotation.*;
+
+/**
+ * shard 를 알 수 없는 조회(거래 id 등)는 모든 shard 에서 병렬로 실행해 결과를 합친다.
+ * Collection 은 모두 합치고, 그 외에는 처음 성공한 결과를 돌려준다. 모든 shard 에서 실패하면 첫 AccountException 을 던진다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ShardFanOut {
+}
@@ -0,0 +1,19 @@
+package com.example.account.shard;
+
+import java.lang.annotation.*;
+
+/**
+ * 서비스 메서드를 실행할 shard 를 정하는 파라미터. ShardRoutingAspect 가 읽는다.
+ * 여러 파라미터에 붙이면 모두 같은 shard 여야 한다.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ShardKey {
+    Type value() default Type.ACCOUNT_NUMBER;
+
+    enum Type {
+        ACCOUNT_NUMBER,
+        USER_ID
+    }
+}
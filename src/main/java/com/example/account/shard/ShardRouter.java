@@ -0,0 +1,71 @@
+package com.example.account.shard;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+/**
+ * 계좌와 사용자를 shard 에 배치한다.
+ * 사용자의 계좌는 모두 사용자의 shard(userId mod N)에 만들고, 계좌번호도 같은 나머지를 갖도록 발급하므로
+ * 계좌번호만으로 shard 를 알 수 있다. shard 가 1개이면 기존 계좌번호 발급과 같다.
+ */
+@Component
+public class ShardRouter {
+    private static final long FIRST_ACCOUNT_NUMBER = 1_000_000_000L;
+
+    private final int shardCount;
+    private final ExecutorService fanOutExecutor;
+
+    public ShardRouter(@Value("${account.sharding.shard-count:1}") int shardCount) {
+        this.shardCount = shardCount;
+        this.fanOutExecutor = shardCount > 1 ? Executors.newFixedThreadPool(shardCount * 4, runnable -> {
+            Thread thread = new Thread(runnable, "shard-fan-out");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public int[] shards() {
+        return IntStream.range(0, shardCount).toArray();
+    }
+
+    public int shardOf(String accountNumber) {
+        try {
+            return (int) Math.floorMod(Long.parseLong(accountNumber), (long) shardCount);
+        } catch (NumberFormatException e) {
+            // 존재할 수 없는 계좌번호. 어느 shard 에서든 계좌 없음으로 처리된다.
+            return Math.floorMod(accountNumber.hashCode(), shardCount);
+        }
+    }
+
+    public int shardOfUser(Long userId) {
+        return (int) Math.floorMod(userId, (long) shardCount);
+    }
+
+    public String firstAccountNumber(int shard) {
+        return String.valueOf(FIRST_ACCOUNT_NUMBER + Math.floorMod(shard - FIRST_ACCOUNT_NUMBER, (long) shardCount));
+    }
+
+    public String nextAccountNumber(String lastAccountNumber) {
+        return String.valueOf(Long.parseLong(lastAccountNumber) + shardCount);
+    }
+
+    ExecutorService getFanOutExecutor() {
+        return fanOutExecutor;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (fanOutExecutor != null) {
+            fanOutExecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.account.shard;
+
+import com.example.account.exception.AccountException;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.example.account.type.ErrorCode.CROSS_SHARD_TRANSACTION_NOT_SUPPORTED;
+
+/**
+ * 서비스 호출을 @ShardKey 의 shard 로 보내거나(@ShardFanOut 이면) 모든 shard 에 나눠 보낸다.
+ * 트랜잭션이 시작되기 전에 shard 가 정해져야 하므로 트랜잭션 advisor 보다 먼저 실행한다.
+ * 이미 shard 가 정해진 호출(서비스 안의 호출, scheduler)은 그 shard 안에서만 실행한다.
+ */
+@Aspect
+@Component
+@Profile("sharding")
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class ShardRoutingAspect {
+    private final ShardRouter shardRouter;
+    private final Map<Method, Routing> routings = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.example.account.service.*Service.*(..))")
+    public Object route(ProceedingJoinPoint pjp) throws Throwable {
+        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        Routing routing = routings.computeIfAbsent(method, Routing::of);
+        Integer current = ShardContext.current();
+
+        if (routing.fanOut) {
+            return current != null ? pjp.proceed() : fanOut(pjp, method.getReturnType());
+        }
+
+        Integer shard = resolveShard(routing, pjp.getArgs());
+        if (shard == null) {
+            return pjp.proceed();
+        }
+        if (current != null) {
+            if (!current.equals(shard)) {
+                throw new AccountException(CROSS_SHARD_TRANSACTION_NOT_SUPPORTED);
+            }
+            return pjp.proceed();
+        }
+        try {
+            return ShardContext.call(shard, () -> proceed(pjp));
+        } catch (ProceedException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Integer resolveShard(Routing routing, Object[] args) {
+        Integer shard = null;
+        for (int i = 0; i < routing.keys.length; i++) {
+            if (routing.keys[i] == null || args[i] == null) {
+                continue;
+            }
+            int keyShard = routing.keys[i] == ShardKey.Type.USER_ID
+                    ? shardRouter.shardOfUser((Long) args[i])
+                    : shardRouter.shardOf((String) args[i]);
+            if (shard != null && shard != keyShard) {
+                throw new AccountException(CROSS_SHARD_TRANSACTION_NOT_SUPPORTED);
+            }
+            shard = keyShard;
+        }
+        return shard;
+    }
+
+    private Object fanOut(ProceedingJoinPoint pjp, Class<?> returnType) throws Throwable {
+        List<CompletableFuture<Object>> futures = new ArrayList<>();
+        for (int shard : shardRouter.shards()) {
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> ShardContext.call(shard, () -> proceed(pjp)), shardRouter.getFanOutExecutor()));
+        }
+
+        boolean collection = Collection.class.isAssignableFrom(returnType);
+        List<Object> merged = new ArrayList<>();
+        AccountException failure = null;
+        for (CompletableFuture<Object> future : futures) {
+            Object result;
+            try {
+                result = future.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() instanceof ProceedException ? e.getCause().getCause() : e.getCause();
+                if (!(cause instanceof AccountException)) {
+                    throw cause;
+                }
+                if (failure == null) {
+                    failure = (AccountException) cause;
+                }
+                continue;
+            }
+            if (!collection) {
+                return result;
+            }
+            merged.addAll((Collection<?>) result);
+        }
+
+        if (collection) {
+            return merged;
+        }
+        throw failure;
+    }
+
+    private static Object proceed(ProceedingJoinPoint pjp) {
+        try {
+            return pjp.proceed();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ProceedException(e);
+        }
+    }
+
+    private static final class ProceedException extends RuntimeException {
+        private ProceedException(Throwable cause) {
+            super(cause);
+        }
+    }
+
+    private static final class Routing {
+        private final ShardKey.Type[] keys;
+        private final boolean fanOut;
+
+        private Routing(ShardKey.Type[] keys, boolean fanOut) {
+            this.keys = keys;
+            this.fanOut = fanOut;
+        }
+
+        private static Routing of(Method method) {
+            Annotation[][] annotations = method.getParameterAnnotations();
+            ShardKey.Type[] keys = new ShardKey.Type[annotations.length];
+            for (int i = 0; i < annotations.length; i++) {
+                for (Annotation annotation : annotations[i]) {
+                    if (annotation instanceof ShardKey) {
+                        keys[i] = ((ShardKey) annotation).value();
+                    }
+                }
+            }
+            return new Routing(keys, method.isAnnotationPresent(ShardFanOut.class));
+        }
+    }
+}
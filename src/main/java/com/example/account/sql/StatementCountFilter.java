@@ -0,0 +1,49 @@
+package com.example.account.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * HTTP 요청 하나가 실행한 SQL 문 수를 기록하고, 예산을 넘으면 경고 로그를 남긴다.
+ * async 프로필처럼 다른 스레드에서 DB 작업을 하는 요청은 여기서 잡히지 않는다 (서비스 메소드 단위로는 기록됨).
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class StatementCountFilter extends OncePerRequestFilter {
+    private final MeterRegistry meterRegistry;
+    private final long budget;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long before = StatementCounter.current();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long executed = StatementCounter.current() - before;
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+
+            DistributionSummary.builder("account.http.sql.statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(executed);
+
+            if (executed > budget) {
+                log.warn("{} {} executed {} SQL statements (budget : {})",
+                        request.getMethod(), uri, executed, budget);
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.account.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * hibernate.session_factory.statement_inspector 로 등록되어, Hibernate가 준비하는 모든 SQL을 센다.
+ */
+public class StatementCountInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        StatementCounter.increment();
+        return sql;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.account.sql;
+
+/**
+ * 현재 스레드에서 Hibernate가 실행한 SQL 문 수.
+ * 값은 계속 증가만 하므로, 구간의 실행 수는 시작/종료 시점 값의 차이로 구한다 (중첩 구간도 안전).
+ */
+public final class StatementCounter {
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    private StatementCounter() {
+    }
+
+    static void increment() {
+        COUNT.get()[0]++;
+    }
+
+    public static long current() {
+        return COUNT.get()[0];
+    }
+}
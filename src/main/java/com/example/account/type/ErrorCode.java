@@ -18,7 +18,19 @@ public enum ErrorCode {
     CANCEL_MUST_FULLY("부분취소는 허용되지 않습니다"),
     TRANSACTION_NOT_FOUND("해당 거래가 없습니다."),
     TOO_OLD_ORDER_TO_CANCEL("1년이 경과한 거래는 취소가 불가능합니다"),
-    BALANCE_NOT_EMPTY("잔액이 있는 계좌는 해지할 수 없습니다");
+    TRANSACTION_ALREADY_CANCELLED("이미 취소된 거래입니다."),
+    BALANCE_NOT_EMPTY("잔액이 있는 계좌는 해지할 수 없습니다"),
+    TRANSFER_SAME_ACCOUNT("같은 계좌로 이체할 수 없습니다."),
+    TRANSFER_CANNOT_BE_CANCELLED("이체 거래는 취소할 수 없습니다."),
+    TRANSACTION_CANNOT_BE_CANCELLED("성공한 사용 거래만 취소할 수 있습니다."),
+    SCHEDULED_TRANSACTION_NOT_FOUND("해당 예약 거래가 없습니다."),
+    SCHEDULED_TRANSACTION_NOT_ACTIVE("이미 종료된 예약 거래입니다."),
+    CROSS_SHARD_TRANSACTION_NOT_SUPPORTED("서로 다른 저장소에 있는 계좌 간 거래는 지원하지 않습니다."),
+    ACCOUNT_TRANSACTION_LOCK("해당 계좌는 사용 중입니다."),
+    ACCOUNT_LOCK_EXPIRED("계좌 lock이 만료되어 거래를 처리할 수 없습니다."),
+    SERVER_OVERLOADED("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요."),
+    TOO_MANY_REQUESTS("요청 한도를 초과했습니다. 잠시 후 다시 시도해주세요."),
+    VELOCITY_LIMIT_EXCEEDED("짧은 시간 동안의 출금 한도를 초과했습니다. 잠시 후 다시 시도해주세요.");
 
     private final String description;
 }
\ No newline at end of file
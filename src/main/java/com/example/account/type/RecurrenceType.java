@@ -0,0 +1,26 @@
+package com.example.account.type;
+
+import java.time.LocalDateTime;
+
+public enum RecurrenceType {
+    ONCE,
+    DAILY,
+    WEEKLY,
+    MONTHLY;
+
+    /**
+     * 첫 실행 시각 기준 n번째 실행 시각. 이전 실행 시각에서 더하지 않으므로 31일 같은 월말 일자가 밀리지 않는다.
+     */
+    public LocalDateTime nth(LocalDateTime firstExecuteAt, int n) {
+        switch (this) {
+            case DAILY:
+                return firstExecuteAt.plusDays(n);
+            case WEEKLY:
+                return firstExecuteAt.plusWeeks(n);
+            case MONTHLY:
+                return firstExecuteAt.plusMonths(n);
+            default:
+                return firstExecuteAt;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.account.bloom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("추가한 key 는 항상 있다고 답한다")
+    void noFalseNegative() {
+        //given
+        BloomFilter bloomFilter = BloomFilter.create(10_000, 0.01);
+
+        //when
+        for (int i = 0; i < 10_000; i++) {
+            bloomFilter.put(String.valueOf(1_000_000_000L + i));
+        }
+
+        //then
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(bloomFilter.mightContain(String.valueOf(1_000_000_000L + i)));
+        }
+    }
+
+    @Test
+    @DisplayName("예상 개수만큼 추가했을 때 false positive 비율이 설정값 근처이다")
+    void falsePositiveProbability() {
+        //given
+        BloomFilter bloomFilter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            bloomFilter.put(String.valueOf(1_000_000_000L + i));
+        }
+
+        //when
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (bloomFilter.mightContain(String.valueOf(2_000_000_000L + i))) {
+                falsePositives++;
+            }
+        }
+
+        //then
+        assertTrue(falsePositives < 2_000, "false positives : " + falsePositives);
+        assertTrue(bloomFilter.expectedFalsePositiveProbability() < 0.02);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.account.bloom;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdentifierBloomFilterTest {
+    private IdentifierBloomFilter identifierBloomFilter;
+
+    @BeforeEach
+    void setUp() {
+        identifierBloomFilter = new IdentifierBloomFilter(new SimpleMeterRegistry(), true, 1000, 1000, 0.01);
+        identifierBloomFilter.addAccountNumber("1000000012");
+    }
+
+    @Test
+    @DisplayName("채워진 뒤에는 저장된 적 없는 계좌번호를 DB 조회 없이 거절")
+    void rejectNeverStored() {
+        //given
+        identifierBloomFilter.markLoaded();
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> identifierBloomFilter.checkAccountNumber("1000000013"));
+
+        //then
+        assertEquals(ErrorCode.USER_ACCOUNT_NOT_FOUND, exception.getErrorCode());
+        assertDoesNotThrow(() -> identifierBloomFilter.checkAccountNumber("1000000012"));
+    }
+
+    @Test
+    @DisplayName("채워지기 전에는 형식만 확인하고 DB 로 보낸다")
+    void passBeforeLoaded() {
+        //given
+        //when
+        //then
+        assertDoesNotThrow(() -> identifierBloomFilter.checkAccountNumber("1000000013"));
+        assertDoesNotThrow(() -> identifierBloomFilter.checkTransactionId("0123456789abcdef0123456789abcdef"));
+    }
+
+    @Test
+    @DisplayName("만들어질 수 없는 형식의 식별자는 채워지기 전에도 거절")
+    void rejectMalformed() {
+        //given
+        //when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> identifierBloomFilter.checkAccountNumber("10000000ab"));
+        AccountException transactionException = assertThrows(AccountException.class,
+                () -> identifierBloomFilter.checkTransactionId("transactionId"));
+
+        //then
+        assertEquals(ErrorCode.USER_ACCOUNT_NOT_FOUND, accountException.getErrorCode());
+        assertEquals(ErrorCode.TRANSACTION_NOT_FOUND, transactionException.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("꺼져 있으면 형식도 확인하지 않는다")
+    void disabled() {
+        //given
+        IdentifierBloomFilter disabled = new IdentifierBloomFilter(new SimpleMeterRegistry(), false, 1000, 1000, 0.01);
+        disabled.markLoaded();
+
+        //when
+        //then
+        assertDoesNotThrow(() -> disabled.checkTransactionId("transactionId"));
+        assertDoesNotThrow(() -> disabled.checkAccountNumber("1000000013"));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.account.bloom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisConnectionException;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RedisBitStoreTest {
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RScript rScript;
+
+    @Test
+    @DisplayName("bit 확인은 bit 배열과 채움 표시 key 로 스크립트 한 번에 처리")
+    void allSet() {
+        //given
+        given(redissonClient.getScript(any())).willReturn(rScript);
+        given(rScript.eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class), anyList(), any(), any()))
+                .willReturn(0L);
+        RedisBitStore bitStore = new RedisBitStore(() -> redissonClient, "BLOOM:A");
+
+        //when
+        boolean allSet = bitStore.allSet(new long[]{3, 7});
+
+        //then
+        assertFalse(allSet);
+        verify(rScript).eval(eq(RScript.Mode.READ_ONLY), anyString(), eq(RScript.ReturnType.INTEGER),
+                eq(Arrays.<Object>asList("BLOOM:A", "BLOOM:A:POPULATED")), eq("3"), eq("7"));
+    }
+
+    @Test
+    @DisplayName("Redis 를 호출하지 못하면 있을 수 있다고 답해 DB 에서 확인하게 한다")
+    void allSetFailOpen() {
+        //given
+        given(redissonClient.getScript(any())).willThrow(new RedisConnectionException("connection refused"));
+        RedisBitStore bitStore = new RedisBitStore(() -> redissonClient, "BLOOM:A");
+
+        //when
+        //then
+        assertTrue(bitStore.allSet(new long[]{3, 7}));
+    }
+
+    @Test
+    @DisplayName("Redis 에 추가하지 못하면 예외를 던져 저장하는 트랜잭션이 커밋되지 않게 한다")
+    void setFails() {
+        //given
+        given(redissonClient.getScript(any())).willThrow(new RedisConnectionException("connection refused"));
+        RedisBitStore bitStore = new RedisBitStore(() -> redissonClient, "BLOOM:A");
+
+        //when
+        //then
+        assertThrows(RedisConnectionException.class, () -> bitStore.set(new long[]{3, 7}));
+    }
+}
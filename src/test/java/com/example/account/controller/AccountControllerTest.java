@@ -3,6 +3,8 @@ package com.example.account.controller;
 import com.example.account.dto.AccountDto;
 import com.example.account.dto.CreateAccount;
 import com.example.account.dto.DeleteAccount;
+import com.example.account.readmodel.AccountProjection;
+import com.example.account.service.AccountReadModelService;
 import com.example.account.service.AccountService;
 import com.example.account.service.RedisTestService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -16,10 +18,13 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -33,6 +38,9 @@ class AccountControllerTest {
     @MockBean
     private RedisTestService redisTestService;
 
+    @MockBean
+    private AccountReadModelService accountReadModelService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -105,4 +113,23 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$[2].balance").value(3000L));
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void successGetAccountByUserIdFromReadModel() throws Exception {
+        //given
+        given(accountReadModelService.getAccountsByUserId(1L, "1234567890:3"))
+                .willReturn(Optional.of(Arrays.asList(
+                        AccountProjection.builder().accountNumber("1234567890").balance(1000L).revision(3).build(),
+                        AccountProjection.builder().accountNumber("1111111111").balance(2000L).revision(1).build())));
+
+        //when
+        //then
+        mockMvc.perform(get("/account?user_id=1&consistency_token=1234567890:3"))
+                .andDo(print())
+                .andExpect(jsonPath("$[0].accountNumber").value("1234567890"))
+                .andExpect(jsonPath("$[0].balance").value(1000L))
+                .andExpect(jsonPath("$[1].accountNumber").value("1111111111"))
+                .andExpect(jsonPath("$[1].balance").value(2000L));
+        verify(accountService, never()).getAccountsByUserId(anyLong());
+    }
+}
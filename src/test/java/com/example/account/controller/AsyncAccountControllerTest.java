@@ -0,0 +1,176 @@
+package com.example.account.controller;
+
+import com.example.account.dto.AccountDto;
+import com.example.account.dto.DeleteAccount;
+import com.example.account.exception.AccountException;
+import com.example.account.lock.FencingTokenHolder;
+import com.example.account.lock.LocalLockProvider;
+import com.example.account.service.AccountReadModelService;
+import com.example.account.service.AccountService;
+import com.example.account.type.ErrorCode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AsyncAccountController.class)
+@ActiveProfiles("async")
+@Import(AsyncControllerTestConfig.class)
+class AsyncAccountControllerTest {
+    private static final String ACCOUNT_NUMBER = "1000000000";
+
+    @MockBean
+    private AccountService accountService;
+
+    @MockBean
+    private AccountReadModelService accountReadModelService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LocalLockProvider lockProvider;
+
+    @Autowired
+    private ThreadPoolTaskExecutor transactionExecutor;
+
+    @Test
+    @DisplayName("작업 스레드에서 lock 과 fencing token 을 쥐고 해지, 끝나면 모두 해제")
+    void successDeleteAccount() throws Exception {
+        //given
+        AtomicReference<Long> fencingToken = new AtomicReference<>();
+        given(accountService.deleteAccount(anyLong(), anyString()))
+                .willAnswer(invocation -> {
+                    fencingToken.set(FencingTokenHolder.get(ACCOUNT_NUMBER));
+                    return AccountDto.builder()
+                            .userId(1L)
+                            .accountNumber(ACCOUNT_NUMBER)
+                            .unRegisteredAt(LocalDateTime.now())
+                            .build();
+                });
+
+        //when
+        MvcResult mvcResult = mockMvc.perform(deleteAccountRequest())
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(1L))
+                .andExpect(jsonPath("$.accountNumber").value(ACCOUNT_NUMBER));
+        assertNotNull(fencingToken.get());
+        assertNull(fencingTokenOnWorker());
+        assertEquals(0, lockProvider.size());
+    }
+
+    @Test
+    @DisplayName("해지 실패 - 오류를 응답하고 lock 과 fencing token 해제")
+    void deleteAccount_failed() throws Exception {
+        //given
+        given(accountService.deleteAccount(anyLong(), anyString()))
+                .willThrow(new AccountException(ErrorCode.BALANCE_NOT_EMPTY));
+
+        //when
+        MvcResult mvcResult = mockMvc.perform(deleteAccountRequest())
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("BALANCE_NOT_EMPTY"));
+        assertNull(fencingTokenOnWorker());
+        assertEquals(0, lockProvider.size());
+    }
+
+    @Test
+    @DisplayName("다른 요청이 lock 을 쥐고 있으면 대기 시간이 지난 뒤 실패하고 해지하지 않음")
+    void deleteAccount_lockTimeout() throws Exception {
+        //given
+        String lockKey = "ACLK:" + ACCOUNT_NUMBER;
+        assertTrue(lockProvider.tryLockAsync(lockKey, 1L, 0, 15, TimeUnit.SECONDS).join());
+
+        try {
+            //when
+            MvcResult mvcResult = mockMvc.perform(deleteAccountRequest())
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            //then
+            mockMvc.perform(asyncDispatch(mvcResult))
+                    .andDo(print())
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.errorCode").value("ACCOUNT_TRANSACTION_LOCK"));
+            verifyNoInteractions(accountService);
+        } finally {
+            lockProvider.unlockAsync(lockKey, 1L);
+        }
+        assertEquals(0, lockProvider.size());
+    }
+
+    @Test
+    @DisplayName("read model 에 없으면 계좌 목록을 DB 에서 조회")
+    void getAccountByUserId_fallback() throws Exception {
+        //given
+        given(accountReadModelService.getAccountsByUserId(1L, null)).willReturn(Optional.empty());
+        given(accountService.getAccountsByUserId(1L)).willReturn(Arrays.asList(
+                AccountDto.builder().accountNumber("1234567890").balance(1000L).build()));
+
+        //when
+        MvcResult mvcResult = mockMvc.perform(get("/account?user_id=1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].accountNumber").value("1234567890"))
+                .andExpect(jsonPath("$[0].balance").value(1000L));
+    }
+
+    private MockHttpServletRequestBuilder deleteAccountRequest() throws Exception {
+        return delete("/account")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new DeleteAccount.Request(1L, ACCOUNT_NUMBER)
+                ));
+    }
+
+    private Long fencingTokenOnWorker() throws ExecutionException, InterruptedException {
+        return transactionExecutor.submit(() -> FencingTokenHolder.get(ACCOUNT_NUMBER)).get();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.account.controller;
+
+import com.example.account.lock.LocalLockProvider;
+import com.example.account.service.LockService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * async 컨트롤러 테스트용 lock 과 작업 풀.
+ * 작업 스레드가 하나뿐이라 같은 스레드에서 FencingTokenHolder 가 비워졌는지 확인할 수 있고, queue 를 채워 거절도 만들 수 있다.
+ */
+@TestConfiguration
+class AsyncControllerTestConfig {
+    @Bean
+    public LocalLockProvider lockProvider() {
+        return new LocalLockProvider();
+    }
+
+    @Bean
+    public LockService lockService(LocalLockProvider lockProvider) {
+        return new LockService(lockProvider, new SimpleMeterRegistry());
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor transactionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("transaction-");
+        executor.initialize();
+
+        return executor;
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.account.controller;
+
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalance;
+import com.example.account.exception.AccountException;
+import com.example.account.lock.FencingTokenHolder;
+import com.example.account.lock.LocalLockProvider;
+import com.example.account.service.TransactionService;
+import com.example.account.type.ErrorCode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.example.account.type.TransactionResultType.S;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AsyncTransactionController.class)
+@ActiveProfiles("async")
+@Import(AsyncControllerTestConfig.class)
+class AsyncTransactionControllerTest {
+    private static final String ACCOUNT_NUMBER = "1000000000";
+
+    @MockBean
+    private TransactionService transactionService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LocalLockProvider lockProvider;
+
+    @Autowired
+    private ThreadPoolTaskExecutor transactionExecutor;
+
+    @Test
+    @DisplayName("작업 스레드에서 fencing token 을 쥐고 잔액 사용, 끝나면 token 과 lock 해제")
+    void successUseBalance() throws Exception {
+        //given
+        AtomicReference<Long> fencingToken = new AtomicReference<>();
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willAnswer(invocation -> {
+                    fencingToken.set(FencingTokenHolder.get(ACCOUNT_NUMBER));
+                    return TransactionDto.builder()
+                            .accountNumber(ACCOUNT_NUMBER)
+                            .amount(3000L)
+                            .transactedAt(LocalDateTime.now())
+                            .transactionId("transactionId")
+                            .transactionResultType(S)
+                            .build();
+                });
+
+        //when
+        MvcResult mvcResult = mockMvc.perform(useBalanceRequest())
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountNumber").value(ACCOUNT_NUMBER))
+                .andExpect(jsonPath("$.transactionResult").value("S"))
+                .andExpect(jsonPath("$.transactionId").value("transactionId"));
+        assertNotNull(fencingToken.get());
+        assertNull(fencingTokenOnWorker());
+        assertEquals(0, lockProvider.size());
+    }
+
+    @Test
+    @DisplayName("잔액 사용 실패 - lock 과 fencing token 을 쥔 채로 실패 거래 저장")
+    void useBalance_failedTransactionSavedUnderLock() throws Exception {
+        //given
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willThrow(new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE));
+        AtomicReference<Long> fencingToken = new AtomicReference<>();
+        AtomicReference<Integer> heldLocks = new AtomicReference<>();
+        doAnswer(invocation -> {
+            fencingToken.set(FencingTokenHolder.get(ACCOUNT_NUMBER));
+            heldLocks.set(lockProvider.size());
+            return null;
+        }).when(transactionService).saveFailedUseTransaction(ACCOUNT_NUMBER, 3000L);
+
+        //when
+        MvcResult mvcResult = mockMvc.perform(useBalanceRequest())
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("AMOUNT_EXCEED_BALANCE"));
+        verify(transactionService, times(1)).saveFailedUseTransaction(ACCOUNT_NUMBER, 3000L);
+        assertNotNull(fencingToken.get());
+        assertEquals(1, heldLocks.get());
+        assertNull(fencingTokenOnWorker());
+        assertEquals(0, lockProvider.size());
+    }
+
+    @Test
+    @DisplayName("다른 요청이 lock 을 쥐고 있으면 대기 시간이 지난 뒤 실패하고 거래는 실행하지 않음")
+    void useBalance_lockTimeout() throws Exception {
+        //given
+        String lockKey = "ACLK:" + ACCOUNT_NUMBER;
+        assertTrue(lockProvider.tryLockAsync(lockKey, 1L, 0, 15, TimeUnit.SECONDS).join());
+
+        try {
+            //when
+            MvcResult mvcResult = mockMvc.perform(useBalanceRequest())
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            //then
+            mockMvc.perform(asyncDispatch(mvcResult))
+                    .andDo(print())
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.errorCode").value("ACCOUNT_TRANSACTION_LOCK"));
+            verifyNoInteractions(transactionService);
+        } finally {
+            lockProvider.unlockAsync(lockKey, 1L);
+        }
+        assertEquals(0, lockProvider.size());
+    }
+
+    @Test
+    @DisplayName("작업 풀이 가득 차서 거절되면 잡은 lock 을 바로 해제")
+    void useBalance_executorRejected() throws Exception {
+        //given
+        CountDownLatch release = new CountDownLatch(1);
+        // 작업 스레드 하나와 queue 한 칸을 채운다.
+        Future<?> running = transactionExecutor.submit(() -> await(release));
+        Future<?> queued = transactionExecutor.submit(() -> await(release));
+
+        try {
+            //when
+            MvcResult mvcResult = mockMvc.perform(useBalanceRequest())
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            //then
+            assertTrue(mvcResult.getAsyncResult(5_000) instanceof TaskRejectedException);
+            assertEquals(0, lockProvider.size());
+            verifyNoInteractions(transactionService);
+        } finally {
+            release.countDown();
+            running.get();
+            queued.get();
+        }
+    }
+
+    private MockHttpServletRequestBuilder useBalanceRequest() throws Exception {
+        return post("/transaction/use")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new UseBalance.Request(1L, ACCOUNT_NUMBER, 3000L)
+                ));
+    }
+
+    /**
+     * 작업 스레드가 하나이므로 거래를 실행한 스레드에서 확인한다.
+     */
+    private Long fencingTokenOnWorker() throws ExecutionException, InterruptedException {
+        return transactionExecutor.submit(() -> FencingTokenHolder.get(ACCOUNT_NUMBER)).get();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.account.controller;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.Transaction;
+import com.example.account.dto.CancelBalance;
+import com.example.account.dto.UseBalance;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.service.AccountService;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 실제 context(H2, 내장 Redis, 계좌 lock 포함)에서 여러 스레드가 같은 계좌/다른 계좌에
+ * 잔액 사용과 취소를 동시에 요청한다. lock 이나 일괄 처리 방식을 바꿀 때 불변식이 깨지지 않는지 확인한다.
+ * <p>
+ * 스레드 수와 작업 수는 -Dstress.threads, -Dstress.operations 로 조절한다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stress",
+        "spring.jpa.properties.hibernate.show_sql=false",
+        "account.rate-limit.enabled=false",
+        "account.velocity.enabled=false"
+})
+class TransactionConcurrencyStressTest {
+    private static final Logger log = LoggerFactory.getLogger(TransactionConcurrencyStressTest.class);
+
+    private static final int THREADS = Integer.getInteger("stress.threads", 16);
+    private static final int OPERATIONS_PER_THREAD = Integer.getInteger("stress.operations", 100);
+    private static final long HOT_ACCOUNT_BALANCE = 5_000L;
+    private static final long COLD_ACCOUNT_BALANCE = 1_000_000L;
+
+    @Autowired
+    private TransactionController transactionController;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    void concurrentUseAndCancelKeepBalanceInvariants() throws Exception {
+        //given
+        List<TestAccount> accounts = new ArrayList<>();
+        // 잔액이 적은 hot 계좌 : 모든 스레드가 몰리고, 잔액 부족 거절이 섞인다.
+        accounts.add(new TestAccount(1L, accountService.createAccount(1L, HOT_ACCOUNT_BALANCE).getAccountNumber(),
+                HOT_ACCOUNT_BALANCE));
+        for (long userId = 2; userId <= 3; userId++) {
+            accounts.add(new TestAccount(userId,
+                    accountService.createAccount(userId, COLD_ACCOUNT_BALANCE).getAccountNumber(),
+                    COLD_ACCOUNT_BALANCE));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        AtomicLong rejected = new AtomicLong();
+        List<Future<?>> futures = new ArrayList<>();
+
+        //when
+        for (int t = 0; t < THREADS; t++) {
+            long seed = t;
+            futures.add(executor.submit(() -> {
+                Random random = new Random(seed);
+                Deque<UsedTransaction> used = new ArrayDeque<>();
+                start.await();
+
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    try {
+                        if (!used.isEmpty() && random.nextInt(10) < 3) {
+                            cancel(used.poll());
+                        } else {
+                            // 절반은 hot 계좌로 보낸다.
+                            TestAccount account = random.nextBoolean()
+                                    ? accounts.get(0) : accounts.get(random.nextInt(accounts.size()));
+                            used.add(use(account, 10 + random.nextInt(91)));
+                        }
+                    } catch (AccountException e) {
+                        rejected.incrementAndGet();
+                    } catch (Throwable e) {
+                        unexpected.add(e);
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long started = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        executor.shutdown();
+
+        //then
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected exceptions : " + unexpected);
+
+        for (TestAccount testAccount : accounts) {
+            Account account = accountRepository.findByAccountNumber(testAccount.accountNumber).get();
+            long expected = testAccount.initialBalance - testAccount.used.get() + testAccount.cancelled.get();
+
+            assertTrue(account.getBalance() >= 0, "balance must never be negative");
+            assertEquals(expected, account.getBalance(),
+                    "balance must equal initial - successful uses + successful cancels : " + testAccount.accountNumber);
+        }
+
+        Set<String> accountNumbers = accounts.stream().map(a -> a.accountNumber).collect(Collectors.toSet());
+        List<Transaction> transactions = transactionRepository.findAll().stream()
+                .filter(transaction -> accountNumbers.contains(transaction.getAccount().getAccountNumber()))
+                .collect(Collectors.toList());
+        // 최종 잔액만으로는 중간에 음수가 되었다가 돌아온 경우를 잡지 못하므로, 거래마다 남긴 잔액을 확인한다.
+        for (Transaction transaction : transactions) {
+            assertTrue(transaction.getBalanceSnapshot() >= 0,
+                    () -> "balance must never be negative : " + transaction.getTransactionId()
+                            + " balanceSnapshot " + transaction.getBalanceSnapshot());
+        }
+        List<String> transactionIds = transactions.stream()
+                .map(Transaction::getTransactionId)
+                .collect(Collectors.toList());
+        assertEquals(transactionIds.size(), new HashSet<>(transactionIds).size(), "transactionId must be unique");
+
+        long operations = (long) THREADS * OPERATIONS_PER_THREAD;
+        log.info("Stress : {} threads, {} operations ({} rejected) in {}s = {} ops/s",
+                THREADS, operations, rejected.get(), String.format("%.2f", seconds),
+                String.format("%.1f", operations / seconds));
+    }
+
+    private UsedTransaction use(TestAccount account, long amount) {
+        UseBalance.Response response = transactionController.useBalance(
+                new UseBalance.Request(account.userId, account.accountNumber, amount));
+        account.used.addAndGet(amount);
+
+        return new UsedTransaction(account, response.getTransactionId(), amount);
+    }
+
+    private void cancel(UsedTransaction usedTransaction) {
+        transactionController.cancelBalance(new CancelBalance.Request(
+                usedTransaction.transactionId, usedTransaction.account.accountNumber, usedTransaction.amount));
+        usedTransaction.account.cancelled.addAndGet(usedTransaction.amount);
+    }
+
+    private static class TestAccount {
+        private final Long userId;
+        private final String accountNumber;
+        private final long initialBalance;
+        private final AtomicLong used = new AtomicLong();
+        private final AtomicLong cancelled = new AtomicLong();
+
+        private TestAccount(Long userId, String accountNumber, long initialBalance) {
+            this.userId = userId;
+            this.accountNumber = accountNumber;
+            this.initialBalance = initialBalance;
+        }
+    }
+
+    private static class UsedTransaction {
+        private final TestAccount account;
+        private final String transactionId;
+        private final long amount;
+
+        private UsedTransaction(TestAccount account, String transactionId, long amount) {
+            this.account = account;
+            this.transactionId = transactionId;
+            this.amount = amount;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.example.account.controller;
 import com.example.account.dto.AccountDto;
 import com.example.account.dto.CancelBalance;
 import com.example.account.dto.TransactionDto;
+import com.example.account.dto.Transfer;
 import com.example.account.dto.UseBalance;
 import com.example.account.service.TransactionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -18,7 +19,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import static com.example.account.type.TransactionResultType.S;
-import static com.example.account.type.TransactionType.USE;
+import static com.example.account.type.TransactionType.*;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
@@ -94,6 +95,45 @@ class TransactionControllerTest {
 
     }
 
+    @Test
+    void successTransfer() throws Exception {
+        //given
+        LocalDateTime transactedAt = LocalDateTime.now();
+        given(transactionService.transfer(anyLong(), anyString(), anyString(), anyLong()))
+                .willReturn(Arrays.asList(
+                        TransactionDto.builder()
+                                .accountNumber("1000000000")
+                                .transactionType(TRANSFER_OUT)
+                                .amount(3000L)
+                                .transactedAt(transactedAt)
+                                .transactionId("withdrawTransactionId")
+                                .transactionResultType(S)
+                                .build(),
+                        TransactionDto.builder()
+                                .accountNumber("2000000000")
+                                .transactionType(TRANSFER_IN)
+                                .amount(3000L)
+                                .transactedAt(transactedAt)
+                                .transactionId("depositTransactionId")
+                                .transactionResultType(S)
+                                .build()
+                ));
+
+        mockMvc.perform(post("/transaction/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new Transfer.Request(1L, "1000000000", "2000000000", 3000L)
+                        ))
+                ).andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fromAccountNumber").value("1000000000"))
+                .andExpect(jsonPath("$.toAccountNumber").value("2000000000"))
+                .andExpect(jsonPath("$.transactionResult").value("S"))
+                .andExpect(jsonPath("$.withdrawTransactionId").value("withdrawTransactionId"))
+                .andExpect(jsonPath("$.depositTransactionId").value("depositTransactionId"))
+                .andExpect(jsonPath("$.amount").value(3000));
+    }
+
     @Test
     void successGetQueryTransaction() throws Exception {
 
@@ -0,0 +1,62 @@
+package com.example.account.exception;
+
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class ErrorLogSamplerTest {
+
+    @Test
+    @DisplayName("ErrorCode 별로 interval 동안 한 번만 허용")
+    void sampleOncePerInterval() {
+        //given
+        ErrorLogSampler sampler = new ErrorLogSampler(Duration.ofHours(1));
+
+        //when
+        //then
+        assertEquals(0, sampler.sample(ErrorCode.AMOUNT_EXCEED_BALANCE));
+        assertEquals(-1, sampler.sample(ErrorCode.AMOUNT_EXCEED_BALANCE));
+        assertEquals(-1, sampler.sample(ErrorCode.AMOUNT_EXCEED_BALANCE));
+        assertEquals(0, sampler.sample(ErrorCode.USER_NOT_FOUND));
+    }
+
+    @Test
+    @DisplayName("interval 이 지나면 생략된 횟수와 함께 다시 허용")
+    void reportSuppressedCount() throws InterruptedException {
+        //given
+        ErrorLogSampler sampler = new ErrorLogSampler(Duration.ofMillis(50));
+        sampler.sample(ErrorCode.AMOUNT_EXCEED_BALANCE);
+        sampler.sample(ErrorCode.AMOUNT_EXCEED_BALANCE);
+        sampler.sample(ErrorCode.AMOUNT_EXCEED_BALANCE);
+
+        //when
+        Thread.sleep(100);
+        long suppressed = sampler.sample(ErrorCode.AMOUNT_EXCEED_BALANCE);
+
+        //then
+        assertEquals(2, suppressed);
+        assertEquals(-1, sampler.sample(ErrorCode.AMOUNT_EXCEED_BALANCE));
+    }
+
+    @Test
+    @DisplayName("warn - 허용된 경우에만 로그를 남김")
+    void warnOnlyWhenSampled() {
+        //given
+        ErrorLogSampler sampler = new ErrorLogSampler(Duration.ofHours(1));
+        Logger log = mock(Logger.class);
+
+        //when
+        sampler.warn(log, "Failed to use balance.", ErrorCode.AMOUNT_EXCEED_BALANCE);
+        sampler.warn(log, "Failed to use balance.", ErrorCode.AMOUNT_EXCEED_BALANCE);
+
+        //then
+        verify(log).warn("{} {} (suppressed : {})", "Failed to use balance.", ErrorCode.AMOUNT_EXCEED_BALANCE, 0L);
+        verifyNoMoreInteractions(log);
+    }
+}
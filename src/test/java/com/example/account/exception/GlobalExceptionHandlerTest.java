@@ -0,0 +1,64 @@
+package com.example.account.exception;
+
+import com.example.account.dto.ErrorResponse;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalExceptionHandlerTest {
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    @DisplayName("기본 메시지 오류는 캐시된 응답을 재사용")
+    void reuseCachedResponse() {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        //when
+        ResponseEntity<ErrorResponse> first = handler.handleAccountException(
+                new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE), request);
+        ResponseEntity<ErrorResponse> second = handler.handleAccountException(
+                new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE), request);
+
+        //then
+        assertSame(first, second);
+        assertEquals(HttpStatus.BAD_REQUEST, first.getStatusCode());
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, first.getBody().getErrorCode());
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE.getDescription(), first.getBody().getErrorMessage());
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, request.getAttribute(GlobalExceptionHandler.ERROR_CODE_ATTRIBUTE));
+    }
+
+    @Test
+    @DisplayName("메시지를 바꾼 오류는 새 응답을 만들고 캐시된 응답은 바뀌지 않음")
+    void customMessageNotCached() {
+        //given
+        AccountException custom = new AccountException(ErrorCode.INVALID_REQUEST, "amount must be positive");
+
+        //when
+        ResponseEntity<ErrorResponse> response = handler.toResponse(custom);
+        ResponseEntity<ErrorResponse> cached = handler.toResponse(new AccountException(ErrorCode.INVALID_REQUEST));
+
+        //then
+        assertNotSame(cached, response);
+        assertEquals("amount must be positive", response.getBody().getErrorMessage());
+        assertEquals(ErrorCode.INVALID_REQUEST.getDescription(), cached.getBody().getErrorMessage());
+    }
+
+    @Test
+    @DisplayName("과부하/한도 초과는 재시도 가능한 상태 코드로 응답")
+    void retryableStatus() {
+        //when
+        //then
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE,
+                handler.toResponse(new AccountException(ErrorCode.SERVER_OVERLOADED)).getStatusCode());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS,
+                handler.toResponse(new AccountException(ErrorCode.TOO_MANY_REQUESTS)).getStatusCode());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS,
+                handler.toResponse(new AccountException(ErrorCode.VELOCITY_LIMIT_EXCEEDED)).getStatusCode());
+    }
+}
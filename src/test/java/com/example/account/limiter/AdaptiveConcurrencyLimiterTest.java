@@ -0,0 +1,88 @@
+package com.example.account.limiter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(50);
+
+    @Test
+    @DisplayName("한도를 넘는 요청은 바로 거절")
+    void rejectWhenLimitReached() {
+        //given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 2.0, 0.2);
+
+        //when
+        //then
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.release(FAST);
+        assertTrue(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("응답 시간이 길어지면 한도 감소")
+    void decreaseLimitWhenLatencyGrows() {
+        //given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 1, 100, 2.0, 0.2);
+        for (int i = 0; i < 200; i++) {
+            limiter.tryAcquire();
+            limiter.release(FAST);
+        }
+        assertEquals(20, limiter.getLimit());
+
+        //when
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire();
+            limiter.release(SLOW);
+        }
+
+        //then
+        assertTrue(limiter.getLimit() < 20);
+        assertTrue(limiter.getLimit() >= 1);
+    }
+
+    @Test
+    @DisplayName("한도를 충분히 사용하고 응답 시간이 유지되면 한도 증가")
+    void increaseLimitWhenBusyAndFast() {
+        //given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 1, 100, 2.0, 0.2);
+        for (int i = 0; i < 15; i++) {
+            limiter.tryAcquire();
+        }
+
+        //when
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire();
+            limiter.release(FAST);
+        }
+
+        //then
+        assertTrue(limiter.getLimit() > 20);
+        assertTrue(limiter.getLimit() <= 100);
+    }
+
+    @Test
+    @DisplayName("한도를 거의 쓰지 않을 때는 한도를 늘리지 않음")
+    void keepLimitWhenIdle() {
+        //given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 1, 100, 2.0, 0.2);
+
+        //when
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.release(FAST);
+        }
+
+        //then
+        assertEquals(20, limiter.getLimit());
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.account.lock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalLockProviderTest {
+    private static final String KEY = "ACLK:1000000000";
+
+    private final LocalLockProvider lockProvider = new LocalLockProvider();
+
+    @AfterEach
+    void tearDown() {
+        lockProvider.shutdown();
+    }
+
+    @Test
+    @DisplayName("같은 소유자는 다시 lock 가능, 잡은 횟수만큼 풀어야 해제")
+    void reentrantLock() {
+        //given
+        assertTrue(lockProvider.tryLockAsync(KEY, 1L, 0, 15, TimeUnit.SECONDS).join());
+        assertTrue(lockProvider.tryLockAsync(KEY, 1L, 0, 15, TimeUnit.SECONDS).join());
+
+        //when
+        lockProvider.unlockAsync(KEY, 1L);
+
+        //then
+        assertFalse(lockProvider.tryLockAsync(KEY, 2L, 0, 15, TimeUnit.SECONDS).join());
+        lockProvider.unlockAsync(KEY, 1L);
+        assertTrue(lockProvider.tryLockAsync(KEY, 2L, 0, 15, TimeUnit.SECONDS).join());
+    }
+
+    @Test
+    @DisplayName("기다리던 요청에 해제된 lock 전달, 사용하지 않는 key는 제거")
+    void handOffToWaiter() {
+        //given
+        assertTrue(lockProvider.tryLockAsync(KEY, 1L, 0, 15, TimeUnit.SECONDS).join());
+        CompletableFuture<Boolean> waiting = lockProvider.tryLockAsync(KEY, 2L, 5, 15, TimeUnit.SECONDS);
+        assertFalse(waiting.isDone());
+
+        //when
+        lockProvider.unlockAsync(KEY, 1L);
+
+        //then
+        assertTrue(waiting.join());
+        lockProvider.unlockAsync(KEY, 2L);
+        assertEquals(0, lockProvider.size());
+    }
+
+    @Test
+    @DisplayName("대기 시간이 지나면 lock 획득 실패")
+    void waitTimeout() throws InterruptedException {
+        //given
+        assertTrue(lockProvider.tryLockAsync(KEY, 1L, 0, 15, TimeUnit.SECONDS).join());
+
+        //when
+        boolean locked = lockProvider.tryLock(KEY, 50, 15_000, TimeUnit.MILLISECONDS);
+
+        //then
+        assertFalse(locked);
+        assertEquals(1, lockProvider.size());
+    }
+
+    @Test
+    @DisplayName("lease 시간이 지나면 lock 자동 해제")
+    void leaseExpiry() {
+        //given
+        assertTrue(lockProvider.tryLockAsync(KEY, 1L, 0, 50, TimeUnit.MILLISECONDS).join());
+
+        //when
+        boolean locked = lockProvider.tryLockAsync(KEY, 2L, 5_000, 15_000, TimeUnit.MILLISECONDS).join();
+
+        //then
+        assertTrue(locked);
+        lockProvider.unlockAsync(KEY, 1L);
+        assertFalse(lockProvider.tryLockAsync(KEY, 3L, 0, 15, TimeUnit.SECONDS).join());
+    }
+}
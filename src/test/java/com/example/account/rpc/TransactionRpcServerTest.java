@@ -0,0 +1,272 @@
+package com.example.account.rpc;
+
+import com.example.account.dto.TransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.limiter.AdaptiveConcurrencyLimiter;
+import com.example.account.service.LockService;
+import com.example.account.service.RateLimitService;
+import com.example.account.service.TransactionService;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.validation.Validation;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.net.Socket;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionRpcServerTest {
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private LockService lockService;
+
+    @Mock
+    private RateLimitService rateLimitService;
+
+    private AdaptiveConcurrencyLimiter writeConcurrencyLimiter;
+
+    private TransactionRpcServer server;
+
+    @BeforeEach
+    void setUp() {
+        writeConcurrencyLimiter = new AdaptiveConcurrencyLimiter(10, 1, 10, 2.0, 0.2);
+        server = createServer(2);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    private TransactionRpcServer createServer(int maxConnections) {
+        return new TransactionRpcServer(new TransactionRpcHandler(transactionService, lockService, rateLimitService,
+                new AdaptiveConcurrencyLimiter(10, 1, 10, 2.0, 0.2), writeConcurrencyLimiter,
+                Validation.buildDefaultValidatorFactory().getValidator()),
+                0, maxConnections);
+    }
+
+    @Test
+    @DisplayName("한 연결로 보낸 여러 요청을 순서대로 응답")
+    void successPipelinedBatch() throws Exception {
+        //given
+        LocalDateTime transactedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        given(transactionService.useBalance(1L, "1000000000", 1000L))
+                .willReturn(TransactionDto.builder()
+                        .accountNumber("1000000000")
+                        .transactionType(USE)
+                        .transactionResultType(S)
+                        .amount(1000L)
+                        .balanceSnapshot(9000L)
+                        .transactionId("transactionId")
+                        .transactedAt(transactedAt)
+                        .build());
+        given(transactionService.cancelBalance("transactionId", "1000000000", 1000L))
+                .willReturn(TransactionDto.builder()
+                        .accountNumber("1000000000")
+                        .transactionType(CANCEL)
+                        .transactionResultType(S)
+                        .amount(1000L)
+                        .balanceSnapshot(10000L)
+                        .transactionId("cancelTransactionId")
+                        .build());
+        given(transactionService.queryTransaction("transactionId"))
+                .willReturn(TransactionDto.builder()
+                        .accountNumber("1000000000")
+                        .transactionType(USE)
+                        .transactionResultType(S)
+                        .amount(1000L)
+                        .transactionId("transactionId")
+                        .build());
+
+        //when
+        List<RpcResponse> responses;
+        try (TransactionRpcClient client = new TransactionRpcClient("localhost", server.getPort())) {
+            responses = client.call(Arrays.asList(
+                    RpcRequest.use(1, 1L, "1000000000", 1000L),
+                    RpcRequest.cancel(2, "transactionId", "1000000000", 1000L),
+                    RpcRequest.query(3, "transactionId")));
+        }
+
+        //then
+        assertEquals(3, responses.size());
+        assertEquals(1, responses.get(0).getRequestId());
+        assertTrue(responses.get(0).isSuccess());
+        assertEquals("transactionId", responses.get(0).getTransaction().getTransactionId());
+        assertEquals(9000L, responses.get(0).getTransaction().getBalanceSnapshot());
+        assertEquals(transactedAt, responses.get(0).getTransaction().getTransactedAt());
+        assertEquals(USE, responses.get(0).getTransaction().getTransactionType());
+
+        assertEquals(2, responses.get(1).getRequestId());
+        assertEquals(CANCEL, responses.get(1).getTransaction().getTransactionType());
+        assertEquals("cancelTransactionId", responses.get(1).getTransaction().getTransactionId());
+
+        assertEquals(3, responses.get(2).getRequestId());
+        assertEquals("1000000000", responses.get(2).getTransaction().getAccountNumber());
+        assertNull(responses.get(2).getTransaction().getTransactedAt());
+
+        verify(lockService, times(2)).lock("1000000000");
+        verify(lockService, times(2)).unlock("1000000000");
+    }
+
+    @Test
+    @DisplayName("잔액 사용 실패 - ErrorCode 응답과 실패 거래 기록")
+    void useBalanceFailed() throws Exception {
+        //given
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willThrow(new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE));
+
+        //when
+        RpcResponse response;
+        try (TransactionRpcClient client = new TransactionRpcClient("localhost", server.getPort())) {
+            response = client.call(RpcRequest.use(7, 1L, "1000000000", 1000L));
+        }
+
+        //then
+        assertFalse(response.isSuccess());
+        assertEquals(7, response.getRequestId());
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE.name(), response.getErrorCode());
+        verify(transactionService, times(1)).saveFailedUseTransaction("1000000000", 1000L);
+        verify(lockService, times(1)).unlock("1000000000");
+    }
+
+    @Test
+    @DisplayName("잔액 사용 실패 - 요청 한도 초과면 lock 을 잡지 않고 거절")
+    void useBalanceRateLimited() throws Exception {
+        //given
+        willThrow(new AccountException(ErrorCode.TOO_MANY_REQUESTS))
+                .given(rateLimitService).checkLimit("transaction-use", 1L, "1000000000");
+
+        //when
+        RpcResponse response;
+        try (TransactionRpcClient client = new TransactionRpcClient("localhost", server.getPort())) {
+            response = client.call(RpcRequest.use(8, 1L, "1000000000", 1000L));
+        }
+
+        //then
+        assertEquals(ErrorCode.TOO_MANY_REQUESTS.name(), response.getErrorCode());
+        verify(lockService, never()).lock(anyString());
+        verify(transactionService, never()).useBalance(anyLong(), anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("동시 처리 한도를 모두 쓰고 있으면 SERVER_OVERLOADED")
+    void useBalanceOverloaded() throws Exception {
+        //given
+        while (writeConcurrencyLimiter.tryAcquire()) {
+            // HTTP 요청이 한도를 모두 사용 중인 상태
+        }
+
+        //when
+        RpcResponse response;
+        try (TransactionRpcClient client = new TransactionRpcClient("localhost", server.getPort())) {
+            response = client.call(RpcRequest.use(9, 1L, "1000000000", 1000L));
+        }
+
+        //then
+        assertEquals(ErrorCode.SERVER_OVERLOADED.name(), response.getErrorCode());
+        verify(lockService, never()).lock(anyString());
+    }
+
+    @Test
+    @DisplayName("HTTP 요청과 같은 제약을 어긴 금액(음수, 0, null)은 INVALID_REQUEST 로 거절")
+    void invalidAmount() throws Exception {
+        //given
+        //when
+        List<RpcResponse> responses;
+        try (TransactionRpcClient client = new TransactionRpcClient("localhost", server.getPort())) {
+            responses = client.call(Arrays.asList(
+                    RpcRequest.use(10, 1L, "1000000000", -1000L),
+                    RpcRequest.use(11, 1L, "1000000000", 0L),
+                    RpcRequest.use(12, 1L, "1000000000", null),
+                    RpcRequest.cancel(13, "transactionId", "1000000000", -1000L),
+                    RpcRequest.use(14, 1L, null, 1000L)));
+        }
+
+        //then
+        assertEquals(5, responses.size());
+        for (RpcResponse response : responses) {
+            assertFalse(response.isSuccess());
+            assertEquals(ErrorCode.INVALID_REQUEST.name(), response.getErrorCode());
+        }
+        verify(lockService, never()).lock(anyString());
+        verify(transactionService, never()).useBalance(anyLong(), anyString(), anyLong());
+        verify(transactionService, never()).saveFailedUseTransaction(anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("알 수 없는 operation 은 INVALID_REQUEST 로 응답하고 연결을 유지")
+    void unknownOperation() throws Exception {
+        //given
+        given(transactionService.queryTransaction("transactionId"))
+                .willReturn(TransactionDto.builder().transactionId("transactionId").build());
+
+        //when
+        RpcResponse invalid;
+        RpcResponse query;
+        try (Socket socket = new Socket("localhost", server.getPort())) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            out.writeInt(9);
+            out.writeByte(99);
+            out.writeLong(5);
+            RpcCodec.writeRequest(out, RpcRequest.query(6, "transactionId"));
+            out.flush();
+
+            invalid = RpcCodec.readResponse(in);
+            query = RpcCodec.readResponse(in);
+        }
+
+        //then
+        assertEquals(5, invalid.getRequestId());
+        assertEquals(ErrorCode.INVALID_REQUEST.name(), invalid.getErrorCode());
+        assertEquals(6, query.getRequestId());
+        assertTrue(query.isSuccess());
+    }
+
+    @Test
+    @DisplayName("처리 스레드가 모두 연결을 맡고 있으면 새 연결은 기다리지 않고 SERVER_OVERLOADED 를 받고 닫힘")
+    void connectionRejected() throws Exception {
+        //given
+        server.stop();
+        server = createServer(1);
+        server.start();
+
+        //when
+        RpcResponse rejected;
+        try (TransactionRpcClient busy = new TransactionRpcClient("localhost", server.getPort());
+             Socket socket = new Socket("localhost", server.getPort())) {
+            rejected = RpcCodec.readResponse(new DataInputStream(new BufferedInputStream(socket.getInputStream())));
+        }
+
+        //then
+        assertEquals(0, rejected.getRequestId());
+        assertEquals(ErrorCode.SERVER_OVERLOADED.name(), rejected.getErrorCode());
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountUserRepository;
+import com.example.account.type.AccountStatus;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static com.example.account.type.AccountStatus.IN_USE;
+import static com.example.account.type.AccountStatus.UNREGISTERED;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AccountLookupServiceTest {
+    @Mock
+    private AccountUserRepository accountUserRepository;
+
+    private AccountLookupService accountLookupService;
+
+    @BeforeEach
+    void setUp() {
+        accountLookupService = new AccountLookupService(accountUserRepository, 100, 600);
+    }
+
+    @Test
+    @DisplayName("사용자는 한 번만 조회한다")
+    void accountUserIsCached() {
+        //given
+        AccountUser pobi = AccountUser.builder().id(12L).name("Pobi").build();
+        given(accountUserRepository.findById(12L)).willReturn(Optional.of(pobi));
+
+        //when
+        accountLookupService.getAccountUser(12L);
+        AccountUser accountUser = accountLookupService.getAccountUser(12L);
+
+        //then
+        assertEquals(pobi, accountUser);
+        verify(accountUserRepository, times(1)).findById(12L);
+    }
+
+    @Test
+    @DisplayName("없는 사용자는 캐시하지 않는다")
+    void missingAccountUserIsNotCached() {
+        //given
+        given(accountUserRepository.findById(12L)).willReturn(Optional.empty());
+
+        //when
+        assertThrows(AccountException.class, () -> accountLookupService.getAccountUser(12L));
+        AccountException exception = assertThrows(AccountException.class,
+                () -> accountLookupService.getAccountUser(12L));
+
+        //then
+        assertEquals(ErrorCode.USER_NOT_FOUND, exception.getErrorCode());
+        verify(accountUserRepository, times(2)).findById(12L);
+    }
+
+    @Test
+    @DisplayName("캐시된 계좌의 소유자가 다르면 계좌를 읽지 않고 거절한다")
+    void rejectUnmatchedOwnerFromCache() {
+        //given
+        accountLookupService.cacheAccount(account(13L, IN_USE));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> accountLookupService.checkOwnership(12L, "1000000012"));
+
+        //then
+        assertEquals(ErrorCode.USER_ACCOUNT_UN_MATCH, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("해지된 계좌는 캐시만으로 거절하고, 지운 뒤에는 확인하지 않는다")
+    void rejectUnregisteredFromCacheUntilEvicted() {
+        //given
+        accountLookupService.cacheAccount(account(12L, UNREGISTERED));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> accountLookupService.checkOwnership(12L, "1000000012"));
+        accountLookupService.evictAccount("1000000012");
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED, exception.getErrorCode());
+        assertDoesNotThrow(() -> accountLookupService.checkOwnership(12L, "1000000012"));
+    }
+
+    @Test
+    @DisplayName("무효화 알림을 구독하지 못하면 캐시하지 않는다")
+    void notCachedWithoutInvalidation() {
+        //given
+        AccountUser pobi = AccountUser.builder().id(12L).name("Pobi").build();
+        given(accountUserRepository.findById(12L)).willReturn(Optional.of(pobi));
+        accountLookupService = new AccountLookupService(accountUserRepository, () -> false, 100, 600);
+
+        //when
+        accountLookupService.getAccountUser(12L);
+        accountLookupService.getAccountUser(12L);
+        accountLookupService.cacheAccount(account(13L, IN_USE));
+
+        //then
+        verify(accountUserRepository, times(2)).findById(12L);
+        assertDoesNotThrow(() -> accountLookupService.checkOwnership(12L, "1000000012"));
+    }
+
+    private static Account account(Long ownerId, AccountStatus accountStatus) {
+        return Account.builder()
+                .id(1L)
+                .accountUser(AccountUser.builder().id(ownerId).name("Pobi").build())
+                .accountStatus(accountStatus)
+                .balance(0L)
+                .accountNumber("1000000012")
+                .build();
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.account.service;
+
+import com.example.account.dto.TransactionDto;
+import com.example.account.readmodel.AccountProjection;
+import com.example.account.readmodel.ReadModelEpochHolder;
+import com.example.account.type.AccountStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RMap;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static com.example.account.readmodel.AccountProjector.ACCOUNT_KEY_PREFIX;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 커밋된 변경이 Redis read model 에 반영되고, consistency token 으로 자신의 쓰기를 읽을 수 있는지 확인한다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:readmodel",
+        "spring.jpa.properties.hibernate.show_sql=false"
+})
+class AccountReadModelServiceTest {
+    private static final long AWAIT_MILLIS = 2_000;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountReadModelService accountReadModelService;
+
+    @Autowired
+    private ReadModelEpochHolder readModelEpochHolder;
+
+    @Autowired
+    private RedissonClient redissonClient;
+
+    @BeforeEach
+    void setUp() {
+        // 내장 Redis 는 다른 테스트 context 와 공유하므로 이전 projection 을 지운다.
+        redissonClient.getKeys().deleteByPattern("ACRM:*");
+    }
+
+    @Test
+    @DisplayName("consistency token 으로 조회하면 자신의 거래가 반영된 잔액을 읽음")
+    void readYourWrites() throws InterruptedException {
+        //given
+        String accountNumber = accountService.createAccount(1L, 10_000L).getAccountNumber();
+        TransactionDto used = transactionService.useBalance(1L, accountNumber, 1_000L);
+        // DB 에서 한 번 읽어 사용자의 계좌 set 을 채운다.
+        accountService.getAccountsByUserId(1L);
+
+        //when
+        Optional<List<AccountProjection>> accounts =
+                await(() -> accountReadModelService.getAccountsByUserId(1L, used.getConsistencyToken()));
+
+        //then
+        assertTrue(accounts.isPresent());
+        AccountProjection account = accounts.get().stream()
+                .filter(projection -> projection.getAccountNumber().equals(accountNumber))
+                .findFirst().orElseThrow(IllegalStateException::new);
+        assertEquals(9_000L, account.getBalance());
+        assertEquals(AccountStatus.IN_USE, account.getAccountStatus());
+        assertEquals(used.getTransactionId(), account.getLastTransactionId());
+        assertEquals(1L, account.getRevision());
+    }
+
+    @Test
+    @DisplayName("token 의 변경이 반영되지 않으면 read model 로 답하지 않음")
+    void fallbackWhenNotProjected() {
+        //given
+        String accountNumber = accountService.createAccount(2L, 10_000L).getAccountNumber();
+
+        //when
+        Optional<List<AccountProjection>> accounts =
+                accountReadModelService.getAccountsByUserId(2L, accountNumber + ":100");
+
+        //then
+        assertFalse(accounts.isPresent());
+    }
+
+    @Test
+    @DisplayName("DB 에서 다시 채우기 전에는 일부 계좌만 있는 set 으로 답하지 않음")
+    void fallbackUntilUserRebuilt() throws InterruptedException {
+        //given
+        // projection 이 없는 계좌(기능 도입 전 계좌, 반영 실패)를 흉내낸다.
+        String missing = accountService.createAccount(3L, 1_000L).getAccountNumber();
+        redissonClient.getKeys().deleteByPattern("ACRM:*");
+        String projected = accountService.createAccount(3L, 2_000L).getAccountNumber();
+        await(() -> redissonClient.getMap(ACCOUNT_KEY_PREFIX + projected, StringCodec.INSTANCE).isExists()
+                ? Optional.of(true) : Optional.empty());
+
+        //when
+        Optional<List<AccountProjection>> partial = accountReadModelService.getAccountsByUserId(3L, null);
+        accountService.getAccountsByUserId(3L);
+        Optional<List<AccountProjection>> rebuilt = await(() -> accountReadModelService.getAccountsByUserId(3L, null));
+
+        //then
+        assertFalse(partial.isPresent());
+        assertTrue(rebuilt.isPresent());
+        assertTrue(rebuilt.get().stream().anyMatch(account -> account.getAccountNumber().equals(missing)));
+        assertTrue(rebuilt.get().stream().anyMatch(account -> account.getAccountNumber().equals(projected)));
+    }
+
+    @Test
+    @DisplayName("이전 DB 의 projection 은 revision 이 더 커도 덮어씀")
+    void overwriteOtherEpoch() throws InterruptedException {
+        //given
+        String accountNumber = accountService.createAccount(1L, 10_000L).getAccountNumber();
+        RMap<String, String> account = redissonClient.getMap(ACCOUNT_KEY_PREFIX + accountNumber, StringCodec.INSTANCE);
+        await(() -> account.isExists() ? Optional.of(true) : Optional.empty());
+        account.put("epoch", "previous-db");
+        account.put("revision", "100");
+
+        //when
+        transactionService.useBalance(1L, accountNumber, 1_000L);
+
+        //then
+        await(() -> readModelEpochHolder.getEpoch().equals(account.get("epoch"))
+                ? Optional.of(true) : Optional.empty());
+        assertEquals("1", account.get("revision"));
+        assertEquals("9000", account.get("balance"));
+    }
+
+    private static <T> Optional<T> await(Supplier<Optional<T>> read) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + AWAIT_MILLIS;
+        Optional<T> result = read.get();
+        while (!result.isPresent() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            result = read.get();
+        }
+        return result;
+    }
+}
@@ -1,19 +1,26 @@
 package com.example.account.service;
 
+import com.example.account.bloom.IdentifierBloomFilter;
+import com.example.account.cache.NearCacheInvalidator;
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
 import com.example.account.dto.AccountDto;
 import com.example.account.exception.AccountException;
+import com.example.account.lock.FencingTokenHolder;
+import com.example.account.readmodel.AccountProjector;
 import com.example.account.repository.AccountRepository;
 import com.example.account.repository.AccountUserRepository;
+import com.example.account.shard.ShardRouter;
 import com.example.account.type.AccountStatus;
 import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Arrays;
@@ -35,9 +42,25 @@ class AccountServiceTest {
     @Mock
     private AccountUserRepository accountUserRepository;
 
-    @InjectMocks
+    @Spy
+    private ShardRouter shardRouter = new ShardRouter(1);
+
+    @Mock
+    private NearCacheInvalidator nearCacheInvalidator;
+
+    @Mock
+    private AccountProjector accountProjector;
+
     private AccountService accountService;
 
+    @BeforeEach
+    void setUp() {
+        // near cache 는 mock 저장소 위에서 실제로 동작시킨다.
+        accountService = new AccountService(accountRepository, shardRouter,
+                new AccountLookupService(accountUserRepository, 100, 600), nearCacheInvalidator,
+                new IdentifierBloomFilter(new SimpleMeterRegistry(), false, 100, 100, 0.01), accountProjector);
+    }
+
     @Test
     void createAccountSuccess() {
         //given
@@ -145,6 +168,36 @@ class AccountServiceTest {
         assertEquals(12L, accountDto.getUserId());
         assertEquals("1000000011", captor.getValue().getAccountNumber());
         assertEquals(AccountStatus.UNREGISTERED, captor.getValue().getAccountStatus());
+        verify(nearCacheInvalidator, times(1)).invalidateAccount("10000000000");
+    }
+
+    @Test
+    @DisplayName("lock이 만료되어 더 새로운 token으로 변경된 계좌 - 계좌 해지 실패")
+    void deleteAccount_staleFencingToken() {
+        //given
+        AccountUser accountUser = AccountUser.builder()
+                .id(12L).name("Pobi").build();
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(accountUser));
+        given(accountRepository.claimWithFencingToken("1000000011", 10L))
+                .willReturn(0);
+        given(accountRepository.existsByAccountNumber("1000000011"))
+                .willReturn(true);
+
+        //when
+        FencingTokenHolder.push("1000000011", 10L);
+        AccountException exception;
+        try {
+            exception = assertThrows(AccountException.class,
+                    () -> accountService.deleteAccount(12L, "1000000011"));
+        } finally {
+            FencingTokenHolder.pop("1000000011");
+        }
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_LOCK_EXPIRED, exception.getErrorCode());
+        verify(accountRepository, times(0)).save(any());
+        verify(nearCacheInvalidator, times(0)).invalidateAccount(anyString());
     }
 
     @Test
@@ -290,6 +343,8 @@ class AccountServiceTest {
         assertEquals(3, accountDtos.size());
         assertEquals("1111111111", accountDtos.get(0).getAccountNumber());
         assertEquals(1000L, accountDtos.get(0).getBalance());
+        // DB 에서 읽은 계좌로 read model 을 다시 채운다.
+        verify(accountProjector, times(1)).rebuildUser(eq(12L), argThat(projections -> projections.size() == 3));
     }
 
     @Test
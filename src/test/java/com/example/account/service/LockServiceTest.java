@@ -0,0 +1,92 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.lock.FencingTokenHolder;
+import com.example.account.lock.LocalLockProvider;
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LockServiceTest {
+    private static final long OTHER_OWNER = -1L;
+
+    private final LocalLockProvider lockProvider = new LocalLockProvider();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LockService lockService = new LockService(lockProvider, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        lockProvider.shutdown();
+    }
+
+    @Test
+    @DisplayName("정렬되지 않고 중복된 계좌번호도 계좌마다 한 번씩 잡고 모두 해제")
+    void lockAll_duplicateAndUnsorted() {
+        //given
+        LockService.AccountLocks locks = lockService.lockAll(
+                Arrays.asList("1000000002", "1000000000", "1000000002"));
+
+        //when
+        boolean lockedByOther = tryLock("1000000002");
+        Long firstFencingToken = FencingTokenHolder.get("1000000000");
+        Long secondFencingToken = FencingTokenHolder.get("1000000002");
+        locks.close();
+
+        //then
+        assertFalse(lockedByOther);
+        assertNotNull(firstFencingToken);
+        assertNotNull(secondFencingToken);
+        assertNull(FencingTokenHolder.get("1000000000"));
+        assertNull(FencingTokenHolder.get("1000000002"));
+        assertEquals(0, lockProvider.size());
+    }
+
+    @Test
+    @DisplayName("하나라도 잡지 못하면 잡은 lock 을 모두 풀고, 대기 시간이 지나면 실패")
+    void lockAll_releaseAllOnTimeout() {
+        //given
+        assertTrue(tryLock("1000000001"));
+        long started = System.nanoTime();
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> lockService.lockAll(Arrays.asList("1000000000", "1000000001")));
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        assertTrue(System.nanoTime() - started >= TimeUnit.MILLISECONDS.toNanos(900));
+        assertEquals(1, meterRegistry.get("account.lock.wait").tag("result", "timeout").timer().count());
+        assertNull(FencingTokenHolder.get("1000000000"));
+        // 먼저 잡았던 계좌는 풀려 있어 다른 소유자가 잡을 수 있다.
+        assertTrue(tryLock("1000000000"));
+        assertEquals(2, lockProvider.size());
+    }
+
+    @Test
+    @DisplayName("다른 소유자가 lock 을 풀면 다시 시도해서 모두 잡음")
+    void lockAll_retryUntilReleased() {
+        //given
+        assertTrue(lockProvider.tryLockAsync("ACLK:1000000001", OTHER_OWNER, 0, 100, TimeUnit.MILLISECONDS).join());
+
+        //when
+        LockService.AccountLocks locks = lockService.lockAll(Arrays.asList("1000000001", "1000000000"));
+
+        //then
+        assertNotNull(FencingTokenHolder.get("1000000000"));
+        assertNotNull(FencingTokenHolder.get("1000000001"));
+        assertFalse(tryLock("1000000001"));
+        locks.close();
+        assertEquals(0, lockProvider.size());
+    }
+
+    private boolean tryLock(String accountNumber) {
+        return lockProvider.tryLockAsync("ACLK:" + accountNumber, OTHER_OWNER, 0, 15, TimeUnit.SECONDS).join();
+    }
+}
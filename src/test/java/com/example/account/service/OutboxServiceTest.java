@@ -0,0 +1,130 @@
+package com.example.account.service;
+
+import com.example.account.domain.OutboxEvent;
+import com.example.account.dto.OutboxMessage;
+import com.example.account.outbox.OutboxPublisher;
+import com.example.account.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceTest {
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxPublisher outboxPublisher;
+
+    @Captor
+    private ArgumentCaptor<List<OutboxMessage>> messages;
+
+    @Captor
+    private ArgumentCaptor<Collection<Long>> ids;
+
+    private OutboxService outboxService;
+
+    private long now = 0;
+
+    @BeforeEach
+    void setUp() {
+        outboxService = new OutboxService(outboxEventRepository, outboxPublisher, new SimpleMeterRegistry(),
+                5000, () -> now);
+    }
+
+    @Test
+    @DisplayName("계좌별로 순서대로 발행하고 발행한 이벤트만 표시")
+    void relayBatch() {
+        //given
+        given(outboxEventRepository.findUnpublishedForUpdate(any())).willReturn(Arrays.asList(
+                event(1L, "1000000000"), event(2L, "1000000001"), event(3L, "1000000000")));
+
+        //when
+        int published = outboxService.relayBatch(100);
+
+        //then
+        assertEquals(3, published);
+        verify(outboxPublisher, times(1)).publish(eq("1000000000"), messages.capture());
+        assertEquals(Arrays.asList(1L, 3L), eventIds(messages.getValue()));
+        verify(outboxPublisher, times(1)).publish(eq("1000000001"), anyList());
+        verify(outboxEventRepository, times(1)).markPublished(eq(Arrays.asList(1L, 3L, 2L)), any());
+    }
+
+    @Test
+    @DisplayName("발행에 실패한 계좌의 이벤트는 표시하지 않아 다시 발행")
+    void relayBatch_publishFailed() {
+        //given
+        given(outboxEventRepository.findUnpublishedForUpdate(any())).willReturn(Arrays.asList(
+                event(1L, "1000000000"), event(2L, "1000000001"), event(3L, "1000000000")));
+        willThrow(new IllegalStateException("broker unavailable"))
+                .given(outboxPublisher).publish(eq("1000000000"), anyList());
+
+        //when
+        int published = outboxService.relayBatch(100);
+
+        //then
+        assertEquals(1, published);
+        verify(outboxEventRepository, times(1)).markPublished(ids.capture(), any());
+        assertEquals(Arrays.asList(2L), ids.getValue());
+    }
+
+    @Test
+    @DisplayName("발행에 실패한 계좌는 retry-after 동안 제외해 다른 계좌의 발행을 막지 않음")
+    void relayBatch_parkFailedAccount() {
+        //given
+        given(outboxEventRepository.findUnpublishedForUpdate(any())).willReturn(Arrays.asList(
+                event(1L, "1000000000"), event(2L, "1000000000")));
+        willThrow(new IllegalStateException("poison event"))
+                .given(outboxPublisher).publish(eq("1000000000"), anyList());
+        given(outboxEventRepository.findUnpublishedForUpdateExcluding(
+                eq(Collections.singletonList("1000000000")), any()))
+                .willReturn(Arrays.asList(event(3L, "1000000001")));
+
+        //when
+        int first = outboxService.relayBatch(2);
+        int second = outboxService.relayBatch(2);
+        now = 5000;
+        int third = outboxService.relayBatch(2);
+
+        //then
+        assertEquals(0, first);
+        assertEquals(1, second);
+        verify(outboxEventRepository, times(1)).markPublished(eq(Arrays.asList(3L)), any());
+        // retry-after 가 지나면 다시 시도한다.
+        assertEquals(0, third);
+        verify(outboxEventRepository, times(2)).findUnpublishedForUpdate(any());
+    }
+
+    private static OutboxEvent event(Long id, String accountNumber) {
+        return OutboxEvent.builder()
+                .id(id)
+                .accountNumber(accountNumber)
+                .transactionId("transactionId" + id)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static List<Long> eventIds(List<OutboxMessage> messages) {
+        return messages.stream().map(OutboxMessage::getEventId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitServiceTest {
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RScript rScript;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RateLimitService rateLimitService;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("account.rate-limit.transaction-use.per-user.capacity", "10")
+                .withProperty("account.rate-limit.transaction-use.per-user.refill-per-second", "5");
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimitService = new RateLimitService(redissonClient, meterRegistry, environment, true, 100);
+    }
+
+    @Test
+    void successCheckLimit() {
+        //given
+        given(redissonClient.getScript(any())).willReturn(rScript);
+        given(rScript.eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class), anyList(), any(), any()))
+                .willReturn(Arrays.asList(0L, 0L));
+
+        //when
+        rateLimitService.checkLimit("transaction-use", 1L, "1000000000");
+
+        //then
+        // per-account 한도는 설정되지 않았으므로 user 버킷만 확인한다.
+        verify(rScript, times(1)).eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class), anyList(), any(), any());
+    }
+
+    @Test
+    @DisplayName("한 번 거절된 사용자는 Redis를 거치지 않고 거절")
+    void rejectLocallyAfterDenied() {
+        //given
+        given(redissonClient.getScript(any())).willReturn(rScript);
+        given(rScript.eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class), anyList(), any(), any()))
+                .willReturn(Arrays.asList(1L, 60_000L));
+
+        //when
+        AccountException first = assertThrows(AccountException.class,
+                () -> rateLimitService.checkLimit("transaction-use", 1L, null));
+        AccountException second = assertThrows(AccountException.class,
+                () -> rateLimitService.checkLimit("transaction-use", 1L, null));
+
+        //then
+        assertEquals(ErrorCode.TOO_MANY_REQUESTS, first.getErrorCode());
+        assertEquals(ErrorCode.TOO_MANY_REQUESTS, second.getErrorCode());
+        verify(rScript, times(1)).eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class), anyList(), any(), any());
+        assertEquals(1.0, meterRegistry.get("account.rate_limit.rejected")
+                .tag("source", "local").counter().count());
+    }
+
+    @Test
+    @DisplayName("사용자와 계좌 버킷을 스크립트 한 번으로 확인하고, 계좌가 거절하면 그 계좌만 로컬에서 거절")
+    void checkUserAndAccountTogether() {
+        //given
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("account.rate-limit.transaction-use.per-user.capacity", "10")
+                .withProperty("account.rate-limit.transaction-use.per-user.refill-per-second", "5")
+                .withProperty("account.rate-limit.transaction-use.per-account.capacity", "2")
+                .withProperty("account.rate-limit.transaction-use.per-account.refill-per-second", "1");
+        rateLimitService = new RateLimitService(redissonClient, meterRegistry, environment, true, 100);
+        given(redissonClient.getScript(any())).willReturn(rScript);
+        given(rScript.eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class), anyList(),
+                any(), any(), any(), any()))
+                .willReturn(Arrays.asList(2L, 60_000L), Arrays.asList(0L, 0L));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> rateLimitService.checkLimit("transaction-use", 1L, "1000000000"));
+        rateLimitService.checkLimit("transaction-use", 1L, "1000000001");
+
+        //then
+        assertEquals(ErrorCode.TOO_MANY_REQUESTS, exception.getErrorCode());
+        verify(rScript, times(1)).eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class),
+                eq(Arrays.<Object>asList("RATE:transaction-use:user:1", "RATE:transaction-use:account:1000000000")),
+                eq("10"), eq("0.005"), eq("2"), eq("0.001"));
+        verify(rScript, times(2)).eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class), anyList(),
+                any(), any(), any(), any());
+        assertEquals(1.0, meterRegistry.get("account.rate_limit.rejected")
+                .tag("scope", "account").tag("source", "redis").counter().count());
+    }
+
+    @Test
+    @DisplayName("한도 설정이 없는 endpoint는 확인하지 않음")
+    void skipWhenNoPolicy() {
+        //given
+        //when
+        rateLimitService.checkLimit("account-create", 1L, null);
+
+        //then
+        verify(redissonClient, times(0)).getScript(any());
+    }
+}
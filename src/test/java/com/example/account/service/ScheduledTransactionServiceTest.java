@@ -0,0 +1,199 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.domain.ScheduledTransaction;
+import com.example.account.dto.ScheduledTransactionDto;
+import com.example.account.dto.TransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountUserRepository;
+import com.example.account.repository.ScheduledTransactionRepository;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.RecurrenceType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static com.example.account.type.AccountStatus.IN_USE;
+import static com.example.account.type.RecurrenceType.MONTHLY;
+import static com.example.account.type.RecurrenceType.ONCE;
+import static com.example.account.type.ScheduledTransactionStatus.*;
+import static com.example.account.type.TransactionResultType.F;
+import static com.example.account.type.TransactionResultType.S;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduledTransactionServiceTest {
+    private static final String OWNER = "scheduler-1";
+
+    @Mock
+    private ScheduledTransactionRepository scheduledTransactionRepository;
+
+    @Mock
+    private AccountUserRepository accountUserRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @InjectMocks
+    private ScheduledTransactionService scheduledTransactionService;
+
+    private final AccountUser pobi = AccountUser.builder().id(12L).name("Pobi").build();
+    private final Account account = Account.builder()
+            .accountUser(pobi)
+            .accountStatus(IN_USE)
+            .balance(30000L)
+            .accountNumber("1000000012")
+            .build();
+
+    @Test
+    void successScheduleTransaction() {
+        //given
+        LocalDateTime executeAt = LocalDateTime.of(2024, 1, 31, 0, 0);
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(pobi));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(scheduledTransactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        //when
+        ScheduledTransactionDto scheduledTransactionDto = scheduledTransactionService
+                .scheduleTransaction(12L, "1000000012", 1000L, executeAt, MONTHLY);
+
+        //then
+        assertEquals(ACTIVE, scheduledTransactionDto.getStatus());
+        assertEquals(executeAt, scheduledTransactionDto.getNextExecuteAt());
+        assertEquals(0, scheduledTransactionDto.getExecutionCount());
+    }
+
+    @Test
+    @DisplayName("사용자와 계좌 소유주가 다름 - 예약 실패")
+    void scheduleTransaction_userAccountUnMatch() {
+        //given
+        AccountUser harry = AccountUser.builder().id(13L).name("Harry").build();
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(harry));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> scheduledTransactionService.scheduleTransaction(13L, "1000000012", 1000L,
+                        LocalDateTime.now(), ONCE));
+
+        //then
+        assertEquals(ErrorCode.USER_ACCOUNT_UN_MATCH, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("실행 시각이 지난 예약을 가져가면 claim 기한 설정")
+    void successClaimDueTransactions() {
+        //given
+        LocalDateTime now = LocalDateTime.of(2024, 2, 1, 0, 0);
+        ScheduledTransaction scheduledTransaction = scheduledTransaction(MONTHLY);
+        given(scheduledTransactionRepository.findDueForUpdate(eq(ACTIVE), eq(now), any()))
+                .willReturn(Collections.singletonList(scheduledTransaction));
+
+        //when
+        List<ScheduledTransactionDto> claimed = scheduledTransactionService
+                .claimDueTransactions(OWNER, now, 100, Duration.ofSeconds(60));
+
+        //then
+        assertEquals(1, claimed.size());
+        assertEquals(OWNER, scheduledTransaction.getClaimedBy());
+        assertEquals(now.plusSeconds(60), scheduledTransaction.getClaimedUntil());
+    }
+
+    @Test
+    @DisplayName("정기 출금 실행 후 다음 회차는 첫 실행일 기준으로 계산")
+    void successExecuteMonthlyTransaction() {
+        //given
+        ScheduledTransaction scheduledTransaction = scheduledTransaction(MONTHLY);
+        scheduledTransaction.claim(OWNER, LocalDateTime.now().plusMinutes(1));
+        given(scheduledTransactionRepository.findByIdForUpdate(anyLong()))
+                .willReturn(Optional.of(scheduledTransaction));
+        given(transactionService.useScheduledBalance(12L, "1000000012", 1000L))
+                .willReturn(TransactionDto.builder().transactionId("transactionId").build());
+
+        //when
+        boolean executed = scheduledTransactionService.executeScheduledTransaction(1L, OWNER);
+        scheduledTransaction.claim(OWNER, LocalDateTime.now().plusMinutes(1));
+        scheduledTransactionService.executeScheduledTransaction(1L, OWNER);
+
+        //then
+        assertTrue(executed);
+        assertEquals(ACTIVE, scheduledTransaction.getStatus());
+        assertEquals(2, scheduledTransaction.getExecutionCount());
+        assertEquals(LocalDateTime.of(2024, 3, 31, 0, 0), scheduledTransaction.getNextExecuteAt());
+        assertEquals(S, scheduledTransaction.getLastResultType());
+        assertNull(scheduledTransaction.getClaimedBy());
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 가져간 예약 - 실행하지 않음")
+    void executeScheduledTransaction_claimedByOther() {
+        //given
+        ScheduledTransaction scheduledTransaction = scheduledTransaction(ONCE);
+        scheduledTransaction.claim("scheduler-2", LocalDateTime.now().plusMinutes(1));
+        given(scheduledTransactionRepository.findByIdForUpdate(anyLong()))
+                .willReturn(Optional.of(scheduledTransaction));
+
+        //when
+        boolean executed = scheduledTransactionService.executeScheduledTransaction(1L, OWNER);
+
+        //then
+        assertFalse(executed);
+        verify(transactionService, never()).useScheduledBalance(anyLong(), anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("1회 출금이 거절되면 FAILED로 종료")
+    void failOnceTransaction() {
+        //given
+        ScheduledTransaction scheduledTransaction = scheduledTransaction(ONCE);
+        scheduledTransaction.claim(OWNER, LocalDateTime.now().plusMinutes(1));
+        given(scheduledTransactionRepository.findByIdForUpdate(anyLong()))
+                .willReturn(Optional.of(scheduledTransaction));
+
+        //when
+        scheduledTransactionService.failScheduledTransaction(1L, OWNER);
+
+        //then
+        assertEquals(FAILED, scheduledTransaction.getStatus());
+        assertEquals(F, scheduledTransaction.getLastResultType());
+        assertEquals(1, scheduledTransaction.getExecutionCount());
+    }
+
+    private ScheduledTransaction scheduledTransaction(RecurrenceType recurrenceType) {
+        LocalDateTime firstExecuteAt = LocalDateTime.of(2024, 1, 31, 0, 0);
+        return ScheduledTransaction.builder()
+                .id(1L)
+                .accountUser(pobi)
+                .account(account)
+                .amount(1000L)
+                .recurrenceType(recurrenceType)
+                .status(ACTIVE)
+                .firstExecuteAt(firstExecuteAt)
+                .nextExecuteAt(firstExecuteAt)
+                .executionCount(0)
+                .build();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.account.service;
+
+import com.example.account.dto.TransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static com.example.account.sql.StatementCountAssertions.assertMaxStatements;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 주요 거래 경로가 실행하는 SQL 문 수의 예산.
+ * 예산을 넘으면 (N+1, 불필요한 조회 추가 등) 빌드가 실패한다.
+ */
+@SpringBootTest
+class TransactionServiceStatementCountTest {
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountLookupService accountLookupService;
+
+    private String accountNumber;
+
+    @BeforeEach
+    void setUp() {
+        accountNumber = accountService.createAccount(1L, 100_000L).getAccountNumber();
+    }
+
+    @Test
+    @DisplayName("잔액 사용 : 계좌 조회, id 발급, 계좌 update, 거래 insert, outbox insert (사용자는 near cache, 계좌의 소유자는 읽지 않음)")
+    void useBalanceStatementBudget() {
+        //given
+        //when
+        TransactionDto transactionDto = assertMaxStatements(5,
+                () -> transactionService.useBalance(1L, accountNumber, 1_000L));
+
+        //then
+        assertEquals(99_000L, transactionDto.getBalanceSnapshot());
+    }
+
+    @Test
+    @DisplayName("다른 사용자의 잔액 사용 : near cache 에 계좌가 없어도 계좌만 읽고 소유자 id 로 거절")
+    void useBalanceOtherUserStatementBudget() {
+        //given
+        accountLookupService.getAccountUser(2L);
+
+        //when
+        AccountException exception = assertMaxStatements(1,
+                () -> assertThrows(AccountException.class,
+                        () -> transactionService.useBalance(2L, accountNumber, 1_000L)));
+
+        //then
+        assertEquals(ErrorCode.USER_ACCOUNT_UN_MATCH, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("잔액 취소 : 거래와 계좌 join 조회, id 발급, 계좌 update, 원거래 취소 표시, 거래 insert, outbox insert")
+    void cancelBalanceStatementBudget() {
+        //given
+        String transactionId = transactionService.useBalance(1L, accountNumber, 1_000L).getTransactionId();
+
+        //when
+        TransactionDto transactionDto = assertMaxStatements(6,
+                () -> transactionService.cancelBalance(transactionId, accountNumber, 1_000L));
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.cancelBalance(transactionId, accountNumber, 1_000L));
+
+        //then
+        assertEquals(100_000L, transactionDto.getBalanceSnapshot());
+        assertEquals(ErrorCode.TRANSACTION_ALREADY_CANCELLED, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("거래 조회 : 거래와 계좌 조회 (계좌의 소유자는 읽지 않음)")
+    void queryTransactionStatementBudget() {
+        //given
+        String transactionId = transactionService.useBalance(1L, accountNumber, 1_000L).getTransactionId();
+
+        //when
+        TransactionDto transactionDto = assertMaxStatements(2,
+                () -> transactionService.queryTransaction(transactionId));
+
+        //then
+        assertEquals(accountNumber, transactionDto.getAccountNumber());
+    }
+}
@@ -1,37 +1,45 @@
 package com.example.account.service;
 
+import com.example.account.bloom.IdentifierBloomFilter;
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
+import com.example.account.domain.OutboxEvent;
 import com.example.account.domain.Transaction;
 import com.example.account.dto.TransactionDto;
 import com.example.account.exception.AccountException;
+import com.example.account.lock.FencingTokenHolder;
 import com.example.account.repository.AccountRepository;
 import com.example.account.repository.AccountUserRepository;
+import com.example.account.repository.OutboxEventRepository;
 import com.example.account.repository.TransactionRepository;
 import com.example.account.type.AccountStatus;
 import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static com.example.account.type.AccountStatus.IN_USE;
 import static com.example.account.type.TransactionResultType.F;
 import static com.example.account.type.TransactionResultType.S;
-import static com.example.account.type.TransactionType.CANCEL;
-import static com.example.account.type.TransactionType.USE;
+import static com.example.account.type.TransactionType.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 class TransactionServiceTest {
@@ -45,9 +53,24 @@ class TransactionServiceTest {
     @Mock
     private AccountUserRepository accountUserRepository;
 
-    @InjectMocks
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
     private TransactionService transactionService;
 
+    @BeforeEach
+    void setUp() {
+        // near cache 는 mock 저장소 위에서 실제로 동작시킨다.
+        transactionService = new TransactionService(transactionRepository, accountRepository, outboxEventRepository,
+                new AccountLookupService(accountUserRepository, 100, 600),
+                new IdentifierBloomFilter(new SimpleMeterRegistry(), false, 100, 100, 0.01),
+                disabledVelocityService());
+    }
+
+    private static VelocityService disabledVelocityService() {
+        return new VelocityService(new SimpleMeterRegistry(), false, 60, 12, 100, 0, 0, 0, 0);
+    }
+
     @Test
     void successUseBalance() {
         //given
@@ -90,6 +113,39 @@ class TransactionServiceTest {
         assertEquals(S, transactionDto.getTransactionResultType());
         assertEquals(9000L, transactionDto.getBalanceSnapshot());
         assertEquals(USE, transactionDto.getTransactionType());
+
+        ArgumentCaptor<OutboxEvent> outboxCaptor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository, times(1)).save(outboxCaptor.capture());
+        assertEquals("transactionId", outboxCaptor.getValue().getTransactionId());
+        assertEquals(USE, outboxCaptor.getValue().getTransactionType());
+        assertEquals(S, outboxCaptor.getValue().getTransactionResultType());
+    }
+
+    @Test
+    @DisplayName("lock이 만료되어 더 새로운 token으로 변경된 계좌 - 금액 사용 실패")
+    void useBalance_staleFencingToken() {
+        //given
+        AccountUser pobi = AccountUser.builder().id(12L).name("Pobi").build();
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(pobi));
+        given(accountRepository.claimWithFencingToken("1000000000", 10L))
+                .willReturn(0);
+        given(accountRepository.existsByAccountNumber("1000000000"))
+                .willReturn(true);
+
+        //when
+        FencingTokenHolder.push("1000000000", 10L);
+        AccountException accountException;
+        try {
+            accountException = assertThrows(AccountException.class,
+                    () -> transactionService.useBalance(1L, "1000000000", 1000L));
+        } finally {
+            FencingTokenHolder.pop("1000000000");
+        }
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_LOCK_EXPIRED, accountException.getErrorCode());
+        verify(transactionRepository, times(0)).save(any());
     }
 
     @Test
@@ -125,6 +181,53 @@ class TransactionServiceTest {
                 exception.getErrorCode());
     }
 
+    @Test
+    @DisplayName("저장된 적 없는 계좌번호 - DB 조회 없이 잔액 사용 실패")
+    void useBalance_rejectedByBloomFilter() {
+        //given
+        IdentifierBloomFilter identifierBloomFilter =
+                new IdentifierBloomFilter(new SimpleMeterRegistry(), true, 100, 100, 0.01);
+        identifierBloomFilter.addAccountNumber("1000000012");
+        identifierBloomFilter.markLoaded();
+        transactionService = new TransactionService(transactionRepository, accountRepository, outboxEventRepository,
+                new AccountLookupService(accountUserRepository, 100, 600), identifierBloomFilter,
+                disabledVelocityService());
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.useBalance(1L, "1000000000", 1000L));
+
+        //then
+        assertEquals(ErrorCode.USER_ACCOUNT_NOT_FOUND, exception.getErrorCode());
+        verifyNoInteractions(accountUserRepository, accountRepository, transactionRepository);
+    }
+
+    @Test
+    @DisplayName("Bloom filter 를 채우기 전 - DB 에서 확인해 잔액 사용 성공")
+    void useBalance_bloomFilterNotLoaded() {
+        //given
+        IdentifierBloomFilter identifierBloomFilter =
+                new IdentifierBloomFilter(new SimpleMeterRegistry(), true, 100, 100, 0.01);
+        transactionService = new TransactionService(transactionRepository, accountRepository, outboxEventRepository,
+                new AccountLookupService(accountUserRepository, 100, 600), identifierBloomFilter,
+                disabledVelocityService());
+        AccountUser user = AccountUser.builder().id(12L).name("Pobi").build();
+        given(accountUserRepository.findById(anyLong())).willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber(anyString())).willReturn(Optional.of(Account.builder()
+                .accountUser(user)
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .accountNumber("1000000012")
+                .build()));
+        given(transactionRepository.save(any())).willAnswer(invocation -> invocation.getArgument(0));
+
+        //when
+        TransactionDto transactionDto = transactionService.useBalance(12L, "1000000012", 1000L);
+
+        //then
+        assertEquals(9000L, transactionDto.getBalanceSnapshot());
+    }
+
     @Test
     @DisplayName("계좌 소유주가 다를때 - 잔액 사용 실패")
     void useBalance_userAccountUnMatch() {
@@ -151,6 +254,66 @@ class TransactionServiceTest {
                 exception.getErrorCode());
     }
 
+    @Test
+    @DisplayName("다른 사용자의 출금 시도는 계좌 소유자의 velocity 한도를 쓰지 않는다")
+    void useBalance_foreignUserDoesNotConsumeVelocity() {
+        //given
+        // 계좌당 window 안에 1건만 허용
+        transactionService = new TransactionService(transactionRepository, accountRepository, outboxEventRepository,
+                new AccountLookupService(accountUserRepository, 100, 600),
+                new IdentifierBloomFilter(new SimpleMeterRegistry(), false, 100, 100, 0.01),
+                new VelocityService(new SimpleMeterRegistry(), true, 60, 12, 100, 1, 0, 0, 0));
+        AccountUser owner = AccountUser.builder().id(12L).name("Pobi").build();
+        AccountUser stranger = AccountUser.builder().id(13L).name("Herry").build();
+        given(accountUserRepository.findById(12L)).willReturn(Optional.of(owner));
+        given(accountUserRepository.findById(13L)).willReturn(Optional.of(stranger));
+        given(accountRepository.findByAccountNumber(anyString())).willReturn(Optional.of(Account.builder()
+                .accountUser(owner)
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .accountNumber("1000000012")
+                .build()));
+        given(transactionRepository.save(any())).willAnswer(invocation -> invocation.getArgument(0));
+
+        //when
+        for (int i = 0; i < 3; i++) {
+            AccountException exception = assertThrows(AccountException.class,
+                    () -> transactionService.useBalance(13L, "1000000012", 1000L));
+            assertEquals(ErrorCode.USER_ACCOUNT_UN_MATCH, exception.getErrorCode());
+        }
+        TransactionDto transactionDto = transactionService.useBalance(12L, "1000000012", 1000L);
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.useBalance(12L, "1000000012", 1000L));
+
+        //then
+        assertEquals(9000L, transactionDto.getBalanceSnapshot());
+        assertEquals(ErrorCode.VELOCITY_LIMIT_EXCEEDED, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("0 이하의 금액 - 잔액 사용 실패")
+    void useBalance_notPositiveAmount() {
+        //given
+        AccountUser pobi = AccountUser.builder().id(12L).name("Pobi").build();
+        Account account = Account.builder()
+                .accountUser(pobi)
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .accountNumber("1000000012")
+                .build();
+        given(accountUserRepository.findById(anyLong())).willReturn(Optional.of(pobi));
+        given(accountRepository.findByAccountNumber(anyString())).willReturn(Optional.of(account));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.useBalance(12L, "1000000012", -1000L));
+
+        //then
+        assertEquals(ErrorCode.INVALID_REQUEST, exception.getErrorCode());
+        assertEquals(10000L, account.getBalance());
+        verify(transactionRepository, times(0)).save(any());
+    }
+
     @Test
     @DisplayName("계좌가 해지 상태인 경우 - 잔액 사용 실패")
     void useBalance_accountAlreadyUnregisterd() {
@@ -239,6 +402,92 @@ class TransactionServiceTest {
         assertEquals(10000L, captor.getValue().getBalanceSnapshot());
     }
 
+    @Test
+    void successTransfer() {
+        //given
+        AccountUser pobi = AccountUser.builder().id(12L).name("Pobi").build();
+        AccountUser harry = AccountUser.builder().id(13L).name("Harry").build();
+        Account fromAccount = Account.builder()
+                .accountUser(pobi)
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .accountNumber("1000000012").build();
+        Account toAccount = Account.builder()
+                .accountUser(harry)
+                .accountStatus(IN_USE)
+                .balance(5000L)
+                .accountNumber("1000000013").build();
+
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(pobi));
+        given(accountRepository.findByAccountNumberIn(anyCollection()))
+                .willReturn(Arrays.asList(toAccount, fromAccount));
+        given(transactionRepository.saveAll(anyList()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        //when
+        List<TransactionDto> transactions =
+                transactionService.transfer(12L, "1000000012", "1000000013", 3000L);
+
+        //then
+        assertEquals(7000L, fromAccount.getBalance());
+        assertEquals(8000L, toAccount.getBalance());
+
+        assertEquals(2, transactions.size());
+        assertEquals(TRANSFER_OUT, transactions.get(0).getTransactionType());
+        assertEquals("1000000012", transactions.get(0).getAccountNumber());
+        assertEquals(7000L, transactions.get(0).getBalanceSnapshot());
+        assertEquals(TRANSFER_IN, transactions.get(1).getTransactionType());
+        assertEquals("1000000013", transactions.get(1).getAccountNumber());
+        assertEquals(8000L, transactions.get(1).getBalanceSnapshot());
+        verify(transactionRepository, times(1)).saveAll(anyList());
+        verify(outboxEventRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("같은 계좌로 이체 - 이체 실패")
+    void transfer_sameAccount() {
+        //given
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.transfer(12L, "1000000012", "1000000012", 3000L));
+
+        //then
+        assertEquals(ErrorCode.TRANSFER_SAME_ACCOUNT, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("잔액보다 큰 금액 이체 - 이체 실패")
+    void transfer_amountExceedBalance() {
+        //given
+        AccountUser pobi = AccountUser.builder().id(12L).name("Pobi").build();
+        Account fromAccount = Account.builder()
+                .accountUser(pobi)
+                .accountStatus(IN_USE)
+                .balance(1000L)
+                .accountNumber("1000000012").build();
+        Account toAccount = Account.builder()
+                .accountUser(pobi)
+                .accountStatus(IN_USE)
+                .balance(5000L)
+                .accountNumber("1000000013").build();
+
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(pobi));
+        given(accountRepository.findByAccountNumberIn(anyCollection()))
+                .willReturn(Arrays.asList(fromAccount, toAccount));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.transfer(12L, "1000000012", "1000000013", 3000L));
+
+        //then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+        assertEquals(1000L, fromAccount.getBalance());
+        assertEquals(5000L, toAccount.getBalance());
+        verify(transactionRepository, times(0)).saveAll(anyList());
+    }
+
     @Test
     void successCancelUseBalance() {
         //given
@@ -261,11 +510,8 @@ class TransactionServiceTest {
                 .build();
 
 
-        given(transactionRepository.findByTransactionId(anyString()))
+        given(transactionRepository.findWithAccountByTransactionId(anyString()))
                 .willReturn(Optional.of(transaction));
-        given(accountRepository.findByAccountNumber(anyString()))
-                .willReturn(Optional.of(account));
-
         given(transactionRepository.save(any())).willReturn(Transaction.builder()
                 .account(account)
                 .transactionType(CANCEL)
@@ -277,7 +523,7 @@ class TransactionServiceTest {
         );
 
         //when
-        TransactionDto transactionDto = transactionService.cancelBalance("transactionId", "1000000000", 30000L);
+        TransactionDto transactionDto = transactionService.cancelBalance("transactionId", "1000000012", 30000L);
 
         ArgumentCaptor<Transaction> captor =
                 ArgumentCaptor.forClass(Transaction.class);
@@ -287,6 +533,8 @@ class TransactionServiceTest {
 
         assertEquals( 30000L, captor.getValue().getAmount());
         assertEquals(60000L, captor.getValue().getBalanceSnapshot());
+        assertEquals(transaction, captor.getValue().getOriginalTransaction());
+        assertTrue(transaction.isCancelled());
         assertEquals(S, transactionDto.getTransactionResultType());
 
 
@@ -295,35 +543,106 @@ class TransactionServiceTest {
     }
 
     @Test
-    @DisplayName("검색한 사용자의 계좌가 없을때 - 잔액 취소 실패")
-    void cancelBalance_userAccountNotFound() {
+    @DisplayName("이미 취소된 거래일때 - 잔액 취소 실패")
+    void cancelBalance_transactionAlreadyCancelled() {
         //given
-        AccountUser accountUser = AccountUser.builder()
-                .id(12L).name("Pobi").build();
-        given(transactionRepository.findByTransactionId(anyString())).willReturn(Optional.of(Transaction.builder()
+        AccountUser pobi = AccountUser.builder().id(12L).name("Pobi").build();
+        Account account = Account.builder()
+                .id(1L)
+                .accountUser(pobi)
+                .accountStatus(IN_USE)
+                .balance(30000L)
+                .accountNumber("1000000012")
+                .build();
+        given(transactionRepository.findWithAccountByTransactionId(anyString())).willReturn(Optional.of(Transaction.builder()
+                        .account(account)
                         .transactionType(USE)
                         .transactionResultType(S)
                         .transactionId("transactionId")
                         .transactedAt(LocalDateTime.now())
                         .amount(1000L)
                         .balanceSnapshot(9000L)
+                        .cancelledAt(LocalDateTime.now())
                 .build()));
-        given(accountRepository.findByAccountNumber(anyString())).willReturn(Optional.empty());
 
         //when
         AccountException exception = assertThrows(AccountException.class,
-                () -> transactionService.cancelBalance("transactionId", "1000000000", 1000L));
+                () -> transactionService.cancelBalance("transactionId", "1000000012", 1000L));
 
         //then
-        assertEquals(ErrorCode.USER_ACCOUNT_NOT_FOUND,
+        assertEquals(ErrorCode.TRANSACTION_ALREADY_CANCELLED,
                 exception.getErrorCode());
+        assertEquals(30000L, account.getBalance());
+        verify(transactionRepository, times(0)).save(any());
+    }
+
+    @Test
+    @DisplayName("취소 거래를 취소할때 - 잔액 취소 실패")
+    void cancelBalance_cancelTransaction() {
+        //given
+        Account account = Account.builder()
+                .id(1L)
+                .accountUser(AccountUser.builder().id(12L).name("Pobi").build())
+                .accountStatus(IN_USE)
+                .balance(30000L)
+                .accountNumber("1000000012")
+                .build();
+        given(transactionRepository.findWithAccountByTransactionId(anyString())).willReturn(Optional.of(Transaction.builder()
+                .account(account)
+                .transactionType(CANCEL)
+                .transactionResultType(S)
+                .transactionId("transactionId")
+                .transactedAt(LocalDateTime.now())
+                .amount(1000L)
+                .balanceSnapshot(31000L)
+                .build()));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.cancelBalance("transactionId", "1000000012", 1000L));
+
+        //then
+        assertEquals(ErrorCode.TRANSACTION_CANNOT_BE_CANCELLED, exception.getErrorCode());
+        assertEquals(30000L, account.getBalance());
+        verify(transactionRepository, times(0)).save(any());
+    }
+
+    @Test
+    @DisplayName("실패한 사용 거래를 취소할때 - 잔액 취소 실패")
+    void cancelBalance_failedTransaction() {
+        //given
+        Account account = Account.builder()
+                .id(1L)
+                .accountUser(AccountUser.builder().id(12L).name("Pobi").build())
+                .accountStatus(IN_USE)
+                .balance(30000L)
+                .accountNumber("1000000012")
+                .build();
+        given(transactionRepository.findWithAccountByTransactionId(anyString())).willReturn(Optional.of(Transaction.builder()
+                .account(account)
+                .transactionType(USE)
+                .transactionResultType(F)
+                .transactionId("transactionId")
+                .transactedAt(LocalDateTime.now())
+                .amount(1000L)
+                .balanceSnapshot(30000L)
+                .build()));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.cancelBalance("transactionId", "1000000012", 1000L));
+
+        //then
+        assertEquals(ErrorCode.TRANSACTION_CANNOT_BE_CANCELLED, exception.getErrorCode());
+        assertEquals(30000L, account.getBalance());
+        verify(transactionRepository, times(0)).save(any());
     }
 
     @Test
     @DisplayName("해당 거래가 없을때 - 잔액 취소 실패")
     void cancelBalance_transactionNotFound() {
         //given
-        given(transactionRepository.findByTransactionId(anyString())).willReturn(Optional.empty());
+        given(transactionRepository.findWithAccountByTransactionId(anyString())).willReturn(Optional.empty());
 
         //when
         AccountException exception = assertThrows(AccountException.class,
@@ -364,12 +683,11 @@ class TransactionServiceTest {
                 .balanceSnapshot(9000L)
                 .build();
 
-        given(transactionRepository.findByTransactionId(anyString())).willReturn(Optional.of(transaction));
-        given(accountRepository.findByAccountNumber(anyString())).willReturn(Optional.of(accountNotUse));
+        given(transactionRepository.findWithAccountByTransactionId(anyString())).willReturn(Optional.of(transaction));
 
         //when
         AccountException exception = assertThrows(AccountException.class,
-                () -> transactionService.cancelBalance("transactionId", "1000000012", 1000L));
+                () -> transactionService.cancelBalance("transactionId", accountNotUse.getAccountNumber(), 1000L));
 
         //then
         assertEquals(ErrorCode.TRANSACTION_ACCOUNT_UN_MATCH,
@@ -400,8 +718,7 @@ class TransactionServiceTest {
                 .balanceSnapshot(9000L)
                 .build();
 
-        given(transactionRepository.findByTransactionId(anyString())).willReturn(Optional.of(transaction));
-        given(accountRepository.findByAccountNumber(anyString())).willReturn(Optional.of(account));
+        given(transactionRepository.findWithAccountByTransactionId(anyString())).willReturn(Optional.of(transaction));
         //when
         AccountException exception = assertThrows(AccountException.class,
                 () -> transactionService.cancelBalance("transactionId", "1000000012", 1000L));
@@ -435,8 +752,7 @@ class TransactionServiceTest {
                 .balanceSnapshot(9000L)
                 .build();
 
-        given(transactionRepository.findByTransactionId(anyString())).willReturn(Optional.of(transaction));
-        given(accountRepository.findByAccountNumber(anyString())).willReturn(Optional.of(account));
+        given(transactionRepository.findWithAccountByTransactionId(anyString())).willReturn(Optional.of(transaction));
         //when
         AccountException exception = assertThrows(AccountException.class,
                 () -> transactionService.cancelBalance("transactionId", "1000000012", 20000L));
@@ -0,0 +1,102 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VelocityServiceTest {
+    private final AtomicLong now = new AtomicLong(1_700_000_000_000L);
+
+    private VelocityService velocityService(VelocityService.Rule accountRule, VelocityService.Rule userRule) {
+        return new VelocityService(new SimpleMeterRegistry(), true, 60, 12, 100,
+                accountRule, userRule, now::get);
+    }
+
+    // 서비스는 검증을 통과한 출금만 기록한다.
+    private static void debit(VelocityService velocityService, Long userId, String accountNumber, long amount) {
+        velocityService.checkDebit(userId, accountNumber, amount);
+        velocityService.recordDebit(userId, accountNumber, amount);
+    }
+
+    @Test
+    @DisplayName("계좌별 출금 건수 한도를 넘으면 거절한다")
+    void rejectOverAccountCount() {
+        //given
+        VelocityService velocityService = velocityService(
+                new VelocityService.Rule(3, 0), new VelocityService.Rule(0, 0));
+        for (int i = 0; i < 3; i++) {
+            debit(velocityService, 1L, "1000000000", 1_000L);
+        }
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> velocityService.checkDebit(1L, "1000000000", 1_000L));
+
+        //then
+        assertEquals(ErrorCode.VELOCITY_LIMIT_EXCEEDED, exception.getErrorCode());
+        assertDoesNotThrow(() -> velocityService.checkDebit(1L, "1000000001", 1_000L));
+    }
+
+    @Test
+    @DisplayName("사용자별 출금 금액 한도는 계좌를 합쳐서 본다")
+    void rejectOverUserAmount() {
+        //given
+        VelocityService velocityService = velocityService(
+                new VelocityService.Rule(0, 0), new VelocityService.Rule(0, 10_000L));
+        debit(velocityService, 1L, "1000000000", 6_000L);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> velocityService.checkDebit(1L, "1000000001", 5_000L));
+
+        //then
+        assertEquals(ErrorCode.VELOCITY_LIMIT_EXCEEDED, exception.getErrorCode());
+        assertDoesNotThrow(() -> velocityService.checkDebit(1L, "1000000001", 4_000L));
+    }
+
+    @Test
+    @DisplayName("window 가 지나면 다시 허용한다")
+    void allowAfterWindow() {
+        //given
+        VelocityService velocityService = velocityService(
+                new VelocityService.Rule(2, 0), new VelocityService.Rule(0, 0));
+        debit(velocityService, 1L, "1000000000", 1_000L);
+        now.addAndGet(30_000L);
+        debit(velocityService, 1L, "1000000000", 1_000L);
+        assertThrows(AccountException.class,
+                () -> velocityService.checkDebit(1L, "1000000000", 1_000L));
+
+        //when
+        // 첫 출금이 window 밖으로 밀려난다.
+        now.addAndGet(35_000L);
+
+        //then
+        assertDoesNotThrow(() -> debit(velocityService, 1L, "1000000000", 1_000L));
+        assertThrows(AccountException.class,
+                () -> velocityService.checkDebit(1L, "1000000000", 1_000L));
+    }
+
+    @Test
+    @DisplayName("검사만 하고 기록하지 않은 출금은 한도를 쓰지 않는다")
+    void checkDoesNotRecord() {
+        //given
+        VelocityService velocityService = velocityService(
+                new VelocityService.Rule(1, 0), new VelocityService.Rule(1, 0));
+
+        //when
+        for (int i = 0; i < 3; i++) {
+            velocityService.checkDebit(2L, "1000000000", 1_000L);
+        }
+
+        //then
+        assertDoesNotThrow(() -> debit(velocityService, 1L, "1000000000", 1_000L));
+        assertThrows(AccountException.class,
+                () -> velocityService.checkDebit(1L, "1000000000", 1_000L));
+    }
+}
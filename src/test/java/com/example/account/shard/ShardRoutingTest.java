@@ -0,0 +1,107 @@
+package com.example.account.shard;
+
+import com.example.account.dto.AccountDto;
+import com.example.account.dto.TransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.service.AccountService;
+import com.example.account.service.TransactionService;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * shard 3개(in-memory H2 3개)에서 계좌가 사용자의 shard 에만 저장되고, 서비스 호출이 그 shard 로 가는지 확인한다.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.show_sql=false",
+        "account.rate-limit.enabled=false",
+        "account.scheduler.enabled=false"
+})
+@ActiveProfiles("sharding")
+class ShardRoutingTest {
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    @DisplayName("계좌는 사용자의 shard 에만 저장되고 계좌번호로 shard 를 찾을 수 있음")
+    void createAccountOnUserShard() {
+        for (long userId = 1; userId <= 3; userId++) {
+            //given
+            //when
+            String accountNumber = accountService.createAccount(userId, 1_000L).getAccountNumber();
+
+            //then
+            int shard = shardRouter.shardOfUser(userId);
+            assertEquals(shard, shardRouter.shardOf(accountNumber));
+            for (int other : shardRouter.shards()) {
+                boolean exists = ShardContext.call(other, () -> accountRepository.existsByAccountNumber(accountNumber));
+                assertEquals(other == shard, exists);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("사용자 계좌 목록은 사용자의 shard 에서 조회")
+    void getAccountsByUserId() {
+        //given
+        String accountNumber = accountService.createAccount(2L, 1_000L).getAccountNumber();
+
+        //when
+        List<AccountDto> accounts = accountService.getAccountsByUserId(2L);
+
+        //then
+        assertTrue(accounts.stream().anyMatch(account -> account.getAccountNumber().equals(accountNumber)));
+        assertTrue(accounts.stream().allMatch(account ->
+                shardRouter.shardOf(account.getAccountNumber()) == shardRouter.shardOfUser(2L)));
+    }
+
+    @Test
+    @DisplayName("거래 id 조회는 모든 shard 에서 찾음")
+    void queryTransactionFansOut() {
+        //given
+        String accountNumber = accountService.createAccount(2L, 10_000L).getAccountNumber();
+        TransactionDto used = transactionService.useBalance(2L, accountNumber, 1_000L);
+
+        //when
+        TransactionDto found = transactionService.queryTransaction(used.getTransactionId());
+
+        //then
+        assertEquals(accountNumber, found.getAccountNumber());
+        assertEquals(9_000L, found.getBalanceSnapshot());
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.queryTransaction("not-exists"));
+        assertEquals(ErrorCode.TRANSACTION_NOT_FOUND, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("서로 다른 shard 계좌 간 이체 실패")
+    void transferAcrossShards() {
+        //given
+        String fromAccountNumber = accountService.createAccount(1L, 10_000L).getAccountNumber();
+        String toAccountNumber = accountService.createAccount(2L, 10_000L).getAccountNumber();
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.transfer(1L, fromAccountNumber, toAccountNumber, 1_000L));
+
+        //then
+        assertEquals(ErrorCode.CROSS_SHARD_TRANSACTION_NOT_SUPPORTED, exception.getErrorCode());
+    }
+}
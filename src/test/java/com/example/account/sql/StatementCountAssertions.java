@@ -0,0 +1,35 @@
+package com.example.account.sql;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 테스트에서 한 동작이 실행하는 SQL 문 수의 상한을 검사한다.
+ * <pre>
+ * TransactionDto dto = assertMaxStatements(5, () -> transactionService.useBalance(1L, accountNumber, 1000L));
+ * </pre>
+ * 동작은 호출한 스레드에서 실행되어야 한다.
+ */
+public final class StatementCountAssertions {
+
+    private StatementCountAssertions() {
+    }
+
+    public static <T> T assertMaxStatements(long max, Supplier<T> action) {
+        long before = StatementCounter.current();
+        T result = action.get();
+        long executed = StatementCounter.current() - before;
+
+        assertTrue(executed <= max,
+                () -> "Expected at most " + max + " SQL statements, but " + executed + " were executed");
+        return result;
+    }
+
+    public static void assertMaxStatements(long max, Runnable action) {
+        assertMaxStatements(max, () -> {
+            action.run();
+            return null;
+        });
+    }
+}